@@ -1,6 +1,16 @@
 // Base API URL
 const API_BASE_URL = "https://campus-auction-production.up.railway.app/api";
 
+// Dashboard reads are capped server-side; a 503 means "busy, retry after Retry-After seconds"
+async function fetchWithRetry(url, attempts = 3) {
+    for (let attempt = 1; ; attempt++) {
+        const response = await fetch(url);
+        if (response.status !== 503 || attempt >= attempts) return response;
+        const retryAfter = Number(response.headers.get('Retry-After')) || 1;
+        await new Promise(resolve => setTimeout(resolve, retryAfter * 1000));
+    }
+}
+
 const API = {
     // Base URL and Headers
     BASE_URL: API_BASE_URL,
@@ -97,6 +107,23 @@ const API = {
         return await response.json();
     },
 
+    // Active auctions changed since a feed version: { version, full, auctions } or { version, full, inserted, updated, removed }
+    getAuctionChanges: async function(since) {
+        const query = since ? `?since=${since}` : '';
+        const response = await fetch(`${API_BASE_URL}/auctions/changes${query}`);
+        return await response.json();
+    },
+
+    // Paged listing: params = { status, category, hostelPreference, minPrice, maxPrice, endingBefore, sort, direction, size, cursor }
+    getAuctionPage: async function(params = {}) {
+        const query = new URLSearchParams(
+            Object.entries(params).filter(([, value]) => value !== undefined && value !== null && value !== '')
+        );
+        const response = await fetch(`${API_BASE_URL}/auctions/page?${query}`);
+        if (!response.ok) throw new Error('Failed to load auctions');
+        return await response.json();
+    },
+
     getAuctionById: async function(id) {
         const response = await fetch(`${API_BASE_URL}/auctions/${id}`);
         if (!response.ok) throw new Error('Auction not found');
@@ -105,7 +132,7 @@ const API = {
     // Get auctions won by user
     getAuctionsWon: async function(email) {
         try {
-            const response = await fetch(`${API_BASE_URL}/bids/user/email/${encodeURIComponent(email)}/won`);
+            const response = await fetchWithRetry(`${API_BASE_URL}/bids/user/email/${encodeURIComponent(email)}/won`);
             if (!response.ok) return [];
             return await response.json();
         } catch (error) {
@@ -118,7 +145,7 @@ const API = {
     // Get user's bids
     getUserBids: async function(email) {
         try {
-            const response = await fetch(`${API_BASE_URL}/bids/user/email/${encodeURIComponent(email)}`);
+            const response = await fetchWithRetry(`${API_BASE_URL}/bids/user/email/${encodeURIComponent(email)}`);
             if (!response.ok) return [];
             return await response.json();
         } catch (error) {
@@ -130,7 +157,7 @@ const API = {
     // Get user's auctions
     getUserAuctions: async function(email) {
         try {
-            const response = await fetch(`${API_BASE_URL}/auctions/seller/email/${encodeURIComponent(email)}`);
+            const response = await fetchWithRetry(`${API_BASE_URL}/auctions/seller/email/${encodeURIComponent(email)}`);
             if (!response.ok) return [];
             return await response.json();
         } catch (error) {
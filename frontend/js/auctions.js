@@ -43,6 +43,7 @@ function showToast(message, type = 'success') {
 // ========================================
 
 let allAuctions = [];
+let feedVersion = null; // Feed version allAuctions was last synced to
 let currentAuction = null;
 let currentAuctionId = null;
 let autoRefreshInterval = null; // ✅ NEW - Store interval ID
@@ -60,11 +61,13 @@ document.addEventListener('DOMContentLoaded', () => {
     setupEventListeners();
     startTimerUpdates();
     enableAutoRefresh(); // ✅ NEW - Start auto-refresh
+    connectLiveStream(); // ✅ Push updates; polling only runs while the stream is down
 });
 
 // Stop auto-refresh when user leaves page
 window.addEventListener('beforeunload', () => {
     disableAutoRefresh();
+    disconnectLiveStream();
 });
 
 // Pause auto-refresh when tab is hidden (saves resources)
@@ -113,7 +116,9 @@ async function loadAuctions() {
     showLoading();
     
     try {
-        allAuctions = await API.getActiveAuctions();
+        const feed = await API.getAuctionChanges(null);
+        allAuctions = feed.auctions;
+        feedVersion = feed.version;
         console.log('✅ Loaded auctions:', allAuctions);
         
         const activeCountEl = document.getElementById('activeCount');
@@ -143,7 +148,7 @@ function enableAutoRefresh() {
     
     // Set new interval - refresh every 30 seconds
     autoRefreshInterval = setInterval(() => {
-        if (isAutoRefreshEnabled) {
+        if (isAutoRefreshEnabled && !isLiveStreamOpen()) {
             console.log('🔄 Auto-refreshing auctions...');
             refreshAuctionsQuietly();
         }
@@ -153,14 +158,20 @@ function enableAutoRefresh() {
 // Silent refresh (updates data without showing loading spinner)
 async function refreshAuctionsQuietly() {
     try {
-        const freshAuctions = await API.getActiveAuctions();
+        // Only what changed since our version comes back; the whole feed if we're too far behind
+        const changes = await API.getAuctionChanges(feedVersion);
+        feedVersion = changes.version;
         
-        // Check if data actually changed
-        const hasChanges = JSON.stringify(allAuctions) !== JSON.stringify(freshAuctions);
+        let hasChanges;
+        if (changes.full) {
+            hasChanges = JSON.stringify(allAuctions) !== JSON.stringify(changes.auctions);
+            allAuctions = changes.auctions;
+        } else {
+            hasChanges = applyFeedChanges(changes);
+        }
         
         if (hasChanges) {
             console.log('✅ New auction data detected!');
-            allAuctions = freshAuctions;
             
             const activeCountEl = document.getElementById('activeCount');
             if (activeCountEl) {
@@ -179,6 +190,86 @@ async function refreshAuctionsQuietly() {
     }
 }
 
+// Merge a delta from /auctions/changes into allAuctions; returns whether anything changed
+function applyFeedChanges(changes) {
+    const removed = new Set(changes.removed);
+    const updated = new Map(changes.updated.map(a => [a.id, a]));
+    
+    allAuctions = allAuctions
+        .filter(a => !removed.has(a.id))
+        .map(a => updated.get(a.id) || a);
+    // Skip anything we already have (e.g. loaded before the delta was computed)
+    const known = new Set(allAuctions.map(a => a.id));
+    allAuctions.push(...changes.inserted.filter(a => !known.has(a.id)));
+    
+    return removed.size + updated.size + changes.inserted.length > 0;
+}
+
+// ========================================
+// LIVE UPDATES (Server-Sent Events)
+// ========================================
+let liveStream = null;
+
+function connectLiveStream() {
+    if (!window.EventSource) return; // Old browsers keep polling
+
+    liveStream = new EventSource(`${API.BASE_URL}/auctions/stream`);
+
+    liveStream.onopen = () => console.log('📡 Live auction stream connected');
+    liveStream.onerror = () => console.log('⚠️ Live stream interrupted, polling until it reconnects');
+
+    liveStream.addEventListener('bid', (e) => applyBidDelta(JSON.parse(e.data)));
+    liveStream.addEventListener('status', (e) => applyStatusDelta(JSON.parse(e.data)));
+    liveStream.addEventListener('deleted', (e) => applyStatusDelta(JSON.parse(e.data)));
+    liveStream.addEventListener('created', () => refreshAuctionsQuietly());
+    liveStream.addEventListener('updated', () => refreshAuctionsQuietly());
+}
+
+function disconnectLiveStream() {
+    if (liveStream) {
+        liveStream.close();
+        liveStream = null;
+    }
+}
+
+function isLiveStreamOpen() {
+    return liveStream !== null && liveStream.readyState === EventSource.OPEN;
+}
+
+// New bid: patch price, bid count and end time of the card in place
+function applyBidDelta(delta) {
+    const auction = allAuctions.find(a => a.id === delta.id);
+    if (!auction) return;
+
+    auction.currentPrice = delta.currentPrice;
+    if (delta.bidCount !== undefined) auction.bidCount = delta.bidCount;
+    // Soft-close auctions move their end time on late bids; the timers read it from here
+    if (delta.endTime) auction.endTime = delta.endTime;
+
+    const currentBidEl = document.getElementById(`current-bid-${delta.id}`);
+    if (currentBidEl) currentBidEl.textContent = formatPrice(delta.currentPrice);
+
+    const bidCountEl = document.getElementById(`bid-count-${delta.id}`);
+    if (bidCountEl && delta.bidCount !== undefined) {
+        bidCountEl.textContent = `${delta.bidCount} bid${delta.bidCount !== 1 ? 's' : ''}`;
+    }
+}
+
+// Ended, cancelled or deleted: drop the card
+function applyStatusDelta(delta) {
+    if (delta.status === 'ACTIVE') return;
+
+    const before = allAuctions.length;
+    allAuctions = allAuctions.filter(a => a.id !== delta.id);
+    if (allAuctions.length === before) return;
+
+    const activeCountEl = document.getElementById('activeCount');
+    if (activeCountEl) {
+        activeCountEl.textContent = allAuctions.length;
+    }
+    displayAuctions(allAuctions);
+}
+
 // Stop auto-refresh (call when user leaves page)
 function disableAutoRefresh() {
     if (autoRefreshInterval) {
@@ -249,6 +340,7 @@ function createAuctionCard(auction) {
     
     const categoryEmoji = getCategoryEmoji(auction.category);
     const timeInfo = timeRemaining(auction.endTime);
+    const hasCounters = auction.bidCount !== undefined && auction.bidCount !== null;
     
     const isExpired = auction.endTime && new Date(auction.endTime) <= new Date();
     const statusBadge = isExpired 
@@ -283,7 +375,7 @@ function createAuctionCard(auction) {
                 <div class="mb-3">
                     <small class="text-muted">Current Highest:</small>
                     <p class="text-success fw-bold mb-0" id="current-bid-${auction.id}">
-                        Loading...
+                        ${hasCounters ? (auction.bidCount > 0 ? formatPrice(auction.currentPrice) : 'No bids yet') : 'Loading...'}
                     </p>
                 </div>
                 
@@ -292,7 +384,7 @@ function createAuctionCard(auction) {
                         ⏰ <span id="timer-${auction.id}">${timeInfo.text}</span>
                     </span>
                     <small class="text-muted" id="bid-count-${auction.id}">
-                        0 bids
+                        ${hasCounters ? `${auction.bidCount} bid${auction.bidCount !== 1 ? 's' : ''}` : '0 bids'}
                     </small>
                 </div>
                 
@@ -306,7 +398,10 @@ function createAuctionCard(auction) {
         </div>
     `;
     
-    loadAuctionDetails(auction.id);
+    // Bid count and current price come with the auction row; older responses need the extra calls
+    if (!hasCounters) {
+        loadAuctionDetails(auction.id);
+    }
     
     return col;
 }
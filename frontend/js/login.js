@@ -65,6 +65,7 @@ document.addEventListener('DOMContentLoaded', () => {
             
             const response = await fetch(`${API_BASE_URL}/users/login`, {
                 method: 'POST',
+                credentials: 'include',
                 headers: {
                     'Content-Type': 'application/json',
                 },
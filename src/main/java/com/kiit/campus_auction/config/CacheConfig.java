@@ -0,0 +1,24 @@
+package com.kiit.campus_auction.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * In-process (Caffeine) caches for the lookups almost every request makes.
+ *
+ * Size, TTL and stats are set by spring.cache.caffeine.spec; hit/miss/eviction counts
+ * show up as cache.gets and cache.evictions at /actuator/prometheus, tagged by cache name.
+ * Entries are detached entities shared between requests: read them, don't modify them.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    // Users by id, email and phone; UserService evicts all three on every change
+    public static final String USERS = "users";
+    public static final String USERS_BY_EMAIL = "usersByEmail";
+    public static final String USERS_BY_PHONE = "usersByPhone";
+
+    // Auctions by id; evicted on every AuctionChangeEvent and after each bid journal flush
+    public static final String AUCTIONS = "auctions";
+}
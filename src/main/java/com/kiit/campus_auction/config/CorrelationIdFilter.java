@@ -0,0 +1,61 @@
+package com.kiit.campus_auction.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Tags every request with a correlation id: the caller's X-Request-Id if it sent a sane one,
+ * a fresh UUID otherwise. It goes into the MDC as requestId, so every log line written while
+ * serving the request carries it, and back to the caller in the X-Request-Id response header.
+ *
+ * Runs first, before security and the bulkhead, so their lines are tagged too. Async work
+ * (streamed listings) gets the MDC through RequestContextTaskDecorator, and the async
+ * dispatch that finishes a deferred bid runs through here again with the same id.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class CorrelationIdFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Request-Id";
+    public static final String MDC_KEY = "requestId";
+
+    private static final String ATTRIBUTE = CorrelationIdFilter.class.getName() + ".id";
+    private static final Pattern ACCEPTED = Pattern.compile("[A-Za-z0-9._:-]{1,64}");
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        String id = (String) request.getAttribute(ATTRIBUTE);
+        if (id == null) {
+            id = request.getHeader(HEADER);
+            if (id == null || !ACCEPTED.matcher(id).matches()) {
+                id = UUID.randomUUID().toString();
+            }
+            request.setAttribute(ATTRIBUTE, id);
+            response.setHeader(HEADER, id);
+        }
+
+        MDC.put(MDC_KEY, id);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            MDC.remove(MDC_KEY);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+}
@@ -0,0 +1,156 @@
+package com.kiit.campus_auction.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Bulkhead for the heavy read endpoints: seller dashboards, the activity pages and the
+ * full-table listings.
+ *
+ * At most auction.bulkhead.reads.max-concurrent of them run at once, so together they can
+ * hold at most that many pool connections; keep it below the pool size and the remaining
+ * connections are always there for bids and everything else. A request that can't get a
+ * permit within wait-ms gets a 503 with Retry-After instead of queueing for a connection.
+ *
+ * Metrics: bulkhead.active, bulkhead.wait and bulkhead.rejected, tagged name=reads.
+ */
+@Component
+public class ReadBulkheadFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadBulkheadFilter.class);
+
+    private static final List<String> HEAVY_READS = List.of(
+        "/api/auctions",
+        "/api/auctions/all-with-ended",
+        "/api/auctions/seller/**",
+        "/api/bids/user/**"
+    );
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    @Value("${auction.bulkhead.reads.max-concurrent:4}")
+    private int maxConcurrent;
+
+    @Value("${auction.bulkhead.reads.wait-ms:500}")
+    private long waitMs;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Semaphore permits;
+    private Timer waits;
+    private Counter rejections;
+
+    @PostConstruct
+    void registerMetrics() {
+        permits = new Semaphore(maxConcurrent, true);
+        Gauge.builder("bulkhead.active", permits, p -> maxConcurrent - p.availablePermits())
+            .tag("name", "reads")
+            .register(meterRegistry);
+        waits = Timer.builder("bulkhead.wait").tag("name", "reads").register(meterRegistry);
+        rejections = Counter.builder("bulkhead.rejected").tag("name", "reads").register(meterRegistry);
+    }
+
+    // Package-private for tests
+    Semaphore permits() {
+        return permits;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!"GET".equals(request.getMethod())) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return HEAVY_READS.stream().noneMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(waitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        waits.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        if (!acquired) {
+            rejections.increment();
+            log.warn("Read bulkhead full, rejecting {}", request.getRequestURI());
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader("Retry-After", "1");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"error\":\"Too many requests for this page right now, please retry\"}");
+            return;
+        }
+
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        };
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            // Streamed listings keep reading after this dispatch returns; hold the permit until they finish
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseOnCompletion(release));
+            } else {
+                release.run();
+            }
+        }
+    }
+
+    private record ReleaseOnCompletion(Runnable release) implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Re-register: a listener added before startAsync is dropped when async restarts
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.kiit.campus_auction.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a controller method whose read-only transactions may be served by the read replica
+ * (see ReplicaRoutingDataSource). Only put it on listings and dashboards that can show data
+ * a moment old; anything a bid is decided on, or that fills a cache, stays on the primary.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ReadFromReplica {
+}
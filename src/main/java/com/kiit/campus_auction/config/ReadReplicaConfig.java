@@ -0,0 +1,119 @@
+package com.kiit.campus_auction.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Primary/replica data sources, active only when auction.datasource.replica.url is set
+ * (REPLICA_DATABASE_URL); without it the app runs on the single spring.datasource pool.
+ *
+ * The primary pool is built from spring.datasource.* as before, so Flyway, writes and
+ * anything not marked for the replica use it unchanged. The replica gets its own read-only
+ * pool (auction.datasource.replica.hikari.*, pool=campus-auction-replica in the hikaricp
+ * metrics). The app never migrates the replica; it gets the schema through replication.
+ */
+@Configuration
+@ConditionalOnExpression("!'${auction.datasource.replica.url:}'.isEmpty()")
+public class ReadReplicaConfig implements WebMvcConfigurer {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadReplicaConfig.class);
+
+    @Autowired
+    private ReadYourWrites readYourWrites;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("auction.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(@Value("${auction.datasource.replica.url}") String url,
+                                              @Value("${auction.datasource.replica.username:}") String username,
+                                              @Value("${auction.datasource.replica.password:}") String password) {
+        DataSourceBuilder<HikariDataSource> builder = DataSourceBuilder.create()
+            .type(HikariDataSource.class)
+            .url(url);
+        if (!username.isEmpty()) {
+            builder.username(username).password(password);
+        }
+        HikariDataSource replica = builder.build();
+        replica.setPoolName("campus-auction-replica");
+        replica.setReadOnly(true);
+        return replica;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica) {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource();
+        routing.setTargetDataSources(Map.of(
+            ReplicaRoutingDataSource.Route.PRIMARY, primary,
+            ReplicaRoutingDataSource.Route.REPLICA, replica
+        ));
+        routing.setDefaultTargetDataSource(primary);
+        routing.afterPropertiesSet();
+        log.info("Read-only listing and dashboard queries go to the read replica");
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ReplicaRoutingInterceptor());
+    }
+
+    // Opens the replica to @ReadFromReplica endpoints, unless the path names a user who just wrote
+    private class ReplicaRoutingInterceptor implements AsyncHandlerInterceptor {
+
+        @Override
+        public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+            if (handler instanceof HandlerMethod method && method.hasMethodAnnotation(ReadFromReplica.class)) {
+                @SuppressWarnings("unchecked")
+                Map<String, String> variables = (Map<String, String>)
+                    request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+                boolean sticky = variables != null && Stream.of("email", "userId", "sellerId")
+                    .map(variables::get)
+                    .anyMatch(readYourWrites::wroteRecently);
+                ReplicaRoutingDataSource.allowReplica(!sticky);
+            }
+            return true;
+        }
+
+        @Override
+        public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                                   Object handler) {
+            ReplicaRoutingDataSource.clear();
+        }
+
+        @Override
+        public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+                                    Object handler, Exception ex) {
+            ReplicaRoutingDataSource.clear();
+        }
+    }
+}
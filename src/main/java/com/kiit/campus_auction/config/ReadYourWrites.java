@@ -0,0 +1,51 @@
+package com.kiit.campus_auction.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Users who wrote something in the last auction.datasource.replica.sticky-ms, by id and email.
+ *
+ * A bid (or a new auction) reaches the replica only after the journal flush plus the
+ * replication lag, so for that long the user's own activity pages are read from the primary
+ * and they see what they just did. Everyone else keeps reading from the replica.
+ * 0 turns stickiness off.
+ */
+@Component
+public class ReadYourWrites {
+
+    @Value("${auction.datasource.replica.sticky-ms:5000}")
+    private long stickyMs;
+
+    private Cache<String, Boolean> writers;
+
+    @PostConstruct
+    void start() {
+        writers = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofMillis(Math.max(stickyMs, 1)))
+            .maximumSize(100_000)
+            .build();
+    }
+
+    public void recordWrite(Long userId, String email) {
+        if (stickyMs <= 0) {
+            return;
+        }
+        if (userId != null) {
+            writers.put(userId.toString(), Boolean.TRUE);
+        }
+        if (email != null) {
+            writers.put(email, Boolean.TRUE);
+        }
+    }
+
+    // Key is a user id or email as it appears in a request path
+    public boolean wroteRecently(String key) {
+        return key != null && writers.getIfPresent(key) != null;
+    }
+}
@@ -0,0 +1,42 @@
+package com.kiit.campus_auction.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends a connection to the read replica when the transaction asking for it is read-only
+ * and the current request allows it (a @ReadFromReplica endpoint, and the user hasn't just
+ * written); everything else goes to the primary.
+ *
+ * Only requests opt in, never threads of their own: the bid engine, the journal, the feed
+ * and the caches all read through Spring Data's read-only transactions too, and must never
+ * see a row older than the one they are about to write or cache.
+ *
+ * Sits behind a LazyConnectionDataSourceProxy, so the connection is picked at the first
+ * statement, once the transaction's read-only flag is known.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route { PRIMARY, REPLICA }
+
+    private static final ThreadLocal<Boolean> REPLICA_ALLOWED = new ThreadLocal<>();
+
+    public static void allowReplica(boolean allowed) {
+        REPLICA_ALLOWED.set(allowed);
+    }
+
+    public static boolean isReplicaAllowed() {
+        return Boolean.TRUE.equals(REPLICA_ALLOWED.get());
+    }
+
+    public static void clear() {
+        REPLICA_ALLOWED.remove();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() && isReplicaAllowed()
+            ? Route.REPLICA
+            : Route.PRIMARY;
+    }
+}
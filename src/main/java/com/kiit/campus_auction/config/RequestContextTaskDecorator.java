@@ -0,0 +1,36 @@
+package com.kiit.campus_auction.config;
+
+import org.slf4j.MDC;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Streamed listings run on the MVC async executor; carry the request's logging context
+ * (requestId) and replica routing over to it, and clear both when the task is done.
+ *
+ * Boot applies a TaskDecorator bean to its executors only when there is exactly one, so
+ * anything else a task needs from its request belongs here too.
+ */
+@Component
+public class RequestContextTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable task) {
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        boolean replicaAllowed = ReplicaRoutingDataSource.isReplicaAllowed();
+        return () -> {
+            if (context != null) {
+                MDC.setContextMap(context);
+            }
+            ReplicaRoutingDataSource.allowReplica(replicaAllowed);
+            try {
+                task.run();
+            } finally {
+                ReplicaRoutingDataSource.clear();
+                MDC.clear();
+            }
+        };
+    }
+}
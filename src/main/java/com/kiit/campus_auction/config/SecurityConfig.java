@@ -1,28 +1,83 @@
 package com.kiit.campus_auction.config;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import java.util.Arrays;
+import java.util.UUID;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
     
+    private static final Logger log = LoggerFactory.getLogger(SecurityConfig.class);
+    
+    public static final String ACTUATOR_ROLE = "ACTUATOR";
+    
+    @Value("${auction.actuator.username:ops}")
+    private String actuatorUsername;
+    
+    // Blank = no usable password: every actuator endpoint but health stays closed
+    @Value("${auction.actuator.password:}")
+    private String actuatorPassword;
+    
     @Bean
     public PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
     }
     
+    // Actuator: health is public, everything else (prometheus, loggers) needs the ACTUATOR role over HTTP Basic
+    @Bean
+    @Order(1)
+    public SecurityFilterChain actuatorFilterChain(HttpSecurity http) throws Exception {
+        http
+            .securityMatcher(EndpointRequest.toAnyEndpoint())
+            .csrf(csrf -> csrf.disable())
+            .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            .authorizeHttpRequests(auth -> auth
+                .requestMatchers(EndpointRequest.to(HealthEndpoint.class)).permitAll()
+                .anyRequest().hasRole(ACTUATOR_ROLE)
+            )
+            .httpBasic(Customizer.withDefaults());
+        
+        return http.build();
+    }
+    
+    @Bean
+    public UserDetailsService actuatorUsers(PasswordEncoder passwordEncoder) {
+        String password = actuatorPassword;
+        if (password.isBlank()) {
+            log.warn("auction.actuator.password is not set; actuator endpoints other than health are closed");
+            password = UUID.randomUUID().toString();
+        }
+        
+        return new InMemoryUserDetailsManager(User.withUsername(actuatorUsername)
+            .password(passwordEncoder.encode(password))
+            .roles(ACTUATOR_ROLE)
+            .build());
+    }
+    
     @Bean
+    @Order(2)
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
@@ -49,6 +104,7 @@ public class SecurityConfig {
         ));
         
         configuration.setAllowedHeaders(Arrays.asList("*"));
+        configuration.setExposedHeaders(Arrays.asList(CorrelationIdFilter.HEADER));
         configuration.setAllowCredentials(true);
         configuration.setMaxAge(3600L);
         
@@ -0,0 +1,74 @@
+package com.kiit.campus_auction.config;
+
+import com.kiit.campus_auction.controller.BidSocketHandler;
+import com.kiit.campus_auction.controller.UserController;
+import com.kiit.campus_auction.model.User;
+import com.kiit.campus_auction.service.UserService;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+
+import java.util.Map;
+import java.util.Optional;
+
+@Configuration
+@EnableWebSocket
+public class WebSocketConfig implements WebSocketConfigurer {
+    
+    @Autowired
+    private BidSocketHandler bidSocketHandler;
+    
+    @Autowired
+    private UserService userService;
+    
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(bidSocketHandler, "/ws/bids")
+            .addInterceptors(new BidderHandshakeInterceptor())
+            .setAllowedOrigins(
+                "https://campus-auction-kiit.netlify.app",
+                "http://localhost:5500",
+                "http://127.0.0.1:5500"
+            );
+    }
+    
+    // Resolves the bidder once per connection instead of once per bid, from the session
+    // set at login; the client never names the bidder itself
+    private class BidderHandshakeInterceptor implements HandshakeInterceptor {
+        
+        @Override
+        public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                       WebSocketHandler wsHandler, Map<String, Object> attributes) {
+            Optional<User> bidder = Optional.empty();
+            if (request instanceof ServletServerHttpRequest servletRequest) {
+                HttpSession session = servletRequest.getServletRequest().getSession(false);
+                Object userId = session == null ? null : session.getAttribute(UserController.SESSION_USER_ID);
+                if (userId instanceof Long id) {
+                    bidder = userService.getUserById(id);
+                }
+            }
+            
+            if (!bidder.isPresent()) {
+                response.setStatusCode(HttpStatus.UNAUTHORIZED);
+                return false;
+            }
+            
+            attributes.put(BidSocketHandler.USER_ATTRIBUTE, bidder.get());
+            return true;
+        }
+        
+        @Override
+        public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                   WebSocketHandler wsHandler, Exception exception) {
+        }
+    }
+}
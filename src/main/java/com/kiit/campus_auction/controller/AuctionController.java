@@ -1,45 +1,81 @@
 package com.kiit.campus_auction.controller;
 
+import com.kiit.campus_auction.config.ReadFromReplica;
+import com.kiit.campus_auction.dto.AuctionFilter;
 import com.kiit.campus_auction.dto.AuctionRequest;
+import com.kiit.campus_auction.dto.AuctionResponse;
+import com.kiit.campus_auction.dto.BidResponse;
+import com.kiit.campus_auction.dto.SellerAuctionSummary;
 import com.kiit.campus_auction.model.Auction;
-import com.kiit.campus_auction.model.Bid;
 import com.kiit.campus_auction.model.User;
 import com.kiit.campus_auction.repository.AuctionRepository;
 import com.kiit.campus_auction.repository.BidRepository;
-import com.kiit.campus_auction.repository.UserRepository;
+import com.kiit.campus_auction.service.ActiveAuctionFeed;
+import com.kiit.campus_auction.service.AuctionChangeEvent;
+import com.kiit.campus_auction.service.AuctionService;
+import com.kiit.campus_auction.service.AuctionStreamService;
+import com.kiit.campus_auction.service.UserService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import java.util.stream.Collectors;
-
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @CrossOrigin(origins = {"http://localhost:5500", "http://127.0.0.1:5500", "http://127.0.0.1:3000"})
 @RestController
 @RequestMapping("/api/auctions")
 public class AuctionController {
 
+    private static final Logger log = LoggerFactory.getLogger(AuctionController.class);
+
     @Autowired
     private AuctionRepository auctionRepository;
 
     @Autowired
-    private UserRepository userRepository;  // ✅ Add this
+    private UserService userService;
 
     @Autowired
     private BidRepository bidRepository;
 
+    @Autowired
+    private AuctionStreamService auctionStreamService;
+
+    @Autowired
+    private AuctionService auctionService;
+    
+    @Autowired
+    private ActiveAuctionFeed activeAuctionFeed;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // Soft-close defaults for new auctions (0 = hard close)
+    @Value("${auction.soft-close.window-seconds:0}")
+    private int defaultSoftCloseWindowSeconds;
+
+    @Value("${auction.soft-close.extension-seconds:0}")
+    private int defaultSoftCloseExtensionSeconds;
+
     // ✅ 1. CREATE AUCTION
     @PostMapping
     public ResponseEntity<?> createAuction(@RequestBody AuctionRequest request) {
         try {
-            System.out.println("📥 Received auction request: " + request);
+            log.debug("Received auction request: {}", request);
             
             // ✅ Validate seller exists by EMAIL (not ID)
-            Optional<User> sellerOpt = userRepository.findByEmail(request.getSellerEmail());
+            Optional<User> sellerOpt = userService.getUserByEmail(request.getSellerEmail());
             if (!sellerOpt.isPresent()) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(Map.of(
@@ -49,7 +85,7 @@ public class AuctionController {
             }
             
             User seller = sellerOpt.get();
-            System.out.println("✅ Seller found: " + seller.getName() + " (" + seller.getEmail() + ")");
+            log.debug("Seller found: {} ({})", seller.getName(), seller.getEmail());
             
             // Create new auction
             Auction auction = new Auction();
@@ -79,23 +115,26 @@ public class AuctionController {
             
             auction.setStatus("ACTIVE");
             
+            // ✅ Soft close: last-second bids extend the auction
+            auction.setSoftCloseWindowSeconds(request.getSoftCloseWindowSeconds() != null
+                ? request.getSoftCloseWindowSeconds() : defaultSoftCloseWindowSeconds);
+            auction.setSoftCloseExtensionSeconds(request.getSoftCloseExtensionSeconds() != null
+                ? request.getSoftCloseExtensionSeconds() : defaultSoftCloseExtensionSeconds);
+            
             // Save auction
             Auction savedAuction = auctionRepository.save(auction);
-            System.out.println("✅ Auction created successfully!");
-            System.out.println("   ID: " + savedAuction.getId());
-            System.out.println("   Title: " + savedAuction.getTitle());
-            System.out.println("   Seller: " + savedAuction.getSellerEmail());
-            System.out.println("   End Time: " + savedAuction.getEndTime());
+            eventPublisher.publishEvent(AuctionChangeEvent.of(AuctionChangeEvent.Type.CREATED, savedAuction));
+            log.info("Auction {} created by {}, ends {}", savedAuction.getId(), savedAuction.getSellerEmail(),
+                savedAuction.getEndTime());
             
             return ResponseEntity.ok(Map.of(
                 "success", true,
                 "message", "Auction created successfully",
-                "auction", savedAuction
+                "auction", AuctionResponse.from(savedAuction)
             ));
             
         } catch (Exception e) {
-            System.err.println("❌ Error creating auction: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error creating auction", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(Map.of(
                     "success", false,
@@ -111,7 +150,7 @@ public class AuctionController {
             @PathVariable Long auctionId,
             @RequestParam String email) {
         try {
-            System.out.println("🔧 Fixing auction " + auctionId + " with seller: " + email);
+            log.debug("Fixing auction {} with seller: {}", auctionId, email);
             
             // Find auction
             Optional<Auction> auctionOpt = auctionRepository.findById(auctionId);
@@ -120,25 +159,26 @@ public class AuctionController {
             }
             
             Auction auction = auctionOpt.get();
-            System.out.println("📦 Found auction: " + auction.getTitle());
+            log.debug("Found auction: {}", auction.getTitle());
             
             // Find user by email
-            Optional<User> userOpt = userRepository.findByEmail(email);
+            Optional<User> userOpt = userService.getUserByEmail(email);
             if (!userOpt.isPresent()) {
                 return ResponseEntity.badRequest()
                     .body(Map.of("success", false, "message", "User not found with email: " + email));
             }
             
             User user = userOpt.get();
-            System.out.println("👤 Found user: " + user.getName());
+            log.debug("Found user: {}", user.getName());
             
             // ✅ Set both seller relationship AND email
             auction.setSeller(user);
             auction.setSellerEmail(email);
             
             Auction updated = auctionRepository.save(auction);
+            eventPublisher.publishEvent(AuctionChangeEvent.of(AuctionChangeEvent.Type.UPDATED, updated));
             
-            System.out.println("✅ Auction fixed! Seller set to: " + user.getName() + " (" + email + ")");
+            log.info("Auction fixed! Seller set to: {} ({})", user.getName(), email);
             
             return ResponseEntity.ok(Map.of(
                 "success", true,
@@ -149,99 +189,129 @@ public class AuctionController {
             ));
             
         } catch (Exception e) {
-            System.err.println("❌ Error fixing auction: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error fixing auction", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(Map.of("success", false, "message", "Error: " + e.getMessage()));
         }
     }
     // ✅ GET ALL AUCTIONS INCLUDING ENDED ONES
+    // Streamed: rows are written as they come off the cursor instead of being collected first
+    @ReadFromReplica
     @GetMapping("/all-with-ended")
-    public ResponseEntity<?> getAllAuctionsIncludingEnded() {
-        try {
-            LocalDateTime now = LocalDateTime.now();
-            List<Auction> allAuctions = auctionRepository.findAll();
-            
-            // Add isExpired flag to each auction
-            List<Map<String, Object>> auctionsWithStatus = allAuctions.stream()
-                .map(auction -> {
-                    Map<String, Object> auctionMap = new HashMap<>();
-                    auctionMap.put("id", auction.getId());
-                    auctionMap.put("title", auction.getTitle());
-                    auctionMap.put("description", auction.getDescription());
-                    auctionMap.put("category", auction.getCategory());
-                    auctionMap.put("condition", auction.getCondition());
-                    auctionMap.put("startingPrice", auction.getStartingPrice());
-                    auctionMap.put("currentPrice", auction.getCurrentPrice());
-                    auctionMap.put("status", auction.getStatus());
-                    auctionMap.put("startTime", auction.getStartTime());
-                    auctionMap.put("endTime", auction.getEndTime());
-                    auctionMap.put("sellerEmail", auction.getSellerEmail());
-                    auctionMap.put("isExpired", auction.getEndTime().isBefore(now) || auction.getEndTime().isEqual(now));
-                    return auctionMap;
-                })
-                .collect(Collectors.toList());
-            
-            System.out.println("✅ Retrieved all " + auctionsWithStatus.size() + " auctions");
-            return ResponseEntity.ok(auctionsWithStatus);
-        } catch (Exception e) {
-            System.err.println("❌ Error fetching all auctions: " + e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                .body(Map.of("error", "Failed to fetch auctions"));
-        }
+    public ResponseEntity<StreamingResponseBody> getAllAuctionsIncludingEnded() {
+        LocalDateTime now = LocalDateTime.now();
+        StreamingResponseBody body = out -> {
+            try {
+                auctionService.writeAuctionSummaries(now, out);
+            } catch (IOException | RuntimeException e) {
+                log.error("Error streaming all auctions: {}", e.getMessage());
+                throw e;
+            }
+        };
+        
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(body);
     }
 
 
 
 
-    // ✅ 2. GET ALL ACTIVE AUCTIONS
-    // ✅ 2. GET ALL ACTIVE AUCTIONS (Filter by end time)
+    // ✅ 2. GET ALL ACTIVE AUCTIONS (pre-serialized snapshot; AuctionExpiryScheduler does the closing)
+    // The ETag is the snapshot version: a poll with a matching If-None-Match gets a 304 and no body
     @GetMapping("/active")
     public ResponseEntity<?> getActiveAuctions() {
         try {
-            LocalDateTime now = LocalDateTime.now();
-            
-            // Get all ACTIVE status auctions
-            List<Auction> activeAuctions = auctionRepository.findByStatus("ACTIVE");
-            
-            // Filter by end time (only future auctions)
-            List<Auction> validAuctions = activeAuctions.stream()
-                .filter(auction -> auction.getEndTime().isAfter(now))
-                .collect(Collectors.toList());
+            ActiveAuctionFeed.Snapshot feed = activeAuctionFeed.current();
             
-            System.out.println("✅ Found " + validAuctions.size() + " truly active auctions (out of " + activeAuctions.size() + " ACTIVE status)");
-            
-            // Auto-update status for expired auctions
-            activeAuctions.stream()
-                .filter(auction -> auction.getEndTime().isBefore(now) || auction.getEndTime().isEqual(now))
-                .forEach(auction -> {
-                    auction.setStatus("ENDED");
-                    auctionRepository.save(auction);
-                    System.out.println("⏰ Auto-updated auction " + auction.getId() + " status to ENDED");
-                });
+            return ResponseEntity.ok()
+                .eTag(feed.etag())
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(feed.body());
+        } catch (Exception e) {
+            log.error("Error fetching auctions", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of("error", "Failed to fetch auctions"));
+        }
+    }
+
+    // ✅ 2b. ACTIVE AUCTIONS CHANGED SINCE A FEED VERSION
+    // Inserted, updated and removed auctions since ?since=<version>; without a version, or one
+    // the change log no longer covers, the whole feed comes back with "full": true
+    @GetMapping("/changes")
+    public ResponseEntity<?> getAuctionChanges(@RequestParam(required = false) Long since) {
+        try {
+            ActiveAuctionFeed.Changes changes = activeAuctionFeed.changesSince(since);
             
-            return ResponseEntity.ok(validAuctions);
+            return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(changes.body());
         } catch (Exception e) {
-            System.err.println("❌ Error fetching auctions: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error fetching auction changes", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of("error", "Failed to fetch auction changes"));
+        }
+    }
+
+
+    // ✅ PAGED, FILTERED LISTING (keyset cursor, bounded page size)
+    // e.g. /api/auctions/page?status=ACTIVE&category=BOOKS&sort=currentPrice&direction=asc&size=20&cursor=...
+    @ReadFromReplica
+    @GetMapping("/page")
+    public ResponseEntity<?> getAuctionPage(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String hostelPreference,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endingBefore,
+            @RequestParam(defaultValue = "endTime") String sort,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        try {
+            // ACTIVE means "still running", same as /active
+            LocalDateTime endingAfter = "ACTIVE".equals(status) ? LocalDateTime.now() : null;
+            AuctionFilter filter = new AuctionFilter(status, category, hostelPreference,
+                minPrice, maxPrice, endingBefore, endingAfter);
+            
+            return ResponseEntity.ok(auctionService.listAuctions(filter, sort, direction, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            log.error("Error fetching auction page: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(Map.of("error", "Failed to fetch auctions"));
         }
     }
 
-    
+    // ✅ LIVE UPDATES FOR ALL AUCTIONS (Server-Sent Events)
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAuctions() {
+        return auctionStreamService.subscribeAll();
+    }
+
+    // ✅ LIVE UPDATES FOR ONE AUCTION (Server-Sent Events)
+    @GetMapping(value = "/{id}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAuction(@PathVariable Long id) {
+        return auctionStreamService.subscribe(id);
+    }
+
     // ✅ 3. GET AUCTION BY ID
     @GetMapping("/{id}")
     public ResponseEntity<?> getAuctionById(@PathVariable Long id) {
         try {
-            Optional<Auction> auctionOpt = auctionRepository.findById(id);
+            Optional<Auction> auctionOpt = auctionService.getAuctionById(id);
             
             if (!auctionOpt.isPresent()) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(Map.of("error", "Auction not found"));
             }
             
-            return ResponseEntity.ok(auctionOpt.get());
+            return ResponseEntity.ok(AuctionResponse.from(auctionOpt.get()));
             
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -253,42 +323,33 @@ public class AuctionController {
     @GetMapping("/{id}/winning")
     public ResponseEntity<?> getWinningBid(@PathVariable Long id) {
         try {
-            System.out.println("🏆 Fetching winning bid for auction: " + id);
+            log.debug("Fetching winning bid for auction: {}", id);
             
             // Verify auction exists
-            Optional<Auction> auctionOpt = auctionRepository.findById(id);
+            Optional<Auction> auctionOpt = auctionService.getAuctionById(id);
             if (!auctionOpt.isPresent()) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(Map.of("error", "Auction not found"));
             }
             
-            // Get highest bid for this auction
-            Optional<Bid> winningBidOpt = bidRepository.findFirstByAuctionIdOrderByAmountDesc(id);
+            // The auction row points at its winning bid; one query for the bid and its bidder's name
+            Long winningBidId = auctionOpt.get().getWinningBidId();
+            Optional<BidResponse> winningBidOpt = winningBidId != null ? bidRepository.findResponseById(winningBidId) : Optional.empty();
             
             if (!winningBidOpt.isPresent()) {
                 // Return empty object instead of empty body - prevents JSON parse errors
-                System.out.println("ℹ️ No bids found for auction " + id);
+                log.debug("No bids found for auction {}", id);
                 return ResponseEntity.ok(Collections.emptyMap());
             }
             
-            Bid winningBid = winningBidOpt.get();
-            User bidder = winningBid.getBidder();
+            BidResponse winningBid = winningBidOpt.get();
             
-            System.out.println("✅ Winning bid: ₹" + winningBid.getAmount() + " by " + bidder.getEmail());
+            log.debug("Winning bid: {} by {}", winningBid.amount(), winningBid.bidderEmail());
             
-            return ResponseEntity.ok(Map.of(
-                "id", winningBid.getId(),
-                "auctionId", winningBid.getAuction().getId(),
-                "bidderEmail", bidder.getEmail(),
-                "bidderName", bidder.getName(),
-                "amount", winningBid.getAmount(),
-                "bidTime", winningBid.getBidTime(),
-                "isWinning", winningBid.getIsWinning()
-            ));
+            return ResponseEntity.ok(winningBid);
             
         } catch (Exception e) {
-            System.err.println("❌ Error fetching winning bid: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error fetching winning bid", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(Map.of("error", "Failed to fetch winning bid"));
         }
@@ -298,54 +359,51 @@ public class AuctionController {
     @GetMapping("/{id}/bid-count")
     public ResponseEntity<?> getBidCount(@PathVariable Long id) {
         try {
-            long count = bidRepository.countByAuctionId(id);
-            System.out.println("📊 Bid count for auction " + id + ": " + count);
+            long count = auctionService.getAuctionById(id)
+                .map(Auction::getBidCount)
+                .orElse(0L);
+            log.debug("Bid count for auction {}: {}", id, count);
             return ResponseEntity.ok(Map.of("count", count));
         } catch (Exception e) {
-            System.err.println("❌ Error counting bids: " + e.getMessage());
+            log.error("Error counting bids: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(Map.of("count", 0));
         }
     }
 
-    // ✅ 6. SEARCH AUCTIONS BY KEYWORD (Filter expired)
+    // ✅ 6. SEARCH AUCTIONS BY KEYWORD (full-text index; only ACTIVE, non-expired hits)
+    @ReadFromReplica
     @GetMapping("/search")
-    public ResponseEntity<?> searchAuctions(@RequestParam String keyword) {
+    public ResponseEntity<?> searchAuctions(@RequestParam String keyword,
+                                            @RequestParam(defaultValue = "50") int limit) {
         try {
-            LocalDateTime now = LocalDateTime.now();
-            List<Auction> results = auctionRepository.searchAuctions(keyword);
-            
-            // Filter out expired auctions
-            List<Auction> activeResults = results.stream()
-                .filter(auction -> auction.getEndTime().isAfter(now))
-                .collect(Collectors.toList());
+            List<AuctionResponse> results = auctionService.searchAuctions(keyword, Math.min(Math.max(limit, 1), 100))
+                .stream()
+                .map(AuctionResponse::from)
+                .toList();
             
-            System.out.println("🔍 Search results for '" + keyword + "': " + activeResults.size() + " active auctions (filtered from " + results.size() + " total)");
-            return ResponseEntity.ok(activeResults);
+            log.debug("Search results for '{}': {} active auctions", keyword, results.size());
+            return ResponseEntity.ok(results);
         } catch (Exception e) {
-            System.err.println("❌ Search failed: " + e.getMessage());
+            log.error("Search failed: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(Map.of("error", "Search failed"));
         }
     }
 
 
-    // ✅ 7. GET AUCTIONS BY CATEGORY (Filter expired)
+    // ✅ 7. GET AUCTIONS BY CATEGORY (expired ones are filtered out by the query)
+    @ReadFromReplica
     @GetMapping("/category/{category}")
     public ResponseEntity<?> getAuctionsByCategory(@PathVariable String category) {
         try {
-            LocalDateTime now = LocalDateTime.now();
-            List<Auction> auctions = auctionRepository.findByCategoryAndStatus(category, "ACTIVE");
-            
-            // Filter by end time
-            List<Auction> activeAuctions = auctions.stream()
-                .filter(auction -> auction.getEndTime().isAfter(now))
-                .collect(Collectors.toList());
+            List<AuctionResponse> activeAuctions =
+                auctionService.getActiveAuctionsInCategory(category, LocalDateTime.now());
             
-            System.out.println("📁 Category '" + category + "': " + activeAuctions.size() + " active auctions");
+            log.debug("Category '{}': {} active auctions", category, activeAuctions.size());
             return ResponseEntity.ok(activeAuctions);
         } catch (Exception e) {
-            System.err.println("❌ Category fetch failed: " + e.getMessage());
+            log.error("Category fetch failed: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(Map.of("error", "Failed to fetch category auctions"));
         }
@@ -353,14 +411,15 @@ public class AuctionController {
 
 
     // ✅ 8. GET AUCTIONS BY SELLER
+    @ReadFromReplica
     @GetMapping("/seller/{sellerId}")
     public ResponseEntity<?> getAuctionsBySeller(@PathVariable Long sellerId) {
         try {
-            List<Auction> auctions = auctionRepository.findBySellerId(sellerId);
-            System.out.println("👤 Seller " + sellerId + " has " + auctions.size() + " auctions");
+            List<AuctionResponse> auctions = auctionService.getSellerAuctions(sellerId);
+            log.debug("Seller {} has {} auctions", sellerId, auctions.size());
             return ResponseEntity.ok(auctions);
         } catch (Exception e) {
-            System.err.println("❌ Seller auctions fetch failed: " + e.getMessage());
+            log.error("Seller auctions fetch failed: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(Map.of("error", "Failed to fetch seller auctions"));
         }
@@ -370,23 +429,19 @@ public class AuctionController {
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteAuction(@PathVariable Long id) {
         try {
-            Optional<Auction> auctionOpt = auctionRepository.findById(id);
-            
-            if (!auctionOpt.isPresent()) {
-                return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body(Map.of("error", "Auction not found"));
-            }
-            
-            auctionRepository.deleteById(id);
-            System.out.println("🗑️ Auction " + id + " deleted successfully");
+            auctionService.deleteAuction(id);
+            log.info("Auction {} deleted successfully", id);
             
             return ResponseEntity.ok(Map.of(
                 "success", true,
                 "message", "Auction deleted successfully"
             ));
             
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
-            System.err.println("❌ Delete failed: " + e.getMessage());
+            log.error("Delete failed: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(Map.of("error", "Failed to delete auction"));
         }
@@ -396,95 +451,58 @@ public class AuctionController {
     @PatchMapping("/{id}/status")
     public ResponseEntity<?> updateAuctionStatus(@PathVariable Long id, @RequestParam String status) {
         try {
-            Optional<Auction> auctionOpt = auctionRepository.findById(id);
+            Auction auction = auctionService.updateStatus(id, status);
             
-            if (!auctionOpt.isPresent()) {
-                return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body(Map.of("error", "Auction not found"));
-            }
-            
-            Auction auction = auctionOpt.get();
-            auction.setStatus(status);
-            auctionRepository.save(auction);
-            
-            System.out.println("✅ Auction " + id + " status updated to: " + status);
+            log.info("Auction {} status updated to: {}", id, status);
             
             return ResponseEntity.ok(Map.of(
                 "success", true,
                 "message", "Auction status updated",
-                "auction", auction
+                "auction", AuctionResponse.from(auction)
             ));
             
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
-            System.err.println("❌ Status update failed: " + e.getMessage());
+            log.error("Status update failed: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(Map.of("error", "Failed to update auction status"));
         }
     }
 
-    // ✅ 11. GET ALL AUCTIONS (for admin/testing)
+    // ✅ 11. GET ALL AUCTIONS (for admin/testing; streamed like /all-with-ended)
+    @ReadFromReplica
     @GetMapping
-    public ResponseEntity<?> getAllAuctions() {
-        try {
-            List<Auction> allAuctions = auctionRepository.findAll();
-            System.out.println("✅ Retrieved all " + allAuctions.size() + " auctions");
-            return ResponseEntity.ok(allAuctions);
-        } catch (Exception e) {
-            System.err.println("❌ Error fetching all auctions: " + e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                .body(Map.of("error", "Failed to fetch auctions"));
-        }
+    public ResponseEntity<StreamingResponseBody> getAllAuctions() {
+        StreamingResponseBody body = out -> {
+            try {
+                auctionService.writeAllAuctions(out);
+            } catch (IOException | RuntimeException e) {
+                log.error("Error streaming all auctions: {}", e.getMessage());
+                throw e;
+            }
+        };
+        
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(body);
     }
     // ✅ GET AUCTIONS BY SELLER EMAIL (for My Auctions page)
-// ✅ GET AUCTIONS BY SELLER EMAIL (for My Auctions page)
+@ReadFromReplica
 @GetMapping("/seller/email/{email}")
 public ResponseEntity<?> getAuctionsBySellerEmail(@PathVariable String email) {
     try {
-        System.out.println("📋 Fetching auctions for seller: " + email);
+        log.debug("Fetching auctions for seller: {}", email);
         
-        // Get user
-        Optional<User> userOpt = userRepository.findByEmail(email);
-        if (!userOpt.isPresent()) {
-            return ResponseEntity.ok(Collections.emptyList());
-        }
-        
-        User seller = userOpt.get();
-        List<Auction> auctions = auctionRepository.findBySellerId(seller.getId());
-        
-        // Add bid statistics for each auction
-        List<Map<String, Object>> auctionDetails = new ArrayList<>();
-        
-        for (Auction auction : auctions) {
-            long bidCount = bidRepository.countByAuctionId(auction.getId());
-            
-            Optional<Bid> winningBidOpt = bidRepository.findFirstByAuctionIdOrderByAmountDesc(auction.getId());
-            
-            // ✅ Use HashMap for more than 10 entries
-            Map<String, Object> auctionData = new HashMap<>();
-            auctionData.put("id", auction.getId());
-            auctionData.put("title", auction.getTitle());
-            auctionData.put("description", auction.getDescription());
-            auctionData.put("category", auction.getCategory());
-            auctionData.put("condition", auction.getCondition());
-            auctionData.put("startingPrice", auction.getStartingPrice());
-            auctionData.put("currentPrice", auction.getCurrentPrice());
-            auctionData.put("status", auction.getStatus());
-            auctionData.put("startTime", auction.getStartTime());
-            auctionData.put("endTime", auction.getEndTime());
-            auctionData.put("bidCount", bidCount);
-            auctionData.put("hasWinner", winningBidOpt.isPresent());
-            auctionData.put("winnerEmail", winningBidOpt.isPresent() ? 
-                winningBidOpt.get().getBidder().getEmail() : null);
-            
-            auctionDetails.add(auctionData);
-        }
+        // One grouped query instead of two bid queries per auction
+        List<SellerAuctionSummary> auctionDetails = auctionService.getSellerSummaries(email);
         
-        System.out.println("✅ Found " + auctionDetails.size() + " auctions for " + email);
+        log.debug("Found {} auctions for {}", auctionDetails.size(), email);
         return ResponseEntity.ok(auctionDetails);
         
     } catch (Exception e) {
-        System.err.println("❌ Error fetching seller auctions: " + e.getMessage());
-        e.printStackTrace();
+        log.error("Error fetching seller auctions", e);
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
             .body(Map.of("error", "Failed to fetch auctions"));
     }
@@ -1,11 +1,21 @@
 package com.kiit.campus_auction.controller;
+import com.kiit.campus_auction.config.ReadFromReplica;
 import com.kiit.campus_auction.dto.BidRequest;
-import com.kiit.campus_auction.model.Auction;
+import com.kiit.campus_auction.dto.BidResponse;
+import com.kiit.campus_auction.dto.UserBidSummary;
+import com.kiit.campus_auction.dto.WonAuctionSummary;
 import com.kiit.campus_auction.model.Bid;
 import com.kiit.campus_auction.model.User;
 import com.kiit.campus_auction.repository.AuctionRepository;
 import com.kiit.campus_auction.repository.BidRepository;
-import com.kiit.campus_auction.repository.UserRepository;
+import com.kiit.campus_auction.service.BidEngine;
+import com.kiit.campus_auction.service.BidService;
+import com.kiit.campus_auction.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -13,6 +23,8 @@ import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 
 
@@ -21,6 +33,8 @@ import java.util.*;
 @RequestMapping("/api/bids")
 public class BidController {
 
+    private static final Logger log = LoggerFactory.getLogger(BidController.class);
+
     @Autowired
     private BidRepository bidRepository;
 
@@ -28,191 +42,177 @@ public class BidController {
     private AuctionRepository auctionRepository;
 
     @Autowired
-    private UserRepository userRepository;
+    private UserService userService;
+
+    @Autowired
+    private BidService bidService;
+
+    @Autowired
+    private BidEngine bidEngine;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // First stage of the bid pipeline (see BidEngine for the rest)
+    private Timer lookup;
+
+    @PostConstruct
+    void registerMetrics() {
+        lookup = meterRegistry.timer("bid.stage", "stage", "lookup");
+    }
 
-    // ✅ 1. PLACE BID
+    // ✅ 1. PLACE BID (sequenced in memory by BidEngine, persisted after acceptance)
     @PostMapping
-    public ResponseEntity<?> placeBid(@RequestBody BidRequest request) {
+    public CompletableFuture<ResponseEntity<?>> placeBid(@RequestBody BidRequest request) {
         try {
-            System.out.println("📥 Received bid request: " + request);
+            log.debug("Received bid request: {}", request);
 
-            // Validate auction exists
-            Optional<Auction> auctionOpt = auctionRepository.findById(request.getAuctionId());
-            if (!auctionOpt.isPresent()) {
-                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+            // Get bidder by email
+            Optional<User> bidderOpt = lookup.record(() -> userService.getUserByEmail(request.getBidderEmail()));
+            if (!bidderOpt.isPresent()) {
+                return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(Map.of(
                         "success", false,
-                        "message", "Auction not found"
-                    ));
+                        "message", "Bidder not found. Please login first."
+                    )));
             }
 
-            Auction auction = auctionOpt.get();
-            System.out.println("✅ Auction found: " + auction.getTitle());
+            User bidder = bidderOpt.get();
 
-            // Check if auction is active
-            if (!"ACTIVE".equals(auction.getStatus())) {
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                    .body(Map.of(
-                        "success", false,
-                        "message", "Auction is not active"
-                    ));
-            }
+            return bidEngine.submit(request.getAuctionId(), bidder, request.getAmount())
+                .<ResponseEntity<?>>thenApply(result -> toBidResponse(result, bidder))
+                .exceptionally(this::bidFailed);
 
-            // Get bidder by email
-            Optional<User> bidderOpt = userRepository.findByEmail(request.getBidderEmail());
+        } catch (Exception e) {
+            return CompletableFuture.completedFuture(bidFailed(e));
+        }
+    }
+
+    private ResponseEntity<?> toBidResponse(BidEngine.BidResult result, User bidder) {
+        if (!result.isAccepted()) {
+            HttpStatus status = result.getOutcome() == BidEngine.Outcome.NOT_FOUND
+                ? HttpStatus.NOT_FOUND : HttpStatus.BAD_REQUEST;
+            return ResponseEntity.status(status)
+                .body(Map.of(
+                    "success", false,
+                    "message", result.getMessage()
+                ));
+        }
+
+        Bid savedBid = result.getBid();
+        log.debug("Bid saved with ID: {} ({})", savedBid.getId(), savedBid.getAmount());
+
+        // Proxies may already have answered the bid; report where the auction ended up
+        return ResponseEntity.ok(Map.of(
+            "success", true,
+            "message", result.getMessage(),
+            "bid", Map.of(
+                "id", savedBid.getId(),
+                "amount", savedBid.getAmount(),
+                "bidderEmail", bidder.getEmail(),
+                "bidTime", savedBid.getBidTime()
+            ),
+            "currentPrice", result.getCurrentPrice(),
+            "winning", bidder.getId().equals(result.getWinningBidderId())
+        ));
+    }
+
+    // ✅ SET PROXY (AUTO) BID: amount is the hidden maximum; the engine bids up to it on the user's behalf
+    @PostMapping("/proxy")
+    public CompletableFuture<ResponseEntity<?>> setProxyBid(@RequestBody BidRequest request) {
+        try {
+            log.debug("Received proxy bid request: auction {} by {}", request.getAuctionId(), request.getBidderEmail());
+
+            Optional<User> bidderOpt = lookup.record(() -> userService.getUserByEmail(request.getBidderEmail()));
             if (!bidderOpt.isPresent()) {
-                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(Map.of(
                         "success", false,
                         "message", "Bidder not found. Please login first."
-                    ));
+                    )));
             }
 
             User bidder = bidderOpt.get();
-            System.out.println("✅ Bidder found: " + bidder.getName());
 
-            // ✅ CHECK: Seller cannot bid on own auction
-            if (auction.getSeller().getId().equals(bidder.getId())) {
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                    .body(Map.of(
-                        "success", false,
-                        "message", "You cannot bid on your own auction!"
-                    ));
-            }
+            return bidEngine.submitProxy(request.getAuctionId(), bidder, request.getAmount())
+                .<ResponseEntity<?>>thenApply(result -> toProxyResponse(result, bidder, request.getAmount()))
+                .exceptionally(this::bidFailed);
 
-            // Get current highest bid
-            Optional<Bid> currentWinningBidOpt = bidRepository.findFirstByAuctionIdOrderByAmountDesc(auction.getId());
-            
-            double currentPrice = auction.getStartingPrice();
-            if (currentWinningBidOpt.isPresent()) {
-                currentPrice = currentWinningBidOpt.get().getAmount();
-            }
+        } catch (Exception e) {
+            return CompletableFuture.completedFuture(bidFailed(e));
+        }
+    }
 
-            // Validate bid amount (minimum increment: ₹50)
-            double minimumBid = currentPrice + 50.0;
-            
-            if (request.getAmount() < minimumBid) {
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                    .body(Map.of(
-                        "success", false,
-                        "message", String.format(
-                            "Bid must be at least ₹%.2f (current price ₹%.2f + minimum increment ₹50.00)",
-                            minimumBid, currentPrice
-                        )
-                    ));
-            }
+    private ResponseEntity<?> toProxyResponse(BidEngine.BidResult result, User bidder, Double maxAmount) {
+        if (!result.isAccepted()) {
+            return toBidResponse(result, bidder);
+        }
 
-            // ✅ Mark previous winning bid as not winning
-            if (currentWinningBidOpt.isPresent()) {
-                Bid previousWinning = currentWinningBidOpt.get();
-                previousWinning.setIsWinning(false);
-                bidRepository.save(previousWinning);
-                System.out.println("🔄 Previous winning bid updated");
-            }
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("success", true);
+        body.put("message", String.format("Maximum bid of ₹%.2f set 🤖", maxAmount));
+        body.put("maxAmount", maxAmount);
+        body.put("currentPrice", result.getCurrentPrice());
+        body.put("winning", bidder.getId().equals(result.getWinningBidderId()));
 
-            // Create new bid
-            Bid newBid = new Bid();
-            newBid.setAuction(auction);
-            newBid.setBidder(bidder);
-            newBid.setAmount(request.getAmount());
-            newBid.setIsWinning(true);
-
-            // Save bid
-            Bid savedBid = bidRepository.save(newBid);
-            System.out.println("✅ Bid saved with ID: " + savedBid.getId());
-
-            // Update auction current price
-            auction.setCurrentPrice(request.getAmount());
-            auctionRepository.save(auction);
-            System.out.println("✅ Auction price updated to: ₹" + request.getAmount());
-
-            return ResponseEntity.ok(Map.of(
-                "success", true,
-                "message", "Bid placed successfully! 🎉",
-                "bid", Map.of(
-                    "id", savedBid.getId(),
-                    "amount", savedBid.getAmount(),
-                    "bidderEmail", bidder.getEmail(),
-                    "bidTime", savedBid.getBidTime()
-                )
+        Bid bid = result.getBid();
+        if (bid != null) {
+            body.put("bid", Map.of(
+                "id", bid.getId(),
+                "amount", bid.getAmount(),
+                "bidderEmail", bidder.getEmail(),
+                "bidTime", bid.getBidTime()
             ));
+        }
 
-        } catch (Exception e) {
-            System.err.println("❌ Error placing bid: " + e.getMessage());
-            e.printStackTrace();
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+        return ResponseEntity.ok(body);
+    }
+
+    // ✅ WITHDRAW PROXY BID (bids it already placed stay)
+    @DeleteMapping("/proxy")
+    public CompletableFuture<ResponseEntity<?>> withdrawProxyBid(@RequestParam Long auctionId,
+                                                                 @RequestParam String bidderEmail) {
+        Optional<User> bidderOpt = userService.getUserByEmail(bidderEmail);
+        if (!bidderOpt.isPresent()) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.NOT_FOUND)
                 .body(Map.of(
                     "success", false,
-                    "message", "Error placing bid: " + e.getMessage()
-                ));
+                    "message", "Bidder not found. Please login first."
+                )));
         }
+
+        return bidEngine.withdrawProxy(auctionId, bidderOpt.get().getId())
+            .<ResponseEntity<?>>thenApply(removed -> removed
+                ? ResponseEntity.ok(Map.of("success", true, "message", "Proxy bid withdrawn"))
+                : ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Map.of("success", false, "message", "No proxy bid on this auction")))
+            .exceptionally(this::bidFailed);
+    }
+
+    private ResponseEntity<?> bidFailed(Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        log.error("Error placing bid", cause);
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+            .body(Map.of(
+                "success", false,
+                "message", "Error placing bid: " + cause.getMessage()
+            ));
     }
-    // ✅ GET AUCTIONS WON BY USER
+
+    // ✅ GET AUCTIONS WON BY USER (one query over the participation table)
+    @ReadFromReplica
     @GetMapping("/user/email/{email}/won")
     public ResponseEntity<?> getAuctionsWonByUser(@PathVariable String email) {
         try {
-            System.out.println("🏆 Fetching won auctions for: " + email);
-            
-            // Find user
-            Optional<User> userOpt = userRepository.findByEmail(email);
-            if (!userOpt.isPresent()) {
-                return ResponseEntity.ok(Collections.emptyList());
-            }
-            
-            User user = userOpt.get();
+            log.debug("Fetching won auctions for: {}", email);
             
-            // Get all bids by this user
-            List<Bid> userBids = bidRepository.findByBidderId(user.getId());
+            List<WonAuctionSummary> wonAuctions = bidService.getWonAuctions(email, LocalDateTime.now());
             
-            // Find winning bids
-            List<Map<String, Object>> wonAuctions = new ArrayList<>();
-            Set<Long> processedAuctions = new HashSet<>();
-            
-            for (Bid bid : userBids) {
-                Auction auction = bid.getAuction();
-                
-                // Skip if already processed
-                if (processedAuctions.contains(auction.getId())) {
-                    continue;
-                }
-                
-                // Check if auction has ended
-                if (auction.getEndTime().isBefore(LocalDateTime.now())) {
-                    // Get winning bid for this auction
-                    Optional<Bid> winningBidOpt = bidRepository.findFirstByAuctionIdOrderByAmountDesc(auction.getId());
-                    
-                    if (winningBidOpt.isPresent() && winningBidOpt.get().getId().equals(bid.getId())) {
-                        // This user's bid is the winning bid!
-                        Map<String, Object> wonAuction = new HashMap<>();
-                        wonAuction.put("auctionId", auction.getId());
-                        wonAuction.put("title", auction.getTitle());
-                        wonAuction.put("description", auction.getDescription());
-                        wonAuction.put("category", auction.getCategory());
-                        wonAuction.put("condition", auction.getCondition());
-                        wonAuction.put("winningBid", bid.getAmount());
-                        wonAuction.put("sellerEmail", auction.getSellerEmail());
-                        
-                        // Get seller name safely
-                        if (auction.getSeller() != null) {
-                            wonAuction.put("sellerName", auction.getSeller().getName());
-                        } else {
-                            wonAuction.put("sellerName", "Unknown");
-                        }
-                        
-                        wonAuction.put("endTime", auction.getEndTime());
-                        wonAuction.put("bidCount", bidRepository.countByAuctionId(auction.getId()));
-                        wonAuctions.add(wonAuction);
-                        processedAuctions.add(auction.getId());
-                    }
-                }
-            }
-            
-            System.out.println("✅ Found " + wonAuctions.size() + " won auctions for " + email);
+            log.debug("Found {} won auctions for {}", wonAuctions.size(), email);
             return ResponseEntity.ok(wonAuctions);
             
         } catch (Exception e) {
-            System.err.println("❌ Error fetching won auctions: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error fetching won auctions", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(Collections.emptyList());
         }
@@ -222,98 +222,45 @@ public class BidController {
     @GetMapping("/auction/{auctionId}")
     public ResponseEntity<?> getAuctionBids(@PathVariable Long auctionId) {
         try {
-            List<Bid> bids = bidRepository.findByAuctionIdOrderByAmountDesc(auctionId);
-            
-            List<Map<String, Object>> bidList = new ArrayList<>();
-            for (Bid bid : bids) {
-                bidList.add(Map.of(
-                    "id", bid.getId(),
-                    "amount", bid.getAmount(),
-                    "bidderEmail", bid.getBidder().getEmail(),
-                    "bidderName", bid.getBidder().getName(),
-                    "bidTime", bid.getBidTime(),
-                    "isWinning", bid.getIsWinning()
-                ));
-            }
+            List<BidResponse> bidList = bidRepository.findResponsesByAuctionId(auctionId);
             
             return ResponseEntity.ok(bidList);
             
         } catch (Exception e) {
-            System.err.println("❌ Error fetching bids: " + e.getMessage());
+            log.error("Error fetching bids: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(Map.of("error", "Failed to fetch bids"));
         }
     }
 
     // ✅ 3. GET BIDS BY USER
+    @ReadFromReplica
     @GetMapping("/user/{userId}")
     public ResponseEntity<?> getUserBids(@PathVariable Long userId) {
         try {
-            List<Bid> bids = bidRepository.findByBidderId(userId);
+            List<BidResponse> bids = bidService.getBidResponsesByUser(userId);
             return ResponseEntity.ok(bids);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(Map.of("error", "Failed to fetch user bids"));
         }
     }
-    // ✅ GET BIDS BY USER EMAIL (for My Bids page)
+    // ✅ GET BIDS BY USER EMAIL (for My Bids page; latest bid per auction, one query)
+    @ReadFromReplica
     @GetMapping("/user/email/{email}")
     public ResponseEntity<?> getUserBidsByEmail(@PathVariable String email) {
         try {
-            System.out.println("📋 Fetching bids for user: " + email);
-            
-            // Get user
-            Optional<User> userOpt = userRepository.findByEmail(email);
-            if (!userOpt.isPresent()) {
-                return ResponseEntity.ok(Collections.emptyList());
-            }
-            
-            User user = userOpt.get();
-            List<Bid> userBids = bidRepository.findByBidderId(user.getId());
+            log.debug("Fetching bids for user: {}", email);
             
-            // Create response with auction details
-            List<Map<String, Object>> bidDetails = new ArrayList<>();
+            List<UserBidSummary> bidDetails = bidService.getBidSummaries(email);
             
-            for (Bid bid : userBids) {
-                Auction auction = bid.getAuction();
-                
-                // Get current winning bid
-                Optional<Bid> currentWinningOpt = bidRepository.findFirstByAuctionIdOrderByAmountDesc(auction.getId());
-                boolean isCurrentlyWinning = currentWinningOpt.isPresent() && 
-                                            currentWinningOpt.get().getId().equals(bid.getId());
-                
-                // ✅ Use HashMap for auction data
-                Map<String, Object> auctionMap = new HashMap<>();
-                auctionMap.put("id", auction.getId());
-                auctionMap.put("title", auction.getTitle());
-                auctionMap.put("description", auction.getDescription());
-                auctionMap.put("category", auction.getCategory());
-                auctionMap.put("currentPrice", auction.getCurrentPrice());
-                auctionMap.put("status", auction.getStatus());
-                auctionMap.put("endTime", auction.getEndTime());
-                auctionMap.put("sellerEmail", auction.getSellerEmail());
-                
-                // ✅ Use HashMap for bid details
-                Map<String, Object> bidMap = new HashMap<>();
-                bidMap.put("bidId", bid.getId());
-                bidMap.put("amount", bid.getAmount());
-                bidMap.put("bidTime", bid.getBidTime());
-                bidMap.put("isWinning", isCurrentlyWinning);
-                bidMap.put("auction", auctionMap);
-                
-                bidDetails.add(bidMap);
-            }
-            
-            System.out.println("✅ Found " + bidDetails.size() + " bids for " + email);
+            log.debug("Found {} bids for {}", bidDetails.size(), email);
             return ResponseEntity.ok(bidDetails);
             
         } catch (Exception e) {
-            System.err.println("❌ Error fetching user bids: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error fetching user bids", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(Map.of("error", "Failed to fetch bids"));
         }
     }
-
-
 }
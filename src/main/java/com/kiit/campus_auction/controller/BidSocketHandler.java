@@ -0,0 +1,303 @@
+package com.kiit.campus_auction.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kiit.campus_auction.model.Auction;
+import com.kiit.campus_auction.model.User;
+import com.kiit.campus_auction.service.AuctionChangeEvent;
+import com.kiit.campus_auction.service.AuctionService;
+import com.kiit.campus_auction.service.BidEngine;
+import com.kiit.campus_auction.util.Outbox;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.AbstractWebSocketHandler;
+
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * WebSocket bidding channel (/ws/bids) for quick auctions, where a POST per bid is too
+ * slow. The bidder is the user logged in on the handshake's session (POST /api/users/login).
+ * Bids on any other auction are answered with an error frame; they go through
+ * POST /api/bids. Any auction can be subscribed to.
+ *
+ * Client frames (compact JSON text):
+ *   {"t":"sub","a":[1,2]}            subscribe to auctions
+ *   {"t":"unsub","a":[1]}            unsubscribe
+ *   {"t":"bid","a":1,"p":550.0,"c":7} place a bid; c is echoed back in the ack
+ *
+ * A bid can also be sent as a 20-byte binary frame:
+ *   [long auctionId][double amount][int c]   (big-endian)
+ *
+ * Server frames:
+ *   {"t":"ack","c":7,"ok":true,"a":1,"s":12,"p":550.0,"n":12}  s = acceptance sequence in the auction,
+ *                                                              p = price once proxies have answered
+ *   {"t":"ack","c":7,"ok":false,"a":1,"m":"Bid must be at least ..."}
+ *   {"t":"bid","a":1,"p":550.0,"n":12,"e":"..."}               new price on a subscribed auction
+ *   {"t":"outbid","a":1,"p":600.0}                             sent to the bidder who lost the lead
+ *   {"t":"status","a":1,"s":"COMPLETED"}
+ *   {"t":"error","m":"..."}                                    malformed or unknown frame
+ *   {"t":"error","c":7,"a":1,"m":"..."}                        bid on an auction that is not a quick auction
+ *
+ * Frames are never written on the thread that produced them (bid events arrive on the
+ * journal writer thread). Each session has an Outbox drained on a virtual thread of its
+ * own, so a slow client only delays itself, however many slow clients there are; a
+ * session more than OUTBOX_LIMIT frames behind is closed instead of buffered without bound.
+ */
+@Component
+public class BidSocketHandler extends AbstractWebSocketHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(BidSocketHandler.class);
+
+    public static final String USER_ATTRIBUTE = "bidder";
+    private static final String SUBSCRIPTIONS_ATTRIBUTE = "subscriptions";
+
+    private static final int BINARY_BID_FRAME_SIZE = 20;
+    private static final int OUTBOX_LIMIT = 256;
+
+    @Autowired
+    private BidEngine bidEngine;
+
+    @Autowired
+    private AuctionService auctionService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // An open session and the frames waiting for it
+    private record Connection(WebSocketSession session, Outbox outbox) {}
+
+    // Session id -> connection
+    private final Map<String, Connection> sessions = new ConcurrentHashMap<>();
+
+    // Auction id -> subscribed session ids
+    private final Map<Long, Set<String>> subscribers = new ConcurrentHashMap<>();
+
+    // Bidder id -> open session ids (for outbid notices)
+    private final Map<Long, Set<String>> sessionsByBidder = new ConcurrentHashMap<>();
+
+    private final ExecutorService fanOut = Outbox.fanOutExecutor("bid-socket-fan-out");
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) {
+        session.getAttributes().put(SUBSCRIPTIONS_ATTRIBUTE, ConcurrentHashMap.newKeySet());
+
+        sessions.put(session.getId(),
+            new Connection(session, new Outbox(fanOut, OUTBOX_LIMIT, () -> closeLagging(session))));
+        add(sessionsByBidder, bidderOf(session).getId(), session.getId());
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        Connection connection = sessions.remove(session.getId());
+        if (connection != null) {
+            connection.outbox().close();
+        }
+
+        for (Long auctionId : subscriptionsOf(session)) {
+            remove(subscribers, auctionId, session.getId());
+        }
+        remove(sessionsByBidder, bidderOf(session).getId(), session.getId());
+    }
+
+    @PreDestroy
+    void stop() {
+        fanOut.shutdownNow();
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) {
+        JsonNode frame;
+        try {
+            frame = objectMapper.readTree(message.getPayload());
+        } catch (JsonProcessingException e) {
+            send(session.getId(), Map.of("t", "error", "m", "Malformed frame: " + e.getOriginalMessage()));
+            return;
+        }
+
+        String type = frame.path("t").asText();
+
+        switch (type) {
+            case "sub" -> frame.path("a").forEach(id -> subscribe(session, id.asLong()));
+            case "unsub" -> frame.path("a").forEach(id -> unsubscribe(session, id.asLong()));
+            case "bid" -> placeBid(session, frame.path("a").asLong(), frame.path("p").asDouble(),
+                frame.path("c").asInt());
+            default -> send(session.getId(), Map.of("t", "error", "m", "Unknown frame type: " + type));
+        }
+    }
+
+    @Override
+    protected void handleBinaryMessage(WebSocketSession session, BinaryMessage message) {
+        ByteBuffer payload = message.getPayload();
+        if (payload.remaining() != BINARY_BID_FRAME_SIZE) {
+            send(session.getId(), Map.of("t", "error", "m", "Binary bid frame must be 20 bytes"));
+            return;
+        }
+
+        placeBid(session, payload.getLong(), payload.getDouble(), payload.getInt());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuctionChange(AuctionChangeEvent event) {
+        Long auctionId = event.getAuctionId();
+
+        if (event.getType() == AuctionChangeEvent.Type.BID) {
+            Map<String, Object> frame = new LinkedHashMap<>();
+            frame.put("t", "bid");
+            frame.put("a", auctionId);
+            frame.put("p", event.getCurrentPrice());
+            frame.put("n", event.getBidCount());
+            frame.put("e", event.getEndTime());
+            broadcast(auctionId, frame);
+
+            Long previousBidderId = event.getPreviousBidderId();
+            if (previousBidderId != null && !previousBidderId.equals(event.getBidderId())) {
+                Set<String> ids = sessionsByBidder.get(previousBidderId);
+                if (ids != null) {
+                    Map<String, Object> outbid = Map.of("t", "outbid", "a", auctionId, "p", event.getCurrentPrice());
+                    ids.forEach(id -> send(id, outbid));
+                }
+            }
+        } else if (event.getType() == AuctionChangeEvent.Type.STATUS || event.getType() == AuctionChangeEvent.Type.DELETED) {
+            String status = event.getStatus() != null ? event.getStatus() : "DELETED";
+            broadcast(auctionId, Map.of("t", "status", "a", auctionId, "s", status));
+        }
+    }
+
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    private void placeBid(WebSocketSession session, long auctionId, double amount, int clientRef) {
+        User bidder = bidderOf(session);
+        String sessionId = session.getId();
+
+        // Cached lookup; an unknown auction is left to the engine, which answers NOT_FOUND
+        Optional<Auction> auction = auctionService.getAuctionById(auctionId);
+        if (auction.isPresent() && !Boolean.TRUE.equals(auction.get().getIsQuickAuction())) {
+            Map<String, Object> error = new LinkedHashMap<>();
+            error.put("t", "error");
+            error.put("c", clientRef);
+            error.put("a", auctionId);
+            error.put("m", "Only quick auctions take bids over this socket; use POST /api/bids");
+            send(sessionId, error);
+            return;
+        }
+
+        bidEngine.submit(auctionId, bidder, amount).whenComplete((result, error) -> {
+            Map<String, Object> ack = new LinkedHashMap<>();
+            ack.put("t", "ack");
+            ack.put("c", clientRef);
+            ack.put("a", auctionId);
+
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                ack.put("ok", false);
+                ack.put("m", "Error placing bid: " + cause.getMessage());
+            } else if (!result.isAccepted()) {
+                ack.put("ok", false);
+                ack.put("m", result.getMessage());
+            } else {
+                ack.put("ok", true);
+                ack.put("s", result.getSequence());
+                ack.put("p", result.getCurrentPrice());
+                ack.put("n", result.getBidCount());
+            }
+
+            send(sessionId, ack);
+        });
+    }
+
+    private void subscribe(WebSocketSession session, Long auctionId) {
+        subscriptionsOf(session).add(auctionId);
+        add(subscribers, auctionId, session.getId());
+    }
+
+    private void unsubscribe(WebSocketSession session, Long auctionId) {
+        subscriptionsOf(session).remove(auctionId);
+        remove(subscribers, auctionId, session.getId());
+    }
+
+    // Both inside compute, so a set is never dropped while another session is being added to it
+    private static void add(Map<Long, Set<String>> index, Long key, String sessionId) {
+        index.compute(key, (k, ids) -> {
+            Set<String> set = ids != null ? ids : ConcurrentHashMap.newKeySet();
+            set.add(sessionId);
+            return set;
+        });
+    }
+
+    private static void remove(Map<Long, Set<String>> index, Long key, String sessionId) {
+        index.computeIfPresent(key, (k, ids) -> {
+            ids.remove(sessionId);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    private void broadcast(Long auctionId, Map<String, Object> frame) {
+        Set<String> ids = subscribers.get(auctionId);
+        if (ids != null) {
+            ids.forEach(id -> send(id, frame));
+        }
+    }
+
+    private void send(String sessionId, Map<String, Object> frame) {
+        Connection connection = sessions.get(sessionId);
+        if (connection == null || !connection.session().isOpen()) {
+            return;
+        }
+
+        TextMessage message;
+        try {
+            message = new TextMessage(objectMapper.writeValueAsBytes(frame));
+        } catch (JsonProcessingException e) {
+            log.warn("Could not encode WebSocket frame {}: {}", frame, e.getMessage());
+            return;
+        }
+
+        WebSocketSession session = connection.session();
+        connection.outbox().offer(() -> {
+            if (!session.isOpen()) {
+                return;
+            }
+            try {
+                session.sendMessage(message);
+            } catch (Exception e) {
+                log.warn("WebSocket send failed for session {}: {}", sessionId, e.getMessage());
+            }
+        });
+    }
+
+    private void closeLagging(WebSocketSession session) {
+        log.warn("WebSocket session {} is not keeping up, closing it", session.getId());
+        try {
+            session.close(CloseStatus.SESSION_NOT_RELIABLE);
+        } catch (Exception e) {
+            log.warn("WebSocket close failed for session {}: {}", session.getId(), e.getMessage());
+        }
+    }
+
+    private static User bidderOf(WebSocketSession session) {
+        return (User) session.getAttributes().get(USER_ATTRIBUTE);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Set<Long> subscriptionsOf(WebSocketSession session) {
+        return (Set<Long>) session.getAttributes().get(SUBSCRIPTIONS_ATTRIBUTE);
+    }
+}
@@ -2,6 +2,10 @@ package com.kiit.campus_auction.controller;
 
 import com.kiit.campus_auction.model.User;
 import com.kiit.campus_auction.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -15,6 +19,11 @@ import java.util.Optional;
 @RequestMapping("/api/users")
 @CrossOrigin(origins = "*")  // Update with your Netlify URL for production
 public class UserController {
+
+    private static final Logger log = LoggerFactory.getLogger(UserController.class);
+    
+    // Session attribute holding the logged-in user's id; the bid socket handshake reads it
+    public static final String SESSION_USER_ID = "userId";
     
     @Autowired
     private UserService userService;
@@ -26,7 +35,7 @@ public class UserController {
             // Let UserService handle ALL validations (email + phone + KIIT email)
             User savedUser = userService.registerUser(user);
             
-            System.out.println("✅ User registered: " + savedUser.getEmail());
+            log.info("User registered: {}", savedUser.getEmail());
             
             return ResponseEntity.ok(Map.of(
                 "success", true,
@@ -39,7 +48,7 @@ public class UserController {
             // - Email already registered
             // - Phone number already registered
             // - Only KIIT email addresses allowed
-            System.out.println("❌ Registration failed: " + e.getMessage());
+            log.info("Registration failed: {}", e.getMessage());
             
             return ResponseEntity.status(HttpStatus.CONFLICT)
                 .body(Map.of(
@@ -49,7 +58,7 @@ public class UserController {
             
         } catch (Exception e) {
             // Catches unexpected errors
-            e.printStackTrace();
+            log.error("Registration failed", e);
             
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(Map.of(
@@ -61,14 +70,22 @@ public class UserController {
     
     // ✅ 2. LOGIN USER
     @PostMapping("/login")
-    public ResponseEntity<?> loginUser(@RequestBody Map<String, String> credentials) {
+    public ResponseEntity<?> loginUser(@RequestBody Map<String, String> credentials,
+                                       HttpServletRequest request) {
         try {
             String email = credentials.get("email");
             String password = credentials.get("password");
             
             User user = userService.loginUser(email, password);
             
-            System.out.println("✅ User logged in: " + user.getEmail());
+            // Fresh session per login so an id handed out before login can't be reused
+            HttpSession previous = request.getSession(false);
+            if (previous != null) {
+                previous.invalidate();
+            }
+            request.getSession(true).setAttribute(SESSION_USER_ID, user.getId());
+            
+            log.debug("User logged in: {}", user.getEmail());
             
             return ResponseEntity.ok(Map.of(
                 "success", true,
@@ -77,7 +94,7 @@ public class UserController {
             ));
             
         } catch (IllegalArgumentException e) {
-            System.out.println("❌ Login failed: " + e.getMessage());
+            log.info("Login failed: {}", e.getMessage());
             
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                 .body(Map.of(
@@ -86,7 +103,7 @@ public class UserController {
                 ));
                 
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Login failed", e);
             
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(Map.of(
@@ -220,4 +237,18 @@ public class UserController {
                 ));
         }
     }
+    
+    // ✅ 11. LOGOUT USER
+    @PostMapping("/logout")
+    public ResponseEntity<?> logoutUser(HttpServletRequest request) {
+        HttpSession session = request.getSession(false);
+        if (session != null) {
+            session.invalidate();
+        }
+        
+        return ResponseEntity.ok(Map.of(
+            "success", true,
+            "message", "Logged out"
+        ));
+    }
 }
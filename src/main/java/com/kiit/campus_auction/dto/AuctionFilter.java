@@ -0,0 +1,14 @@
+package com.kiit.campus_auction.dto;
+
+import java.time.LocalDateTime;
+
+// Optional listing filters; null means "don't filter on this"
+public record AuctionFilter(
+    String status,
+    String category,
+    String hostelPreference,
+    Double minPrice,
+    Double maxPrice,
+    LocalDateTime endingBefore,
+    LocalDateTime endingAfter
+) {}
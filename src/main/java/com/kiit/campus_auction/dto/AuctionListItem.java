@@ -0,0 +1,21 @@
+package com.kiit.campus_auction.dto;
+
+import java.time.LocalDateTime;
+
+// Auction card as shown in listings; selected column by column, so the seller User is never loaded
+public record AuctionListItem(
+    Long id,
+    String title,
+    String description,
+    String category,
+    String condition,
+    Double startingPrice,
+    Double currentPrice,
+    Long bidCount,
+    String hostelPreference,
+    String status,
+    String sellerEmail,
+    Boolean isQuickAuction,
+    LocalDateTime startTime,
+    LocalDateTime endTime
+) {}
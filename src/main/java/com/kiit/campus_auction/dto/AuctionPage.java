@@ -0,0 +1,10 @@
+package com.kiit.campus_auction.dto;
+
+import java.util.List;
+
+// One page of a keyset-paginated listing; pass nextCursor back to get the following page
+public record AuctionPage(
+    List<AuctionListItem> items,
+    String nextCursor,
+    boolean hasMore
+) {}
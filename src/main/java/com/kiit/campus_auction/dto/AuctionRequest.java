@@ -11,6 +11,8 @@ public class AuctionRequest {
     private String sellerEmail;  // ✅ Changed from sellerId to sellerEmail
     private boolean isQuickAuction;
     private Integer durationDays;  // ✅ Add this for custom duration
+    private Integer softCloseWindowSeconds;     // bids this close to the end...
+    private Integer softCloseExtensionSeconds;  // ...push the end back by this much
     
     // Constructors
     public AuctionRequest() {}
@@ -90,6 +92,22 @@ public class AuctionRequest {
         this.durationDays = durationDays;
     }
     
+    public Integer getSoftCloseWindowSeconds() {
+        return softCloseWindowSeconds;
+    }
+    
+    public void setSoftCloseWindowSeconds(Integer softCloseWindowSeconds) {
+        this.softCloseWindowSeconds = softCloseWindowSeconds;
+    }
+    
+    public Integer getSoftCloseExtensionSeconds() {
+        return softCloseExtensionSeconds;
+    }
+    
+    public void setSoftCloseExtensionSeconds(Integer softCloseExtensionSeconds) {
+        this.softCloseExtensionSeconds = softCloseExtensionSeconds;
+    }
+    
     @Override
     public String toString() {
         return "AuctionRequest{" +
@@ -0,0 +1,38 @@
+package com.kiit.campus_auction.dto;
+
+import com.kiit.campus_auction.model.Auction;
+
+import java.time.LocalDateTime;
+
+// An auction as the API returns it: its own columns only, never the seller User behind seller_id
+public record AuctionResponse(
+    Long id,
+    String title,
+    String description,
+    String category,
+    String condition,
+    Double startingPrice,
+    Double currentPrice,
+    Long bidCount,
+    Long winningBidId,
+    Long winningBidderId,
+    String hostelPreference,
+    String status,
+    String sellerEmail,
+    Boolean isQuickAuction,
+    LocalDateTime startTime,
+    LocalDateTime endTime,
+    Integer softCloseWindowSeconds,
+    Integer softCloseExtensionSeconds,
+    LocalDateTime createdAt,
+    LocalDateTime updatedAt
+) {
+    public static AuctionResponse from(Auction auction) {
+        return new AuctionResponse(auction.getId(), auction.getTitle(), auction.getDescription(),
+            auction.getCategory(), auction.getCondition(), auction.getStartingPrice(), auction.getCurrentPrice(),
+            auction.getBidCount(), auction.getWinningBidId(), auction.getWinningBidderId(),
+            auction.getHostelPreference(), auction.getStatus(), auction.getSellerEmail(), auction.getIsQuickAuction(),
+            auction.getStartTime(), auction.getEndTime(), auction.getSoftCloseWindowSeconds(),
+            auction.getSoftCloseExtensionSeconds(), auction.getCreatedAt(), auction.getUpdatedAt());
+    }
+}
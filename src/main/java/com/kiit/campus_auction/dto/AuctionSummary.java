@@ -0,0 +1,19 @@
+package com.kiit.campus_auction.dto;
+
+import java.time.LocalDateTime;
+
+// One row of the all-auctions listing, ended ones included; isExpired is worked out by the query
+public record AuctionSummary(
+    Long id,
+    String title,
+    String description,
+    String category,
+    String condition,
+    Double startingPrice,
+    Double currentPrice,
+    String status,
+    LocalDateTime startTime,
+    LocalDateTime endTime,
+    String sellerEmail,
+    boolean isExpired
+) {}
@@ -0,0 +1,14 @@
+package com.kiit.campus_auction.dto;
+
+import java.time.LocalDateTime;
+
+// A bid with its bidder's email and name, selected column by column
+public record BidResponse(
+    Long id,
+    Long auctionId,
+    Double amount,
+    String bidderEmail,
+    String bidderName,
+    LocalDateTime bidTime,
+    Boolean isWinning
+) {}
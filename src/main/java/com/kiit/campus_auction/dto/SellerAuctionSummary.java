@@ -0,0 +1,30 @@
+package com.kiit.campus_auction.dto;
+
+import java.time.LocalDateTime;
+
+// One row of the seller dashboard: the auction plus its bid aggregates
+public record SellerAuctionSummary(
+    Long id,
+    String title,
+    String description,
+    String category,
+    String condition,
+    Double startingPrice,
+    Double currentPrice,
+    String status,
+    LocalDateTime startTime,
+    LocalDateTime endTime,
+    long bidCount,
+    Double topBid,
+    boolean hasWinner,
+    String winnerEmail
+) {
+    // Used by the JPQL constructor expression
+    public SellerAuctionSummary(Long id, String title, String description, String category, String condition,
+                                Double startingPrice, Double currentPrice, String status,
+                                LocalDateTime startTime, LocalDateTime endTime,
+                                Long bidCount, Double topBid, String winnerEmail) {
+        this(id, title, description, category, condition, startingPrice, currentPrice, status,
+            startTime, endTime, bidCount, topBid, winnerEmail != null, winnerEmail);
+    }
+}
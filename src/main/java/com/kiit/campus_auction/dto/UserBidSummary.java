@@ -0,0 +1,35 @@
+package com.kiit.campus_auction.dto;
+
+import java.time.LocalDateTime;
+
+// My Bids row: the user's latest bid on an auction, and whether it still leads
+public record UserBidSummary(
+    Long bidId,
+    Double amount,
+    LocalDateTime bidTime,
+    boolean isWinning,
+    long myBidCount,
+    AuctionInfo auction
+) {
+    public record AuctionInfo(
+        Long id,
+        String title,
+        String description,
+        String category,
+        Double currentPrice,
+        String status,
+        LocalDateTime endTime,
+        String sellerEmail,
+        long bidCount
+    ) {}
+    
+    // Used by the JPQL constructor expression
+    public UserBidSummary(Long bidId, Double amount, LocalDateTime bidTime, Long myBidCount,
+                          Long auctionId, String title, String description, String category,
+                          Double currentPrice, String status, LocalDateTime endTime, String sellerEmail,
+                          Long bidCount, Long winningBidId) {
+        this(bidId, amount, bidTime, bidId.equals(winningBidId), myBidCount,
+            new AuctionInfo(auctionId, title, description, category, currentPrice, status, endTime,
+                sellerEmail, bidCount));
+    }
+}
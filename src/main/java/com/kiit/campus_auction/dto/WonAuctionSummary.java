@@ -0,0 +1,17 @@
+package com.kiit.campus_auction.dto;
+
+import java.time.LocalDateTime;
+
+// An ended auction the user holds the top bid on
+public record WonAuctionSummary(
+    Long auctionId,
+    String title,
+    String description,
+    String category,
+    String condition,
+    Double winningBid,
+    String sellerEmail,
+    String sellerName,
+    LocalDateTime endTime,
+    long bidCount
+) {}
@@ -8,10 +8,13 @@ import java.time.LocalDateTime;
 public class Auction {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "auction_seq")
+    @SequenceGenerator(name = "auction_seq", sequenceName = "auction_seq", allocationSize = 50)
     private Long id;
     
-    @ManyToOne
+    // Lazy: reads only need seller_id (getSeller().getId() doesn't load the User); queries that
+    // show the seller's details join it themselves (see findWonAuctions)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "seller_id", nullable = false)
     private User seller;
 
@@ -39,6 +42,20 @@ public class Auction {
     @Column(name = "current_price")
 private Double currentPrice;
 
+    // Denormalized from bids; maintained in the same transaction as every bid insert
+    @Column(name = "bid_count")
+    private Long bidCount = 0L;
+    
+    @Column(name = "winning_bid_id")
+    private Long winningBidId;
+    
+    @Column(name = "winning_bidder_id")
+    private Long winningBidderId;
+    
+    // Bumped by every write, including the journal's bid UPDATE in AuctionRepository.applyBidState
+    @Version
+    @Column(name = "version")
+    private Long version;
     
     @Column(name = "hostel_preference")
     private String hostelPreference;
@@ -52,6 +69,13 @@ private Double currentPrice;
     @Column(nullable = false)
     private String status = "ACTIVE";
     
+    // Soft close (anti-sniping): a bid in the last window pushes endTime back; null or 0 = hard close
+    @Column(name = "soft_close_window_seconds")
+    private Integer softCloseWindowSeconds;
+    
+    @Column(name = "soft_close_extension_seconds")
+    private Integer softCloseExtensionSeconds;
+    
     @Column(name = "created_at")
     private LocalDateTime createdAt;
     
@@ -147,6 +171,38 @@ private Double currentPrice;
     }
 
     
+    public Long getBidCount() {
+        return bidCount;
+    }
+    
+    public void setBidCount(Long bidCount) {
+        this.bidCount = bidCount;
+    }
+    
+    public Long getWinningBidId() {
+        return winningBidId;
+    }
+    
+    public void setWinningBidId(Long winningBidId) {
+        this.winningBidId = winningBidId;
+    }
+    
+    public Long getWinningBidderId() {
+        return winningBidderId;
+    }
+    
+    public void setWinningBidderId(Long winningBidderId) {
+        this.winningBidderId = winningBidderId;
+    }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
     public String getHostelPreference() {
         return hostelPreference;
     }
@@ -179,6 +235,33 @@ private Double currentPrice;
         this.status = status;
     }
     
+    public Integer getSoftCloseWindowSeconds() {
+        return softCloseWindowSeconds;
+    }
+    
+    public void setSoftCloseWindowSeconds(Integer softCloseWindowSeconds) {
+        this.softCloseWindowSeconds = softCloseWindowSeconds;
+    }
+    
+    public Integer getSoftCloseExtensionSeconds() {
+        return softCloseExtensionSeconds;
+    }
+    
+    public void setSoftCloseExtensionSeconds(Integer softCloseExtensionSeconds) {
+        this.softCloseExtensionSeconds = softCloseExtensionSeconds;
+    }
+    
+    // End time after a bid accepted at bidTime, applying the soft-close rule
+    public static LocalDateTime softCloseEndTime(LocalDateTime endTime, Integer windowSeconds,
+                                                 Integer extensionSeconds, LocalDateTime bidTime) {
+        if (windowSeconds == null || windowSeconds <= 0 || extensionSeconds == null || extensionSeconds <= 0) {
+            return endTime;
+        }
+        
+        boolean inWindow = !bidTime.plusSeconds(windowSeconds).isBefore(endTime);
+        return inWindow ? endTime.plusSeconds(extensionSeconds) : endTime;
+    }
+    
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
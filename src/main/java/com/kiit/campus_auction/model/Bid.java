@@ -5,23 +5,31 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "bids")
+@NamedEntityGraph(name = "Bid.bidder", attributeNodes = @NamedAttributeNode("bidder"))
+@NamedEntityGraph(name = "Bid.auction", attributeNodes = @NamedAttributeNode("auction"))
 public class Bid {
     
+    // Ids are taken from bid_seq in blocks of this size (pooled-lo), by Hibernate and by BidJournal alike
+    public static final int ID_BLOCK_SIZE = 50;
+    
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bid_seq")
+    @SequenceGenerator(name = "bid_seq", sequenceName = "bid_seq", allocationSize = ID_BLOCK_SIZE)
     private Long id;
     
-    @ManyToOne
+    // Both lazy; the repository picks a graph per use case (leaderboard: bidder, bid history: auction)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "auction_id", nullable = false)
     private Auction auction;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "bidder_id", nullable = false)
     private User bidder;
     
     @Column(nullable = false)
     private Double amount;
     
+    // Legacy column, no longer flipped when a bid is outbid; see getIsWinning()
     @Column(nullable = false)
     private Boolean isWinning = false;
     
@@ -36,9 +44,13 @@ public class Bid {
     public Auction getAuction() { return auction; }
     public User getBidder() { return bidder; }
     public Double getAmount() { return amount; }
-    public Boolean getIsWinning() { return isWinning; }
     public LocalDateTime getBidTime() { return bidTime; }
     
+    // The auction row points at its winning bid, so outbidding never touches the old bid
+    public Boolean getIsWinning() {
+        return id != null && auction != null && id.equals(auction.getWinningBidId());
+    }
+    
     // ✅ Helper methods for convenience
     public String getBidderEmail() {
         return bidder != null ? bidder.getEmail() : null;
@@ -53,7 +65,6 @@ public class Bid {
     public void setAuction(Auction auction) { this.auction = auction; }
     public void setBidder(User bidder) { this.bidder = bidder; }
     public void setAmount(Double amount) { this.amount = amount; }
-    public void setIsWinning(Boolean isWinning) { this.isWinning = isWinning; }
     public void setBidTime(LocalDateTime bidTime) { this.bidTime = bidTime; }
     
     @PrePersist
@@ -0,0 +1,45 @@
+package com.kiit.campus_auction.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// A bidder's hidden maximum on an auction; the BidEngine bids on their behalf up to it
+@Entity
+@Table(name = "proxy_bids",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"auction_id", "bidder_id"}))
+public class ProxyBid {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "auction_id", nullable = false)
+    private Long auctionId;
+    
+    @Column(name = "bidder_id", nullable = false)
+    private Long bidderId;
+    
+    @Column(name = "max_amount", nullable = false)
+    private Double maxAmount;
+    
+    // Last time the maximum was set; among challengers with equal maximums the earlier one goes first
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+    
+    // No-args constructor
+    public ProxyBid() {}
+    
+    // Getters
+    public Long getId() { return id; }
+    public Long getAuctionId() { return auctionId; }
+    public Long getBidderId() { return bidderId; }
+    public Double getMaxAmount() { return maxAmount; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    
+    // Setters
+    public void setId(Long id) { this.id = id; }
+    public void setAuctionId(Long auctionId) { this.auctionId = auctionId; }
+    public void setBidderId(Long bidderId) { this.bidderId = bidderId; }
+    public void setMaxAmount(Double maxAmount) { this.maxAmount = maxAmount; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,54 @@
+package com.kiit.campus_auction.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// Materialized "which auctions has this user bid on" row, one per (user, auction); maintained on every bid
+@Entity
+@Table(name = "user_auction_participation",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "auction_id"}))
+public class UserAuctionParticipation {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    
+    @Column(name = "auction_id", nullable = false)
+    private Long auctionId;
+    
+    @Column(name = "last_bid_id", nullable = false)
+    private Long lastBidId;
+    
+    @Column(name = "last_bid_amount", nullable = false)
+    private Double lastBidAmount;
+    
+    @Column(name = "last_bid_time", nullable = false)
+    private LocalDateTime lastBidTime;
+    
+    @Column(name = "bid_count", nullable = false)
+    private Long bidCount = 0L;
+    
+    // No-args constructor
+    public UserAuctionParticipation() {}
+    
+    // Getters
+    public Long getId() { return id; }
+    public Long getUserId() { return userId; }
+    public Long getAuctionId() { return auctionId; }
+    public Long getLastBidId() { return lastBidId; }
+    public Double getLastBidAmount() { return lastBidAmount; }
+    public LocalDateTime getLastBidTime() { return lastBidTime; }
+    public Long getBidCount() { return bidCount; }
+    
+    // Setters
+    public void setId(Long id) { this.id = id; }
+    public void setUserId(Long userId) { this.userId = userId; }
+    public void setAuctionId(Long auctionId) { this.auctionId = auctionId; }
+    public void setLastBidId(Long lastBidId) { this.lastBidId = lastBidId; }
+    public void setLastBidAmount(Double lastBidAmount) { this.lastBidAmount = lastBidAmount; }
+    public void setLastBidTime(LocalDateTime lastBidTime) { this.lastBidTime = lastBidTime; }
+    public void setBidCount(Long bidCount) { this.bidCount = bidCount; }
+}
@@ -1,35 +1,132 @@
 package com.kiit.campus_auction.repository;
 
+import com.kiit.campus_auction.dto.AuctionResponse;
+import com.kiit.campus_auction.dto.AuctionSummary;
+import com.kiit.campus_auction.dto.SellerAuctionSummary;
 import com.kiit.campus_auction.model.Auction;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface AuctionRepository extends JpaRepository<Auction, Long> {
+public interface AuctionRepository extends JpaRepository<Auction, Long>, AuctionRepositoryCustom {
+    
+    // Select list for AuctionResponse projections: the auction's own columns, no join to users
+    String AUCTION_RESPONSE = "new com.kiit.campus_auction.dto.AuctionResponse(" +
+        "a.id, a.title, a.description, a.category, a.condition, a.startingPrice, a.currentPrice, " +
+        "a.bidCount, a.winningBidId, a.winningBidderId, a.hostelPreference, a.status, a.sellerEmail, " +
+        "a.isQuickAuction, a.startTime, a.endTime, a.softCloseWindowSeconds, a.softCloseExtensionSeconds, " +
+        "a.createdAt, a.updatedAt)";
     
     // ✅ All use String, not enum
     List<Auction> findByStatus(String status);
     
     List<Auction> findByCategoryAndStatus(String category, String status);
     
-    List<Auction> findBySellerId(Long sellerId);
+    // On the seller_id column itself; the derived query joined users and filtered on users.id
+    @Query("SELECT a FROM Auction a WHERE a.seller.id = :sellerId")
+    List<Auction> findBySellerId(@Param("sellerId") Long sellerId);
     
     List<Auction> findBySellerEmail(String sellerEmail);
     
     List<Auction> findByCategory(String category);
     
-    @Query("SELECT a FROM Auction a WHERE " +
-           "LOWER(a.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-           "LOWER(a.description) LIKE LOWER(CONCAT('%', :keyword, '%'))")
-    List<Auction> searchAuctions(@Param("keyword") String keyword);
-    
     List<Auction> findByStatusAndEndTimeBefore(String status, LocalDateTime endTime);
     
+    // Seller dashboard in one round trip: bid count, top bid and its bidder come off the auction row
+    @Query("SELECT new com.kiit.campus_auction.dto.SellerAuctionSummary(" +
+           "a.id, a.title, a.description, a.category, a.condition, a.startingPrice, a.currentPrice, " +
+           "a.status, a.startTime, a.endTime, COALESCE(a.bidCount, 0), " +
+           "CASE WHEN a.winningBidId IS NULL THEN NULL ELSE a.currentPrice END, w.email) " +
+           "FROM Auction a LEFT JOIN User w ON w.id = a.winningBidderId " +
+           "WHERE a.seller.email = :email")
+    List<SellerAuctionSummary> findSellerSummaries(@Param("email") String email);
+    
+    // Category page: running auctions only, straight off idx_auctions_category_status
+    @Query("SELECT " + AUCTION_RESPONSE + " FROM Auction a " +
+           "WHERE a.category = :category AND a.status = 'ACTIVE' AND a.endTime > :now")
+    List<AuctionResponse> findActiveResponsesByCategory(@Param("category") String category,
+                                                        @Param("now") LocalDateTime now);
+    
+    @Query("SELECT " + AUCTION_RESPONSE + " FROM Auction a WHERE a.seller.id = :sellerId")
+    List<AuctionResponse> findResponsesBySellerId(@Param("sellerId") Long sellerId);
+    
+    // Whole-table listings, read a row at a time: consume inside a read-only transaction and close
+    // the stream. The fetch size makes PostgreSQL use a cursor instead of buffering the whole result.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT " + AUCTION_RESPONSE + " FROM Auction a ORDER BY a.id")
+    Stream<AuctionResponse> streamAllResponses();
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.kiit.campus_auction.dto.AuctionSummary(" +
+           "a.id, a.title, a.description, a.category, a.condition, a.startingPrice, a.currentPrice, " +
+           "a.status, a.startTime, a.endTime, a.sellerEmail, " +
+           "CASE WHEN a.endTime <= :now THEN true ELSE false END) " +
+           "FROM Auction a ORDER BY a.id")
+    Stream<AuctionSummary> streamSummaries(@Param("now") LocalDateTime now);
+    
     @Query("SELECT COUNT(a) FROM Auction a WHERE a.seller.id = :sellerId")
     Long countAuctionsBySeller(@Param("sellerId") Long sellerId);
+    
+    // Bid state after a run of journaled bids. The BidEngine already accepted them in order,
+    // so this only stores the outcome, but the database still checks that it moves forward:
+    // more bids than the row has and a price no lower. Returns 0 once the auction has been
+    // closed (a late write must not change its winner), or when the row is already past this
+    // state, e.g. written by another instance's engine; the caller tells the two apart.
+    @Modifying
+    @Query("UPDATE Auction a SET a.currentPrice = :amount, a.bidCount = :bidCount, " +
+           "a.winningBidId = :bidId, a.winningBidderId = :bidderId, a.endTime = :endTime, " +
+           "a.version = a.version + 1, a.updatedAt = :now WHERE a.id = :id AND a.status = 'ACTIVE' " +
+           "AND (a.bidCount IS NULL OR a.bidCount < :bidCount) " +
+           "AND (a.currentPrice IS NULL OR a.currentPrice <= :amount)")
+    int applyBidState(@Param("id") Long id, @Param("amount") Double amount, @Param("bidCount") long bidCount,
+                      @Param("bidId") Long bidId, @Param("bidderId") Long bidderId,
+                      @Param("endTime") LocalDateTime endTime, @Param("now") LocalDateTime now);
+    
+    @Query("SELECT a.status FROM Auction a WHERE a.id = :id")
+    Optional<String> findStatusById(@Param("id") Long id);
+    
+    // Rows created before the version column existed
+    @Modifying
+    @Query("UPDATE Auction a SET a.version = 0 WHERE a.version IS NULL")
+    int initializeVersions();
+    
+    // Auctions created before the bid counters existed
+    @Query("SELECT a.id FROM Auction a WHERE a.bidCount IS NULL")
+    List<Long> findIdsWithoutBidCounters();
+    
+    // Auctions whose bid count or winning bid disagrees with the bids table (ties go to the earliest bid)
+    @Query("SELECT a.id FROM Auction a WHERE COALESCE(a.bidCount, -1) <> " +
+           "(SELECT COUNT(b) FROM Bid b WHERE b.auction = a) " +
+           "OR COALESCE(a.winningBidId, -1) <> COALESCE(" +
+           "(SELECT MIN(w.id) FROM Bid w WHERE w.auction = a AND " +
+           " w.amount = (SELECT MAX(w2.amount) FROM Bid w2 WHERE w2.auction = a)), -1)")
+    List<Long> findIdsWithStaleBidCounters();
+    
+    // Recompute bid count and winning bid from the bids table
+    @Modifying
+    @Query("UPDATE Auction a SET " +
+           "a.bidCount = (SELECT COUNT(b) FROM Bid b WHERE b.auction = a), " +
+           "a.winningBidId = (SELECT MIN(w.id) FROM Bid w WHERE w.auction = a AND " +
+           " w.amount = (SELECT MAX(w2.amount) FROM Bid w2 WHERE w2.auction = a)) " +
+           "WHERE a.id IN :ids")
+    int recomputeBidCounters(@Param("ids") Collection<Long> ids);
+    
+    // Second step of the recompute: follow the winning bid to its bidder
+    @Modifying
+    @Query("UPDATE Auction a SET " +
+           "a.winningBidderId = (SELECT w.bidder.id FROM Bid w WHERE w.id = a.winningBidId) " +
+           "WHERE a.id IN :ids")
+    int recomputeWinningBidders(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,15 @@
+package com.kiit.campus_auction.repository;
+
+import com.kiit.campus_auction.dto.AuctionFilter;
+import com.kiit.campus_auction.dto.AuctionListItem;
+
+import java.util.List;
+
+public interface AuctionRepositoryCustom {
+    
+    // Keyset page ordered by sortField (endTime or currentPrice), then id.
+    // afterValue/afterId are the sort key of the last row already seen (null for the first page).
+    // Rows whose sortField is null are left out.
+    List<AuctionListItem> findPage(AuctionFilter filter, String sortField, boolean descending,
+                                   Object afterValue, Long afterId, int limit);
+}
@@ -0,0 +1,68 @@
+package com.kiit.campus_auction.repository;
+
+import com.kiit.campus_auction.dto.AuctionFilter;
+import com.kiit.campus_auction.dto.AuctionListItem;
+import com.kiit.campus_auction.model.Auction;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class AuctionRepositoryImpl implements AuctionRepositoryCustom {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public List<AuctionListItem> findPage(AuctionFilter filter, String sortField, boolean descending,
+                                          Object afterValue, Long afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<AuctionListItem> query = cb.createQuery(AuctionListItem.class);
+        Root<Auction> a = query.from(Auction.class);
+        
+        query.select(cb.construct(AuctionListItem.class,
+            a.get("id"), a.get("title"), a.get("description"), a.get("category"), a.get("condition"),
+            a.get("startingPrice"), a.get("currentPrice"), a.get("bidCount"), a.get("hostelPreference"), a.get("status"),
+            a.get("sellerEmail"), a.get("isQuickAuction"), a.get("startTime"), a.get("endTime")));
+        
+        List<Predicate> where = new ArrayList<>();
+        if (filter.status() != null) where.add(cb.equal(a.get("status"), filter.status()));
+        if (filter.category() != null) where.add(cb.equal(a.get("category"), filter.category()));
+        if (filter.hostelPreference() != null) where.add(cb.equal(a.get("hostelPreference"), filter.hostelPreference()));
+        if (filter.minPrice() != null) where.add(cb.ge(a.get("currentPrice"), filter.minPrice()));
+        if (filter.maxPrice() != null) where.add(cb.le(a.get("currentPrice"), filter.maxPrice()));
+        if (filter.endingBefore() != null) where.add(cb.lessThan(a.get("endTime"), filter.endingBefore()));
+        if (filter.endingAfter() != null) where.add(cb.greaterThan(a.get("endTime"), filter.endingAfter()));
+        
+        Path<Comparable> key = a.get(sortField);
+        Path<Long> id = a.get("id");
+        
+        // A null key has no place in the seek order (and no cursor value), so those rows are not listed
+        where.add(cb.isNotNull(key));
+        
+        // Seek past the last row of the previous page: (key, id) > (afterValue, afterId)
+        if (afterValue != null) {
+            Comparable value = (Comparable) afterValue;
+            Predicate beyond = descending ? cb.lessThan(key, value) : cb.greaterThan(key, value);
+            Predicate tie = cb.and(cb.equal(key, value),
+                descending ? cb.lessThan(id, afterId) : cb.greaterThan(id, afterId));
+            where.add(cb.or(beyond, tie));
+        }
+        
+        query.where(where.toArray(new Predicate[0]));
+        query.orderBy(descending
+            ? List.of(cb.desc(key), cb.desc(id))
+            : List.of(cb.asc(key), cb.asc(id)));
+        
+        return entityManager.createQuery(query)
+            .setMaxResults(limit)
+            .getResultList();
+    }
+}
@@ -1,6 +1,8 @@
 package com.kiit.campus_auction.repository;
 
+import com.kiit.campus_auction.dto.BidResponse;
 import com.kiit.campus_auction.model.Bid;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -10,16 +12,27 @@ import java.util.Optional;
 @Repository
 public interface BidRepository extends JpaRepository<Bid, Long> {
     
+    // BidResponse rows: bid columns, the bidder's email and name, and whether the auction row
+    // points at the bid (the is_winning column is legacy and never flipped; see Bid.getIsWinning)
+    String BID_RESPONSE_FROM = "SELECT new com.kiit.campus_auction.dto.BidResponse(" +
+        "b.id, a.id, b.amount, u.email, u.name, b.bidTime, " +
+        "CASE WHEN a.winningBidId = b.id THEN true ELSE false END) " +
+        "FROM Bid b JOIN b.bidder u JOIN b.auction a ";
+    
     // Find all bids for an auction
+    // (filters on the foreign key column; the derived query joined auctions and filtered on its id, which no index on bids can serve)
+    // (with the auction: getIsWinning() reads its winning bid id)
+    @EntityGraph("Bid.auction")
+    @Query("SELECT b FROM Bid b WHERE b.auction.id = ?1")
     List<Bid> findByAuctionId(Long auctionId);
     
-    // Find all bids by a user
+    // Find all bids by a user (bid history: with their auctions, in the same statement)
+    @EntityGraph("Bid.auction")
+    @Query("SELECT b FROM Bid b WHERE b.bidder.id = ?1")
     List<Bid> findByBidderId(Long bidderId);
     
-    // Find current winning bid for an auction
-    Optional<Bid> findByAuctionIdAndIsWinningTrue(Long auctionId);
-    
     // ✅ NEW: Find highest bid for an auction (by amount)
+    @EntityGraph("Bid.bidder")
     Optional<Bid> findFirstByAuctionIdOrderByAmountDesc(Long auctionId);
     
     // Find highest bid amount for an auction
@@ -27,8 +40,21 @@ public interface BidRepository extends JpaRepository<Bid, Long> {
     Double findMaxBidAmount(Long auctionId);
     
     // Count bids on an auction
+    @Query("SELECT COUNT(b) FROM Bid b WHERE b.auction.id = ?1")
     long countByAuctionId(Long auctionId);
     
-    // Get all bids ordered by amount (for leaderboard)
+    // Get all bids ordered by amount (for leaderboard; bidders come in the same statement)
+    @EntityGraph("Bid.bidder")
+    @Query("SELECT b FROM Bid b WHERE b.auction.id = ?1 ORDER BY b.amount DESC")
     List<Bid> findByAuctionIdOrderByAmountDesc(Long auctionId);
+    
+    // Leaderboard rows for the API, nothing else of either entity
+    @Query(BID_RESPONSE_FROM + "WHERE b.auction.id = ?1 ORDER BY b.amount DESC")
+    List<BidResponse> findResponsesByAuctionId(Long auctionId);
+    
+    @Query(BID_RESPONSE_FROM + "WHERE b.bidder.id = ?1")
+    List<BidResponse> findResponsesByBidderId(Long bidderId);
+    
+    @Query(BID_RESPONSE_FROM + "WHERE b.id = ?1")
+    Optional<BidResponse> findResponseById(Long id);
 }
@@ -0,0 +1,34 @@
+package com.kiit.campus_auction.repository;
+
+import com.kiit.campus_auction.model.ProxyBid;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ProxyBidRepository extends JpaRepository<ProxyBid, Long> {
+    
+    // In the order they were set, which breaks ties between equal maximums
+    List<ProxyBid> findByAuctionIdOrderByUpdatedAtAscIdAsc(Long auctionId);
+    
+    // Every maximum on a running auction, same order; for loading all books at startup
+    @Query("SELECT p FROM ProxyBid p WHERE p.auctionId IN " +
+           "(SELECT a.id FROM Auction a WHERE a.status = 'ACTIVE') ORDER BY p.updatedAt, p.id")
+    List<ProxyBid> findOnActiveAuctions();
+    
+    // Change an existing maximum; returns 0 if the bidder has none on this auction yet
+    @Modifying
+    @Query("UPDATE ProxyBid p SET p.maxAmount = :maxAmount, p.updatedAt = :now " +
+           "WHERE p.auctionId = :auctionId AND p.bidderId = :bidderId")
+    int updateMaxAmount(@Param("auctionId") Long auctionId, @Param("bidderId") Long bidderId,
+                        @Param("maxAmount") Double maxAmount, @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("DELETE FROM ProxyBid p WHERE p.auctionId = :auctionId AND p.bidderId = :bidderId")
+    int deleteByAuctionIdAndBidderId(@Param("auctionId") Long auctionId, @Param("bidderId") Long bidderId);
+}
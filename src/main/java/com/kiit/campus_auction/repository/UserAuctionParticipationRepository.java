@@ -0,0 +1,53 @@
+package com.kiit.campus_auction.repository;
+
+import com.kiit.campus_auction.dto.UserBidSummary;
+import com.kiit.campus_auction.dto.WonAuctionSummary;
+import com.kiit.campus_auction.model.UserAuctionParticipation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface UserAuctionParticipationRepository extends JpaRepository<UserAuctionParticipation, Long> {
+    
+    // Move the user's row forward to their latest of `bids` new bids; returns 0 if these are their first on the auction
+    @Modifying
+    @Query("UPDATE UserAuctionParticipation p SET p.lastBidId = :bidId, p.lastBidAmount = :amount, " +
+           "p.lastBidTime = :bidTime, p.bidCount = p.bidCount + :bids " +
+           "WHERE p.userId = :userId AND p.auctionId = :auctionId")
+    int recordBids(@Param("userId") Long userId, @Param("auctionId") Long auctionId, @Param("bidId") Long bidId,
+                   @Param("amount") Double amount, @Param("bidTime") LocalDateTime bidTime, @Param("bids") long bids);
+    
+    // My Bids: one row per auction the user has bid on, newest first
+    @Query("SELECT new com.kiit.campus_auction.dto.UserBidSummary(" +
+           "p.lastBidId, p.lastBidAmount, p.lastBidTime, p.bidCount, " +
+           "a.id, a.title, a.description, a.category, a.currentPrice, a.status, a.endTime, a.sellerEmail, " +
+           "COALESCE(a.bidCount, 0), a.winningBidId) " +
+           "FROM UserAuctionParticipation p JOIN Auction a ON a.id = p.auctionId " +
+           "WHERE p.userId = (SELECT u.id FROM User u WHERE u.email = :email) " +
+           "ORDER BY p.lastBidTime DESC")
+    List<UserBidSummary> findBidSummaries(@Param("email") String email);
+    
+    // Won auctions: ended, and the user's last bid is the auction's winning bid
+    @Query("SELECT new com.kiit.campus_auction.dto.WonAuctionSummary(" +
+           "a.id, a.title, a.description, a.category, a.condition, p.lastBidAmount, a.sellerEmail, COALESCE(s.name, 'Unknown'), " +
+           "a.endTime, COALESCE(a.bidCount, 0)) " +
+           "FROM UserAuctionParticipation p JOIN Auction a ON a.id = p.auctionId LEFT JOIN a.seller s " +
+           "WHERE p.userId = (SELECT u.id FROM User u WHERE u.email = :email) " +
+           "AND a.endTime < :now " +
+           "AND a.winningBidId = p.lastBidId " +
+           "ORDER BY a.endTime DESC")
+    List<WonAuctionSummary> findWonAuctions(@Param("email") String email, @Param("now") LocalDateTime now);
+    
+    // One-time backfill from the bids table (latest bid id = highest id per user and auction)
+    @Modifying
+    @Query("INSERT INTO UserAuctionParticipation (userId, auctionId, lastBidId, lastBidAmount, lastBidTime, bidCount) " +
+           "SELECT b.bidder.id, b.auction.id, MAX(b.id), MAX(b.amount), MAX(b.bidTime), COUNT(b) " +
+           "FROM Bid b GROUP BY b.bidder.id, b.auction.id")
+    int backfillFromBids();
+}
@@ -0,0 +1,303 @@
+package com.kiit.campus_auction.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kiit.campus_auction.dto.AuctionResponse;
+import com.kiit.campus_auction.model.Auction;
+import com.kiit.campus_auction.repository.AuctionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The active-auctions feed (/api/auctions/active), kept as one pre-serialized JSON array.
+ *
+ * Every active auction is held as its own serialized fragment. AuctionChangeEvents only
+ * mark auctions dirty; the next read re-serializes just those (bids are patched in from
+ * the event, anything else is reloaded), drops auctions past their end time, splices the
+ * fragments into a new body and bumps the version. A read with nothing dirty returns the
+ * current snapshot without touching the database.
+ *
+ * Versions start from the boot time in microseconds, so they keep increasing across
+ * restarts and an ETag from a previous run never matches by accident.
+ *
+ * Each rebuild also logs which auctions it touched, so a client holding version N can ask
+ * for just the auctions inserted, updated or removed since (/api/auctions/changes). The log
+ * keeps the last auction.feed.change-log-size versions; a client further behind than that,
+ * or holding a version from another run, gets the full snapshot instead.
+ */
+@Service
+public class ActiveAuctionFeed {
+
+    private static final Logger log = LoggerFactory.getLogger(ActiveAuctionFeed.class);
+
+    public record Snapshot(long version, byte[] body) {
+
+        public String etag() {
+            return "\"" + version + "\"";
+        }
+    }
+
+    // Body of /changes: a delta since the client's version, or the whole feed when full
+    public record Changes(long version, boolean full, byte[] body) {
+    }
+
+    // Auctions one rebuild touched, each mapped to whether it was in the feed before
+    private record Delta(long version, Map<Long, Boolean> touched) {
+    }
+
+    // What happened to one auction since the last rebuild; the latest BID event carries absolute values
+    private record Change(boolean reload, AuctionChangeEvent bid) {
+
+        Change merge(Change later) {
+            return new Change(reload || later.reload, later.bid != null ? later.bid : bid);
+        }
+    }
+
+    @Autowired
+    private AuctionRepository auctionRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${auction.feed.change-log-size:1000}")
+    private int changeLogSize;
+
+    private final Map<Long, Change> changes = new ConcurrentHashMap<>();
+
+    // Not synchronized: a rebuild queries the database, and a virtual thread blocked inside a
+    // monitor pins its carrier thread for the whole query
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Guarded by lock; ordered by id so the body is stable between rebuilds
+    private final TreeMap<Long, Auction> auctions = new TreeMap<>();
+    private final Map<Long, byte[]> fragments = new HashMap<>();
+
+    // Guarded by lock; deltas are complete for any client version from logFloor on
+    private final ArrayDeque<Delta> changeLog = new ArrayDeque<>();
+    private Map<Long, Boolean> touched = new HashMap<>();
+    private long logFloor;
+
+    private volatile Snapshot snapshot;
+
+    // Earliest end time in the snapshot; once it passes the snapshot is rebuilt without that auction
+    private volatile LocalDateTime nextEnd;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        log.info("Active auction feed ready: version {}", current().version());
+    }
+
+    public Snapshot current() {
+        Snapshot current = snapshot;
+        LocalDateTime end = nextEnd;
+        if (current != null && changes.isEmpty() && (end == null || end.isAfter(LocalDateTime.now()))) {
+            return current;
+        }
+
+        lock.lock();
+        try {
+            return rebuild();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Changes changesSince(Long since) {
+        Snapshot current = current();
+        if (since != null && since == current.version()) {
+            return new Changes(since, false, delta(since, List.of(), List.of(), List.of()));
+        }
+
+        lock.lock();
+        try {
+            current = snapshot;
+            if (since == null || since < logFloor || since > current.version()) {
+                return new Changes(current.version(), true, full(current));
+            }
+
+            // The first time an auction shows up after the client's version says whether it had it
+            Map<Long, Boolean> hadIt = new HashMap<>();
+            for (Delta delta : changeLog) {
+                if (delta.version() > since) {
+                    delta.touched().forEach(hadIt::putIfAbsent);
+                }
+            }
+
+            List<byte[]> inserted = new ArrayList<>();
+            List<byte[]> updated = new ArrayList<>();
+            List<Long> removed = new ArrayList<>();
+            new TreeMap<>(hadIt).forEach((id, had) -> {
+                byte[] fragment = fragments.get(id);
+                if (fragment != null) {
+                    (had ? updated : inserted).add(fragment);
+                } else if (had) {
+                    removed.add(id);
+                }
+            });
+            return new Changes(current.version(), false, delta(current.version(), inserted, updated, removed));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Fires after commit (or immediately when published outside a transaction)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuctionChange(AuctionChangeEvent event) {
+        Change change = event.getType() == AuctionChangeEvent.Type.BID
+            ? new Change(false, event)
+            : new Change(true, null);
+        changes.merge(event.getAuctionId(), change, Change::merge);
+    }
+
+    private Snapshot rebuild() {
+        if (snapshot == null) {
+            changes.clear();
+            auctionRepository.findByStatus("ACTIVE").forEach(this::put);
+        } else {
+            applyChanges();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ended = new ArrayList<>();
+        LocalDateTime earliest = null;
+        for (Auction auction : auctions.values()) {
+            LocalDateTime endTime = auction.getEndTime();
+            if (endTime == null || !endTime.isAfter(now)) {
+                ended.add(auction.getId()); // AuctionExpiryScheduler closes it within a tick
+            } else if (earliest == null || endTime.isBefore(earliest)) {
+                earliest = endTime;
+            }
+        }
+        ended.forEach(this::remove);
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.write('[');
+        boolean first = true;
+        for (Long id : auctions.keySet()) {
+            if (!first) {
+                body.write(',');
+            }
+            body.writeBytes(fragments.get(id));
+            first = false;
+        }
+        body.write(']');
+
+        long version = snapshot == null ? System.currentTimeMillis() * 1000 : snapshot.version() + 1;
+        if (snapshot == null) {
+            logFloor = version;
+        } else if (!touched.isEmpty()) {
+            changeLog.addLast(new Delta(version, touched));
+            while (changeLog.size() > changeLogSize) {
+                logFloor = changeLog.removeFirst().version();
+            }
+        }
+        touched = new HashMap<>();
+        nextEnd = earliest;
+        snapshot = new Snapshot(version, body.toByteArray());
+        return snapshot;
+    }
+
+    private void applyChanges() {
+        Map<Long, Change> drained = new HashMap<>();
+        for (Long id : new ArrayList<>(changes.keySet())) {
+            Change change = changes.remove(id);
+            if (change != null) {
+                drained.put(id, change);
+            }
+        }
+
+        List<Long> reload = drained.entrySet().stream()
+            .filter(entry -> entry.getValue().reload())
+            .map(Map.Entry::getKey)
+            .toList();
+        Map<Long, Auction> loaded = new HashMap<>();
+        if (!reload.isEmpty()) {
+            auctionRepository.findAllById(reload).forEach(auction -> loaded.put(auction.getId(), auction));
+        }
+
+        drained.forEach((id, change) -> {
+            Auction auction = change.reload() ? loaded.get(id) : auctions.get(id);
+            if (auction == null || !"ACTIVE".equals(auction.getStatus())) {
+                remove(id);
+                return;
+            }
+
+            // The bid may be acknowledged but not yet written, so the event wins over the row
+            AuctionChangeEvent bid = change.bid();
+            if (bid != null) {
+                auction.setCurrentPrice(bid.getCurrentPrice());
+                auction.setBidCount(bid.getBidCount());
+                auction.setEndTime(bid.getEndTime());
+                auction.setWinningBidId(bid.getBidId());
+                auction.setWinningBidderId(bid.getBidderId());
+            }
+            put(auction);
+        });
+    }
+
+    private byte[] full(Snapshot current) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.writeBytes(("{\"version\":" + current.version() + ",\"full\":true,\"auctions\":").getBytes(StandardCharsets.UTF_8));
+        body.writeBytes(current.body());
+        body.write('}');
+        return body.toByteArray();
+    }
+
+    private byte[] delta(long version, List<byte[]> inserted, List<byte[]> updated, List<Long> removed) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.writeBytes(("{\"version\":" + version + ",\"full\":false,\"inserted\":").getBytes(StandardCharsets.UTF_8));
+        writeArray(body, inserted);
+        body.writeBytes(",\"updated\":".getBytes(StandardCharsets.UTF_8));
+        writeArray(body, updated);
+        StringJoiner ids = new StringJoiner(",", ",\"removed\":[", "]}");
+        removed.forEach(id -> ids.add(id.toString()));
+        body.writeBytes(ids.toString().getBytes(StandardCharsets.UTF_8));
+        return body.toByteArray();
+    }
+
+    private static void writeArray(ByteArrayOutputStream body, List<byte[]> fragments) {
+        body.write('[');
+        for (int i = 0; i < fragments.size(); i++) {
+            if (i > 0) {
+                body.write(',');
+            }
+            body.writeBytes(fragments.get(i));
+        }
+        body.write(']');
+    }
+
+    private void put(Auction auction) {
+        try {
+            touched.putIfAbsent(auction.getId(), auctions.containsKey(auction.getId()));
+            fragments.put(auction.getId(), objectMapper.writeValueAsBytes(AuctionResponse.from(auction)));
+            auctions.put(auction.getId(), auction);
+        } catch (JsonProcessingException e) {
+            log.error("Could not serialize auction {} for the feed", auction.getId(), e);
+        }
+    }
+
+    private void remove(Long id) {
+        touched.putIfAbsent(id, auctions.containsKey(id));
+        auctions.remove(id);
+        fragments.remove(id);
+    }
+}
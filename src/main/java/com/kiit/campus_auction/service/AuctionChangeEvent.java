@@ -0,0 +1,96 @@
+package com.kiit.campus_auction.service;
+
+import com.kiit.campus_auction.model.Auction;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Published whenever an auction changes (new bid, status change, create, delete).
+ * Only the fields that are known at the publishing site are set; the rest stay null.
+ */
+public class AuctionChangeEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        BID,
+        STATUS,
+        DELETED
+    }
+
+    private final Type type;
+    private final Long auctionId;
+    private final Double currentPrice;
+    private final Long bidCount;
+    private final String status;
+    private final LocalDateTime endTime;
+
+    // Set on BID events only; not part of the public delta
+    private final Long bidId;
+    private final Long bidderId;
+    private final Long previousBidderId;
+
+    public AuctionChangeEvent(Type type, Long auctionId, Double currentPrice, Long bidCount,
+                              String status, LocalDateTime endTime) {
+        this(type, auctionId, currentPrice, bidCount, status, endTime, null, null, null);
+    }
+
+    private AuctionChangeEvent(Type type, Long auctionId, Double currentPrice, Long bidCount,
+                               String status, LocalDateTime endTime, Long bidId, Long bidderId, Long previousBidderId) {
+        this.type = type;
+        this.auctionId = auctionId;
+        this.currentPrice = currentPrice;
+        this.bidCount = bidCount;
+        this.status = status;
+        this.endTime = endTime;
+        this.bidId = bidId;
+        this.bidderId = bidderId;
+        this.previousBidderId = previousBidderId;
+    }
+
+    public static AuctionChangeEvent bid(Long auctionId, Double amount, long bidCount, LocalDateTime endTime,
+                                         Long bidId, Long bidderId, Long previousBidderId) {
+        return new AuctionChangeEvent(Type.BID, auctionId, amount, bidCount, "ACTIVE", endTime,
+            bidId, bidderId, previousBidderId);
+    }
+
+    public static AuctionChangeEvent of(Type type, Auction auction) {
+        return new AuctionChangeEvent(type, auction.getId(), auction.getCurrentPrice(), null,
+            auction.getStatus(), auction.getEndTime());
+    }
+
+    public static AuctionChangeEvent deleted(Long auctionId) {
+        return new AuctionChangeEvent(Type.DELETED, auctionId, null, null, null, null);
+    }
+
+    // Compact delta sent to live subscribers; null fields are left out
+    public Map<String, Object> toDelta() {
+        Map<String, Object> delta = new LinkedHashMap<>();
+        delta.put("id", auctionId);
+        if (currentPrice != null) delta.put("currentPrice", currentPrice);
+        if (bidCount != null) delta.put("bidCount", bidCount);
+        if (status != null) delta.put("status", status);
+        if (endTime != null) delta.put("endTime", endTime);
+        return delta;
+    }
+
+    public Type getType() { return type; }
+    public Long getAuctionId() { return auctionId; }
+    public Double getCurrentPrice() { return currentPrice; }
+    public Long getBidCount() { return bidCount; }
+    public String getStatus() { return status; }
+    public LocalDateTime getEndTime() { return endTime; }
+    public Long getBidId() { return bidId; }
+    public Long getBidderId() { return bidderId; }
+    public Long getPreviousBidderId() { return previousBidderId; }
+
+    @Override
+    public String toString() {
+        return "AuctionChangeEvent{" +
+                "type=" + type +
+                ", auctionId=" + auctionId +
+                '}';
+    }
+}
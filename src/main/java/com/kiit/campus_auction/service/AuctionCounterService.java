@@ -0,0 +1,80 @@
+package com.kiit.campus_auction.service;
+
+import com.kiit.campus_auction.config.CacheConfig;
+import com.kiit.campus_auction.repository.AuctionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Keeps Auction.bidCount / winningBidId / winningBidderId honest against the bids table.
+ *
+ * BidService maintains the counters on every bid; this is the backfill for rows that
+ * predate them and a nightly check that repairs any drift.
+ */
+@Service
+@Transactional
+public class AuctionCounterService {
+
+    private static final Logger log = LoggerFactory.getLogger(AuctionCounterService.class);
+    
+    @Autowired
+    private AuctionRepository auctionRepository;
+    
+    @Autowired
+    private BidEngine bidEngine;
+    
+    @Autowired
+    private CacheManager cacheManager;
+    
+    // One-time backfill of auctions that have no counters (or no version) yet
+    public int backfill() {
+        int versioned = auctionRepository.initializeVersions();
+        if (versioned > 0) {
+            log.info("Initialized version on {} auctions", versioned);
+        }
+        
+        List<Long> ids = auctionRepository.findIdsWithoutBidCounters();
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        
+        log.info("Backfilling bid counters for {} auctions", ids.size());
+        recompute(ids);
+        log.info("Bid counters backfilled");
+        return ids.size();
+    }
+    
+    // Compare every auction with the bids table; returns the ids that were wrong (and are now repaired)
+    public List<Long> verify() {
+        List<Long> stale = auctionRepository.findIdsWithStaleBidCounters();
+        if (stale.isEmpty()) {
+            log.info("Bid counters consistent with bids table");
+            return stale;
+        }
+        
+        log.warn("Bid counters out of sync for auctions {}, repairing", stale);
+        recompute(stale);
+        return stale;
+    }
+    
+    @Scheduled(cron = "${auction.counters.verify-cron:0 30 3 * * *}")
+    public void scheduledVerify() {
+        verify();
+    }
+    
+    private void recompute(List<Long> ids) {
+        auctionRepository.recomputeBidCounters(ids);
+        auctionRepository.recomputeWinningBidders(ids);
+        
+        // Cached books and auctions were built from the old values
+        ids.forEach(bidEngine::evict);
+        ids.forEach(cacheManager.getCache(CacheConfig.AUCTIONS)::evict);
+    }
+}
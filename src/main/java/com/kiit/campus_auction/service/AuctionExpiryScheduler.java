@@ -0,0 +1,151 @@
+package com.kiit.campus_auction.service;
+
+import com.kiit.campus_auction.model.Auction;
+import com.kiit.campus_auction.repository.AuctionRepository;
+import com.kiit.campus_auction.util.TimingWheel;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Closes auctions at their end time.
+ *
+ * Every ACTIVE auction's end time sits in a hierarchical timing wheel that ticks once
+ * per second, so an auction is closed within about a tick of ending. The wheel is
+ * rebuilt from the database on startup and kept current from AuctionChangeEvents
+ * (creation, cancellation, deletion, end-time changes). All wheel access happens on
+ * the single "auction-expiry" thread.
+ *
+ * Metrics: auction.active is the number of ACTIVE auctions waiting to close (as of the
+ * last tick); AuctionService times how long after its end time each one was closed
+ * (auction.close.lag, latest in auction.expiry.lag).
+ */
+@Service
+public class AuctionExpiryScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(AuctionExpiryScheduler.class);
+
+    // 64 slots x 4 levels of 1 s ticks covers ~194 days before the overflow list
+    private static final int SLOTS_PER_LEVEL = 64;
+    private static final int LEVELS = 4;
+
+    @Autowired
+    private AuctionRepository auctionRepository;
+
+    @Autowired
+    private AuctionService auctionService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${auction.expiry.tick-ms:1000}")
+    private long tickMs;
+
+    // Auctions closed per transaction
+    @Value("${auction.expiry.batch-size:100}")
+    private int batchSize;
+
+    private TimingWheel wheel;
+    private ScheduledExecutorService ticker;
+
+    // Wheel size, published by the ticker thread; the wheel itself is not thread-safe
+    private final AtomicInteger scheduled = new AtomicInteger();
+
+    @PostConstruct
+    void start() {
+        Gauge.builder("auction.active", scheduled, AtomicInteger::get).register(meterRegistry);
+
+        wheel = new TimingWheel(tickMs, SLOTS_PER_LEVEL, LEVELS, System.currentTimeMillis());
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "auction-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        ticker.shutdownNow();
+    }
+
+    // Re-hydrate the pending set; auctions that ended while we were down close on the first tick
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        List<Auction> active = auctionRepository.findByStatus("ACTIVE");
+        ticker.execute(() -> {
+            active.stream()
+                .filter(auction -> auction.getEndTime() != null)
+                .forEach(auction -> wheel.schedule(auction.getId(), toMillis(auction.getEndTime())));
+            scheduled.set(wheel.size());
+            log.info("Expiry wheel loaded with {} active auctions", active.size());
+        });
+
+        // Tick on wall-clock boundaries so a close lands at most one tick after the end time
+        long initialDelay = tickMs - Math.floorMod(System.currentTimeMillis(), tickMs);
+        ticker.scheduleAtFixedRate(this::tick, initialDelay, tickMs, TimeUnit.MILLISECONDS);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuctionChange(AuctionChangeEvent event) {
+        Long auctionId = event.getAuctionId();
+        String status = event.getStatus();
+        LocalDateTime endTime = event.getEndTime();
+
+        if (event.getType() == AuctionChangeEvent.Type.DELETED || (status != null && !"ACTIVE".equals(status))) {
+            ticker.execute(() -> wheel.cancel(auctionId));
+        } else if (endTime != null) {
+            long deadline = toMillis(endTime);
+            ticker.execute(() -> wheel.schedule(auctionId, deadline));
+        }
+    }
+
+    private void tick() {
+        try {
+            List<Long> due = wheel.advance(System.currentTimeMillis());
+            for (int from = 0; from < due.size(); from += batchSize) {
+                close(due.subList(from, Math.min(from + batchSize, due.size())));
+            }
+            scheduled.set(wheel.size());
+        } catch (Exception e) {
+            // Never let one bad tick stop the ticker
+            log.error("Expiry tick failed", e);
+        }
+    }
+
+    private void close(List<Long> batch) {
+        try {
+            List<Auction> stillRunning = auctionService.closeDueAuctions(batch);
+            stillRunning.forEach(auction -> wheel.schedule(auction.getId(), toMillis(auction.getEndTime())));
+
+            int closed = batch.size() - stillRunning.size();
+            if (closed > 0) {
+                log.info("Closed {} expired auctions", closed);
+            }
+        } catch (Exception e) {
+            log.error("Closing auctions {} failed, retrying next tick", batch, e);
+            long retryAt = System.currentTimeMillis();
+            batch.forEach(id -> wheel.schedule(id, retryAt));
+        }
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
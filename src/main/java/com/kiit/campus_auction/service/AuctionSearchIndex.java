@@ -0,0 +1,269 @@
+package com.kiit.campus_auction.service;
+
+import com.kiit.campus_auction.model.Auction;
+import com.kiit.campus_auction.repository.AuctionRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.FuzzyQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Embedded Lucene index over title, description and category of ACTIVE auctions.
+ *
+ * Kept up to date from AuctionChangeEvents on a background thread; auctions that
+ * end, get cancelled or deleted are removed. Search is ranked (title > category >
+ * description, exact > prefix > fuzzy) and filters out expired auctions by endTime,
+ * so it never touches the auctions table. Updates land asynchronously, so callers
+ * check the status of the rows they load for the returned ids.
+ *
+ * Bids only change the price, which is not indexed, except when soft close moves the
+ * end time: then the document is rewritten with the end time from the event, since
+ * the bid may not have reached the auctions table yet.
+ */
+@Service
+public class AuctionSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(AuctionSearchIndex.class);
+
+    private static final Map<String, Float> FIELD_BOOSTS = Map.of(
+        "title", 3.0f,
+        "category", 2.0f,
+        "description", 1.0f
+    );
+
+    @Autowired
+    private AuctionRepository auctionRepository;
+
+    // Directory on disk, or "memory" for a throwaway in-memory index
+    @Value("${auction.search.index-dir:data/search-index}")
+    private String indexDir;
+
+    private final Analyzer analyzer = new StandardAnalyzer();
+
+    private Directory directory;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+
+    // End time each auction was last indexed with (written on the indexer thread)
+    private final Map<Long, LocalDateTime> indexedEndTimes = new ConcurrentHashMap<>();
+
+    private final ExecutorService indexer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "search-indexer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PostConstruct
+    void open() throws IOException {
+        directory = "memory".equals(indexDir) ? new ByteBuffersDirectory() : FSDirectory.open(Paths.get(indexDir));
+        writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+            .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        searcherManager = new SearcherManager(writer, null);
+    }
+
+    @PreDestroy
+    void close() throws IOException, InterruptedException {
+        indexer.shutdown();
+        indexer.awaitTermination(5, TimeUnit.SECONDS);
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    // Changes made while the app was down never reached the index on disk, so every
+    // start rebuilds it from the database rather than trusting what is there
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        indexer.execute(this::rebuild);
+    }
+
+    public void rebuild() {
+        try {
+            writer.deleteAll();
+            indexedEndTimes.clear();
+            List<Auction> active = auctionRepository.findByStatus("ACTIVE");
+            for (Auction auction : active) {
+                index(auction, auction.getEndTime());
+            }
+            commit();
+            log.info("Search index built with {} active auctions", active.size());
+        } catch (IOException e) {
+            log.error("Search index rebuild failed", e);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuctionChange(AuctionChangeEvent event) {
+        Long auctionId = event.getAuctionId();
+        boolean bid = event.getType() == AuctionChangeEvent.Type.BID;
+        if (bid && (event.getEndTime() == null || event.getEndTime().equals(indexedEndTimes.get(auctionId)))) {
+            return; // Price only, nothing searchable
+        }
+
+        indexer.execute(() -> {
+            try {
+                Auction auction = event.getType() == AuctionChangeEvent.Type.DELETED
+                    ? null : auctionRepository.findById(auctionId).orElse(null);
+
+                if (auction != null && "ACTIVE".equals(auction.getStatus())) {
+                    index(auction, bid ? event.getEndTime() : auction.getEndTime());
+                } else {
+                    writer.deleteDocuments(new Term("id", auctionId.toString()));
+                    indexedEndTimes.remove(auctionId);
+                }
+                commit();
+            } catch (IOException e) {
+                log.error("Search index update failed for auction {}", auctionId, e);
+            }
+        });
+    }
+
+    // Ranked ids of ACTIVE, not yet expired auctions matching every word of the keyword
+    public List<Long> search(String keyword, int limit) {
+        List<String> terms = analyze(keyword);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        for (String term : terms) {
+            query.add(termQuery(term), BooleanClause.Occur.MUST);
+        }
+        query.add(new TermQuery(new Term("status", "ACTIVE")), BooleanClause.Occur.FILTER);
+        query.add(LongPoint.newRangeQuery("endTime", toMillis(LocalDateTime.now()) + 1, Long.MAX_VALUE),
+            BooleanClause.Occur.FILTER);
+
+        try {
+            searcherManager.maybeRefresh();
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                List<Long> ids = new ArrayList<>();
+                for (ScoreDoc hit : searcher.search(query.build(), limit).scoreDocs) {
+                    ids.add(searcher.storedFields().document(hit.doc).getField("auctionId").numericValue().longValue());
+                }
+                return ids;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Exact, prefix and (for longer words) typo-tolerant match of one word in any field
+    private Query termQuery(String term) {
+        BooleanQuery.Builder anyField = new BooleanQuery.Builder();
+        int maxEdits = term.length() >= 8 ? 2 : term.length() >= 4 ? 1 : 0;
+
+        FIELD_BOOSTS.forEach((field, boost) -> {
+            Term t = new Term(field, term);
+            anyField.add(new BoostQuery(new TermQuery(t), boost * 3), BooleanClause.Occur.SHOULD);
+            anyField.add(new BoostQuery(new PrefixQuery(t), boost * 2), BooleanClause.Occur.SHOULD);
+            if (maxEdits > 0) {
+                anyField.add(new BoostQuery(new FuzzyQuery(t, maxEdits, 1), boost), BooleanClause.Occur.SHOULD);
+            }
+        });
+
+        return anyField.build();
+    }
+
+    private void index(Auction auction, LocalDateTime endTime) throws IOException {
+        writer.updateDocument(new Term("id", auction.getId().toString()), toDocument(auction, endTime));
+        if (endTime != null) {
+            indexedEndTimes.put(auction.getId(), endTime);
+        } else {
+            indexedEndTimes.remove(auction.getId());
+        }
+    }
+
+    private Document toDocument(Auction auction, LocalDateTime endTime) {
+        Document doc = new Document();
+        doc.add(new StringField("id", auction.getId().toString(), Field.Store.NO));
+        doc.add(new StoredField("auctionId", auction.getId()));
+        doc.add(new TextField("title", nullToEmpty(auction.getTitle()), Field.Store.NO));
+        doc.add(new TextField("description", nullToEmpty(auction.getDescription()), Field.Store.NO));
+        doc.add(new TextField("category", nullToEmpty(auction.getCategory()), Field.Store.NO));
+        doc.add(new StringField("status", auction.getStatus(), Field.Store.NO));
+        if (endTime != null) {
+            doc.add(new LongPoint("endTime", toMillis(endTime)));
+        }
+        return doc;
+    }
+
+    private List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+
+        try (TokenStream stream = analyzer.tokenStream("title", text)) {
+            CharTermAttribute attribute = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                terms.add(attribute.toString());
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return terms;
+    }
+
+    private void commit() throws IOException {
+        writer.commit();
+        searcherManager.maybeRefresh();
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+}
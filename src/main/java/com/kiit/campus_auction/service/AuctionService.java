@@ -1,21 +1,54 @@
 package com.kiit.campus_auction.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kiit.campus_auction.config.CacheConfig;
+import com.kiit.campus_auction.config.ReadYourWrites;
+import com.kiit.campus_auction.dto.AuctionFilter;
+import com.kiit.campus_auction.dto.AuctionListItem;
+import com.kiit.campus_auction.dto.AuctionPage;
+import com.kiit.campus_auction.dto.AuctionResponse;
+import com.kiit.campus_auction.dto.AuctionSummary;
+import com.kiit.campus_auction.dto.SellerAuctionSummary;
 import com.kiit.campus_auction.model.Auction;
-import com.kiit.campus_auction.model.Bid;
 import com.kiit.campus_auction.repository.AuctionRepository;
 import com.kiit.campus_auction.repository.BidRepository;
+import com.kiit.campus_auction.util.JsonArrayWriter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
 public class AuctionService {
     
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+    
     @Autowired
     private AuctionRepository auctionRepository;
     
@@ -25,6 +58,42 @@ public class AuctionService {
     @Autowired
     private UserService userService;
     
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private AuctionSearchIndex auctionSearchIndex;
+    
+    @Autowired
+    private BidEngine bidEngine;
+    
+    @Autowired
+    private BidJournal bidJournal;
+    
+    @Autowired
+    private CacheManager cacheManager;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private ReadYourWrites readYourWrites;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    // How long after its end time each auction was closed, and the latest one (seconds)
+    private Timer closeLag;
+    private final AtomicLong lastCloseLagMs = new AtomicLong();
+    
+    @PostConstruct
+    void registerMetrics() {
+        closeLag = meterRegistry.timer("auction.close.lag");
+        Gauge.builder("auction.expiry.lag", lastCloseLagMs, lag -> lag.get() / 1000.0)
+            .baseUnit("seconds")
+            .register(meterRegistry);
+    }
+    
     // Create new auction
     public Auction createAuction(Auction auction) {
         if (auction.getStartingPrice() <= 0) {
@@ -36,6 +105,8 @@ public class AuctionService {
         }
         
         Auction saved = auctionRepository.save(auction);
+        eventPublisher.publishEvent(AuctionChangeEvent.of(AuctionChangeEvent.Type.CREATED, saved));
+        readYourWrites.recordWrite(auction.getSeller().getId(), auction.getSellerEmail());
         
         if (userService != null) {
             userService.incrementAuctionCount(auction.getSeller().getId());
@@ -44,11 +115,18 @@ public class AuctionService {
         return saved;
     }
     
-    // Get auction by ID
+    // Get auction by ID (cached; read-only callers only, writes go through the repository)
+    @Cacheable(cacheNames = CacheConfig.AUCTIONS, unless = "#result == null")
     public Optional<Auction> getAuctionById(Long id) {
         return auctionRepository.findById(id);
     }
     
+    // Drop the cached copy once a change to the auction is committed
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuctionChange(AuctionChangeEvent event) {
+        cacheManager.getCache(CacheConfig.AUCTIONS).evict(event.getAuctionId());
+    }
+    
     // ✅ Changed from enum to String
     public List<Auction> getActiveAuctions() {
         return auctionRepository.findByStatus("ACTIVE");
@@ -64,9 +142,36 @@ public class AuctionService {
         return auctionRepository.findBySellerId(sellerId);
     }
     
-    // Search auctions by keyword
-    public List<Auction> searchAuctions(String keyword) {
-        return auctionRepository.searchAuctions(keyword);
+    // Category page and seller dashboards: read-only, so they can be served by the read replica
+    @Transactional(readOnly = true)
+    public List<AuctionResponse> getActiveAuctionsInCategory(String category, LocalDateTime now) {
+        return auctionRepository.findActiveResponsesByCategory(category, now);
+    }
+    
+    @Transactional(readOnly = true)
+    public List<AuctionResponse> getSellerAuctions(Long sellerId) {
+        return auctionRepository.findResponsesBySellerId(sellerId);
+    }
+    
+    @Transactional(readOnly = true)
+    public List<SellerAuctionSummary> getSellerSummaries(String email) {
+        return auctionRepository.findSellerSummaries(email);
+    }
+    
+    // Search ACTIVE, non-expired auctions by keyword, best match first
+    @Transactional(readOnly = true)
+    public List<Auction> searchAuctions(String keyword, int limit) {
+        List<Long> ids = auctionSearchIndex.search(keyword, limit);
+        
+        Map<Long, Auction> byId = new HashMap<>();
+        auctionRepository.findAllById(ids).forEach(auction -> byId.put(auction.getId(), auction));
+        
+        // The index can lag a close or cancel by a moment; the row is the truth
+        return ids.stream()
+            .map(byId::get)
+            .filter(Objects::nonNull)
+            .filter(auction -> "ACTIVE".equals(auction.getStatus()))
+            .collect(Collectors.toList());
     }
     
     // Get all auctions
@@ -74,8 +179,81 @@ public class AuctionService {
         return auctionRepository.findAll();
     }
     
+    // Every auction as a JSON array, written as rows come off the cursor (the transaction keeps it open)
+    @Transactional(readOnly = true)
+    public void writeAllAuctions(OutputStream out) throws IOException {
+        try (Stream<AuctionResponse> rows = auctionRepository.streamAllResponses()) {
+            JsonArrayWriter.write(objectMapper, rows, out);
+        }
+    }
+    
+    // Same, as summary rows flagged with whether they had ended by now
+    @Transactional(readOnly = true)
+    public void writeAuctionSummaries(LocalDateTime now, OutputStream out) throws IOException {
+        try (Stream<AuctionSummary> rows = auctionRepository.streamSummaries(now)) {
+            JsonArrayWriter.write(objectMapper, rows, out);
+        }
+    }
+    
+    // Keyset-paginated listing; cursor is the opaque nextCursor of the previous page
+    @Transactional(readOnly = true)
+    public AuctionPage listAuctions(AuctionFilter filter, String sort, String direction, String cursor, Integer size) {
+        String sortField = "currentPrice".equals(sort) ? "currentPrice" : "endTime";
+        boolean descending = "desc".equalsIgnoreCase(direction);
+        int limit = size == null || size <= 0 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+        
+        Object afterValue = null;
+        Long afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            Cursor after = decodeCursor(cursor, sortField, descending);
+            afterValue = after.value();
+            afterId = after.id();
+        }
+        
+        // One extra row tells us whether there is a next page
+        List<AuctionListItem> rows = auctionRepository.findPage(filter, sortField, descending, afterValue, afterId, limit + 1);
+        boolean hasMore = rows.size() > limit;
+        List<AuctionListItem> items = hasMore ? rows.subList(0, limit) : rows;
+        
+        String nextCursor = null;
+        if (hasMore) {
+            AuctionListItem last = items.get(items.size() - 1);
+            Object lastValue = "endTime".equals(sortField) ? last.endTime() : last.currentPrice();
+            nextCursor = encodeCursor(sortField, descending, lastValue, last.id());
+        }
+        
+        return new AuctionPage(List.copyOf(items), nextCursor, hasMore);
+    }
+    
+    private static String encodeCursor(String sortField, boolean descending, Object value, Long id) {
+        String raw = sortField + "|" + (descending ? "desc" : "asc") + "|" + value + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    // Sort key of the last row of the previous page
+    private record Cursor(Object value, Long id) {}
+    
+    // Any cursor that doesn't parse is the caller's mistake (400), never a 500
+    private static Cursor decodeCursor(String cursor, String sortField, boolean descending) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 4 || !parts[0].equals(sortField) || !parts[1].equals(descending ? "desc" : "asc")) {
+                throw new IllegalArgumentException("Cursor does not match the requested sort");
+            }
+            Object value = "endTime".equals(sortField) ? LocalDateTime.parse(parts[2]) : Double.valueOf(parts[2]);
+            return new Cursor(value, Long.valueOf(parts[3]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + e.getMessage());
+        }
+    }
+    
     // Cancel auction
     public Auction cancelAuction(Long auctionId, Long sellerId) {
+        // No bid may be acknowledged on it from here on; those already accepted reach the row first
+        bidEngine.stopBidding(List.of(auctionId));
+        bidJournal.awaitFlushed(auctionId);
+        
         Auction auction = auctionRepository.findById(auctionId)
             .orElseThrow(() -> new IllegalArgumentException("Auction not found"));
         
@@ -89,28 +267,75 @@ public class AuctionService {
         
         auction.setStatus("CANCELLED");
         
-        return auctionRepository.save(auction);
+        Auction saved = auctionRepository.save(auction);
+        eventPublisher.publishEvent(AuctionChangeEvent.of(AuctionChangeEvent.Type.STATUS, saved));
+        
+        return saved;
+    }
+    
+    // Set the status by hand (admin: ending early, marking as sold, ...). Stops bidding and waits
+    // for accepted bids first, like cancelAuction, so the row it saves has every acknowledged bid
+    public Auction updateStatus(Long auctionId, String status) {
+        bidEngine.stopBidding(List.of(auctionId));
+        bidJournal.awaitFlushed(auctionId);
+        
+        Auction auction = auctionRepository.findById(auctionId)
+            .orElseThrow(() -> new IllegalArgumentException("Auction not found"));
+        
+        auction.setStatus(status);
+        
+        Auction saved = auctionRepository.save(auction);
+        eventPublisher.publishEvent(AuctionChangeEvent.of(AuctionChangeEvent.Type.STATUS, saved));
+        
+        return saved;
     }
     
-    // Close expired auctions (scheduler)
-    @Scheduled(fixedRate = 300000)
-    public void closeExpiredAuctions() {
-        List<Auction> expiredAuctions = auctionRepository
-            .findByStatusAndEndTimeBefore("ACTIVE", LocalDateTime.now());
+    // Delete an auction; same stop-then-flush as updateStatus, so no acknowledged bid is on its way to it
+    public void deleteAuction(Long auctionId) {
+        bidEngine.stopBidding(List.of(auctionId));
+        bidJournal.awaitFlushed(auctionId);
+        
+        if (!auctionRepository.existsById(auctionId)) {
+            throw new IllegalArgumentException("Auction not found");
+        }
         
-        for (Auction auction : expiredAuctions) {
+        auctionRepository.deleteById(auctionId);
+        eventPublisher.publishEvent(AuctionChangeEvent.deleted(auctionId));
+    }
+    
+    // Close a batch of auctions the expiry wheel says are due; returns the ones whose end time moved
+    public List<Auction> closeDueAuctions(Collection<Long> auctionIds) {
+        // The engine turns away any bid from here on (until this transaction completes);
+        // last-second bids it already accepted may still be on their way to the auction row
+        bidEngine.stopBidding(auctionIds);
+        bidJournal.awaitFlushed();
+        
+        LocalDateTime now = LocalDateTime.now();
+        List<Auction> stillRunning = new ArrayList<>();
+        
+        for (Auction auction : auctionRepository.findAllById(auctionIds)) {
+            if (!"ACTIVE".equals(auction.getStatus())) {
+                continue;
+            }
+            if (auction.getEndTime().isAfter(now)) {
+                stillRunning.add(auction);
+                continue;
+            }
             closeAuction(auction);
+            
+            Duration lag = Duration.between(auction.getEndTime(), now);
+            closeLag.record(lag);
+            lastCloseLagMs.set(lag.toMillis());
         }
+        
+        return stillRunning;
     }
     
     // Close auction and determine winner
     private void closeAuction(Auction auction) {
         auction.setStatus("ENDED");
         
-        Optional<Bid> winningBid = bidRepository.findByAuctionIdAndIsWinningTrue(auction.getId());
-        
-        if (winningBid.isPresent()) {
-            Bid winner = winningBid.get();
+        if (auction.getWinningBidId() != null) {
             auction.setStatus("COMPLETED");
             
             if (userService != null) {
@@ -119,6 +344,7 @@ public class AuctionService {
         }
         
         auctionRepository.save(auction);
+        eventPublisher.publishEvent(AuctionChangeEvent.of(AuctionChangeEvent.Type.STATUS, auction));
     }
     
     // Get auction statistics
@@ -126,8 +352,9 @@ public class AuctionService {
         Auction auction = auctionRepository.findById(auctionId)
             .orElseThrow(() -> new IllegalArgumentException("Auction not found"));
         
-        long bidCount = bidRepository.countByAuctionId(auctionId);
-        Double maxBid = bidRepository.findMaxBidAmount(auctionId);
+        // Counters live on the auction row; the current price is the top bid once there is one
+        long bidCount = auction.getBidCount() != null ? auction.getBidCount() : 0L;
+        Double maxBid = auction.getWinningBidId() != null ? auction.getCurrentPrice() : null;
         
         return new AuctionStats(
             auction.getTitle(),
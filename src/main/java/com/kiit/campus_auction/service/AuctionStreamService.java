@@ -0,0 +1,140 @@
+package com.kiit.campus_auction.service;
+
+import com.kiit.campus_auction.util.Outbox;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Server-Sent Events hub for live auction updates.
+ *
+ * Emitters are async servlet responses, so an idle subscriber holds a connection
+ * but no Tomcat worker thread. Every emitter has its own Outbox, drained on a virtual
+ * thread of its own while it has events: a slow client never delays the bid that
+ * triggered the update or the other subscribers, however many slow clients there are,
+ * and one that falls OUTBOX_LIMIT events behind is completed (browsers reconnect and
+ * start from the current state).
+ */
+@Service
+public class AuctionStreamService {
+
+    private static final int OUTBOX_LIMIT = 256;
+
+    @Value("${auction.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    // An open stream and the events waiting for it
+    private record Subscriber(SseEmitter emitter, Outbox outbox) {}
+
+    // Subscribers of the whole feed
+    private final List<Subscriber> feedSubscribers = new CopyOnWriteArrayList<>();
+
+    // Subscribers of a single auction; an auction's entry goes away with its last subscriber
+    private final Map<Long, List<Subscriber>> auctionSubscribers = new ConcurrentHashMap<>();
+
+    private final ExecutorService fanOut = Outbox.fanOutExecutor("auction-stream");
+
+    public SseEmitter subscribeAll() {
+        Subscriber subscriber = newSubscriber();
+        feedSubscribers.add(subscriber);
+        onEnd(subscriber, () -> feedSubscribers.remove(subscriber));
+        return subscriber.emitter();
+    }
+
+    public SseEmitter subscribe(Long auctionId) {
+        Subscriber subscriber = newSubscriber();
+        auctionSubscribers.compute(auctionId, (id, subscribers) -> {
+            List<Subscriber> list = subscribers != null ? subscribers : new CopyOnWriteArrayList<>();
+            list.add(subscriber);
+            return list;
+        });
+        onEnd(subscriber, () -> auctionSubscribers.computeIfPresent(auctionId, (id, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        }));
+        return subscriber.emitter();
+    }
+
+    public int getSubscriberCount() {
+        return feedSubscribers.size() + auctionSubscribers.values().stream().mapToInt(List::size).sum();
+    }
+
+    // Fires after commit (or immediately when published outside a transaction)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuctionChange(AuctionChangeEvent event) {
+        String name = event.getType().name().toLowerCase();
+        Map<String, Object> delta = event.toDelta();
+
+        feedSubscribers.forEach(subscriber -> send(subscriber, name, delta));
+
+        List<Subscriber> subscribers = auctionSubscribers.get(event.getAuctionId());
+        if (subscribers != null) {
+            for (Subscriber subscriber : subscribers) {
+                send(subscriber, name, delta);
+                if (event.getType() == AuctionChangeEvent.Type.DELETED) {
+                    // After the event itself has gone out
+                    subscriber.outbox().offer(subscriber.emitter()::complete);
+                }
+            }
+        }
+    }
+
+    // Comment frame so proxies keep idle streams open and dead clients get dropped
+    @Scheduled(fixedRate = 20000)
+    public void heartbeat() {
+        feedSubscribers.forEach(this::ping);
+        auctionSubscribers.values().forEach(subscribers -> subscribers.forEach(this::ping));
+    }
+
+    @PreDestroy
+    void stop() {
+        fanOut.shutdownNow();
+        feedSubscribers.forEach(subscriber -> subscriber.emitter().complete());
+        auctionSubscribers.values().forEach(subscribers -> subscribers.forEach(s -> s.emitter().complete()));
+    }
+
+    private Subscriber newSubscriber() {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        return new Subscriber(emitter, new Outbox(fanOut, OUTBOX_LIMIT, emitter::complete));
+    }
+
+    // Completion, timeout and errors all end the subscription
+    private static void onEnd(Subscriber subscriber, Runnable remove) {
+        Runnable end = () -> {
+            subscriber.outbox().close();
+            remove.run();
+        };
+        subscriber.emitter().onCompletion(end);
+        subscriber.emitter().onTimeout(end);
+        subscriber.emitter().onError(e -> end.run());
+    }
+
+    private void send(Subscriber subscriber, String name, Map<String, Object> delta) {
+        deliver(subscriber, SseEmitter.event().name(name).data(delta, MediaType.APPLICATION_JSON));
+    }
+
+    private void ping(Subscriber subscriber) {
+        deliver(subscriber, SseEmitter.event().comment("ping"));
+    }
+
+    private void deliver(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        subscriber.outbox().offer(() -> {
+            try {
+                subscriber.emitter().send(event);
+            } catch (Exception e) {
+                subscriber.outbox().close();
+                subscriber.emitter().completeWithError(e);
+            }
+        });
+    }
+}
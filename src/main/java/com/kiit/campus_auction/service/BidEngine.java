@@ -0,0 +1,581 @@
+package com.kiit.campus_auction.service;
+
+import com.kiit.campus_auction.config.ReadYourWrites;
+import com.kiit.campus_auction.model.Auction;
+import com.kiit.campus_auction.model.Bid;
+import com.kiit.campus_auction.model.ProxyBid;
+import com.kiit.campus_auction.model.User;
+import com.kiit.campus_auction.repository.AuctionRepository;
+import com.kiit.campus_auction.repository.ProxyBidRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory bid engine.
+ *
+ * Keeps the live top-of-book (current price, winning bid, winning bidder, end time)
+ * for every ACTIVE auction. All bids for one auction go through the same single
+ * sequencer thread, so they are accepted or rejected without a database read and
+ * two bids can never both pass the minimum increment check. Auctions are striped
+ * across sequencers by id, so unrelated auctions never wait on each other.
+ *
+ * Accepted bids get their ids here and go to the BidJournal, which makes them durable,
+ * acknowledges them and writes them to the database in batches, in acceptance order.
+ *
+ * Soft close is decided here too: a bid inside the auction's window moves the book's
+ * end time, and the new end time rides along with the bid to the database, the
+ * expiry scheduler and live subscribers.
+ *
+ * Closing, cancelling, status changes and deletes go through the sequencer too
+ * (AuctionService calls stopBidding): once an auction's sequencer has marked it, every
+ * bid decided before is already in the journal and every bid after is rejected, so the
+ * journal never holds an acknowledged bid on a closed auction.
+ *
+ * Proxy (auto) bids live in the book as well. After every incoming bid the engine
+ * resolves the proxies' ladders in memory (see ProxyLadder), journals the whole run of
+ * resulting bids as one entry and publishes only the final price and leader.
+ *
+ * Metrics: bid.ack times a bid from submit to its answer (tagged type=bid|proxy and
+ * outcome=accepted|rejected|error), bid.outcome counts answers by outcome (the rejection
+ * reason, lowercased), and bid.stage times each step on the way: queue (waiting for the
+ * sequencer), decide (the checks and the ladder, including load), load (reading a book
+ * that wasn't in memory) and journal (from append to durable). BidController adds lookup,
+ * BidJournal adds persist.
+ */
+@Service
+public class BidEngine {
+
+    @Autowired
+    private AuctionRepository auctionRepository;
+
+    @Autowired
+    private ProxyBidRepository proxyBidRepository;
+
+    @Autowired
+    private BidJournal bidJournal;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ReadYourWrites readYourWrites;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${auction.min.increment:50}")
+    private Double minBidIncrement;
+
+    // 0 = one stripe per available core
+    @Value("${bid.engine.stripes:0}")
+    private int configuredStripes;
+
+    private final Map<Long, AuctionBook> books = new ConcurrentHashMap<>();
+
+    // Auctions being closed or cancelled; set and cleared on their sequencer
+    private final Set<Long> stopped = ConcurrentHashMap.newKeySet();
+
+    private ExecutorService[] sequencers;
+
+    private Timer queued;
+    private Timer decided;
+    private Timer loaded;
+    private Timer journaled;
+
+    @PostConstruct
+    void start() {
+        queued = meterRegistry.timer("bid.stage", "stage", "queue");
+        decided = meterRegistry.timer("bid.stage", "stage", "decide");
+        loaded = meterRegistry.timer("bid.stage", "stage", "load");
+        journaled = meterRegistry.timer("bid.stage", "stage", "journal");
+
+        int stripes = configuredStripes > 0 ? configuredStripes : Runtime.getRuntime().availableProcessors();
+
+        sequencers = new ExecutorService[stripes];
+        for (int i = 0; i < stripes; i++) {
+            sequencers[i] = Executors.newSingleThreadExecutor(named("bid-seq-" + i));
+        }
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        for (ExecutorService sequencer : sequencers) {
+            sequencer.shutdown();
+        }
+        for (ExecutorService sequencer : sequencers) {
+            sequencer.awaitTermination(5, TimeUnit.SECONDS);
+        }
+        // The journal shuts down after the engine and flushes what was accepted
+    }
+
+    // Load the book of every ACTIVE auction, proxies included, up front so the first bids skip the load
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        Map<Long, List<ProxyBid>> proxies = proxyBidRepository.findOnActiveAuctions().stream()
+            .collect(Collectors.groupingBy(ProxyBid::getAuctionId));
+        for (Auction auction : auctionRepository.findByStatus("ACTIVE")) {
+            Long auctionId = auction.getId();
+            List<ProxyBid> auctionProxies = proxies.getOrDefault(auctionId, List.of());
+            sequencers[stripeOf(auctionId)].execute(() -> {
+                // An auction with bids still on their way to its row is left to the lazy load
+                if (!bidJournal.hasPending(auctionId)) {
+                    books.computeIfAbsent(auctionId, id -> loadBook(auction, auctionProxies));
+                }
+            });
+        }
+    }
+
+    // Submit a bid; completes once the bid is rejected, or accepted and durable in the journal
+    public CompletableFuture<BidResult> submit(Long auctionId, User bidder, Double amount) {
+        readYourWrites.recordWrite(bidder.getId(), bidder.getEmail());
+        return sequence(auctionId, "bid", () -> decide(auctionId, bidder, amount));
+    }
+
+    // Set (or change) the bidder's hidden maximum; the proxy bids on their behalf right away if outbid
+    public CompletableFuture<BidResult> submitProxy(Long auctionId, User bidder, Double maxAmount) {
+        readYourWrites.recordWrite(bidder.getId(), bidder.getEmail());
+        return sequence(auctionId, "proxy", () -> decideProxy(auctionId, bidder, maxAmount));
+    }
+
+    // Withdraw the bidder's maximum; completes with false if they had none
+    public CompletableFuture<Boolean> withdrawProxy(Long auctionId, Long bidderId) {
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+
+        sequencers[stripeOf(auctionId)].execute(() -> {
+            try {
+                checkJournal();
+                AuctionBook book = book(auctionId);
+                if (book == null || book.proxies.remove(bidderId) == null) {
+                    result.complete(false);
+                    return;
+                }
+
+                BidJournal.Entry entry = new BidJournal.Entry(auctionId, LocalDateTime.now(), List.of(),
+                    book.currentPrice, book.bidCount, book.endTime, bidderId, null, true);
+                bidJournal.append(entry, null).whenComplete((ignored, error) -> {
+                    if (error != null) {
+                        result.completeExceptionally(error);
+                    } else {
+                        result.complete(true);
+                    }
+                });
+            } catch (Exception e) {
+                result.completeExceptionally(e);
+            }
+        });
+
+        return result;
+    }
+
+    // Decide on the sequencer, then hand accepted bids to the journal
+    private CompletableFuture<BidResult> sequence(Long auctionId, String type, Supplier<BidResult> decide) {
+        long submitted = System.nanoTime();
+        CompletableFuture<BidResult> result = new CompletableFuture<>();
+
+        sequencers[stripeOf(auctionId)].execute(() -> {
+            long started = System.nanoTime();
+            queued.record(started - submitted, TimeUnit.NANOSECONDS);
+            try {
+                checkJournal();
+                BidResult decision = decide.get();
+                long decidedAt = System.nanoTime();
+                decided.record(decidedAt - started, TimeUnit.NANOSECONDS);
+                if (!decision.isAccepted()) {
+                    result.complete(decision);
+                    return;
+                }
+
+                bidJournal.append(decision.getEntry(), () -> publish(decision))
+                    .whenComplete((ignored, error) -> {
+                        if (error != null) {
+                            // Never made durable: the journal marked the auction, and the next
+                            // decision on it reloads the book from what the database has
+                            result.completeExceptionally(error);
+                            return;
+                        }
+                        journaled.record(System.nanoTime() - decidedAt, TimeUnit.NANOSECONDS);
+                        result.complete(decision);
+                    });
+            } catch (Exception e) {
+                result.completeExceptionally(e);
+            }
+        });
+
+        // Recorded before the caller's continuation runs, so the answer and its metrics agree
+        return result.whenComplete((decision, error) -> {
+            String outcome = error != null ? "error" : decision.getOutcome().name().toLowerCase();
+            meterRegistry.counter("bid.outcome", "type", type, "outcome", outcome).increment();
+            meterRegistry.timer("bid.ack", "type", type,
+                    "outcome", error != null ? "error" : decision.isAccepted() ? "accepted" : "rejected")
+                .record(System.nanoTime() - submitted, TimeUnit.NANOSECONDS);
+        });
+    }
+
+    // Nothing is decided while the database is too far behind to store it
+    private void checkJournal() {
+        if (bidJournal.isBackedUp()) {
+            throw new IllegalStateException("Bid journal is behind; the database is not accepting writes");
+        }
+    }
+
+    // Runs on the journal thread once the bids are durable
+    private void publish(BidResult decision) {
+        BidJournal.Entry entry = decision.getEntry();
+        if (entry.bids().isEmpty()) {
+            return;
+        }
+
+        eventPublisher.publishEvent(AuctionChangeEvent.bid(entry.auctionId(), entry.currentPrice(),
+            entry.bidCount(), entry.endTime(), entry.lastBid().id(), entry.lastBid().bidderId(),
+            decision.getPreviousBidderId()));
+    }
+
+    // Reject every bid on these auctions from now on. Returns once each auction's sequencer has
+    // taken the stop, so all bids accepted before it are already appended to the journal.
+    // The stop is lifted (and the book reloaded) when the caller's transaction completes: by
+    // then the auction row says whether it closed, or it rolled back and is still ACTIVE.
+    public void stopBidding(Collection<Long> auctionIds) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    resumeBidding(auctionIds);
+                }
+            });
+        }
+
+        List<CompletableFuture<Void>> taken = new ArrayList<>(auctionIds.size());
+        for (Long auctionId : auctionIds) {
+            taken.add(CompletableFuture.runAsync(() -> stopped.add(auctionId), sequencers[stripeOf(auctionId)]));
+        }
+
+        try {
+            CompletableFuture.allOf(taken.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while stopping bids on " + auctionIds, e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("Could not stop bids on " + auctionIds, e);
+        }
+    }
+
+    // Lift stopBidding; the next bid reloads the book with whatever status the database has
+    public void resumeBidding(Collection<Long> auctionIds) {
+        for (Long auctionId : auctionIds) {
+            sequencers[stripeOf(auctionId)].execute(() -> {
+                books.remove(auctionId);
+                stopped.remove(auctionId);
+            });
+        }
+    }
+
+    // Drop the cached book; the next bid reloads it from the database
+    public void evict(Long auctionId) {
+        sequencers[stripeOf(auctionId)].execute(() -> books.remove(auctionId));
+    }
+
+    // Any change made outside the engine invalidates the book
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuctionChange(AuctionChangeEvent event) {
+        if (event.getType() != AuctionChangeEvent.Type.BID && event.getType() != AuctionChangeEvent.Type.CREATED) {
+            evict(event.getAuctionId());
+        }
+    }
+
+    // Read-only view of the live book, if the auction is currently loaded
+    public Optional<AuctionBook> peek(Long auctionId) {
+        return Optional.ofNullable(books.get(auctionId));
+    }
+
+    // Runs on the auction's sequencer thread only
+    private BidResult decide(Long auctionId, User bidder, Double amount) {
+        AuctionBook book = book(auctionId);
+        LocalDateTime now = LocalDateTime.now();
+
+        BidResult rejection = checkOpen(book, bidder, now);
+        if (rejection != null) {
+            return rejection;
+        }
+
+        double minimumBid = book.currentPrice + minBidIncrement;
+        if (amount < minimumBid) {
+            return BidResult.rejected(Outcome.TOO_LOW, String.format(
+                "Bid must be at least ₹%.2f (current price ₹%.2f + minimum increment ₹%.2f)",
+                minimumBid, book.currentPrice, minBidIncrement));
+        }
+
+        List<ProxyLadder.Step> steps = new ArrayList<>();
+        steps.add(new ProxyLadder.Step(bidder.getId(), amount));
+        steps.addAll(ProxyLadder.resolve(amount, bidder.getId(), book.proxies.values(), minBidIncrement));
+
+        return apply(book, bidder, steps, now, null);
+    }
+
+    // Runs on the auction's sequencer thread only
+    private BidResult decideProxy(Long auctionId, User bidder, Double maxAmount) {
+        AuctionBook book = book(auctionId);
+        LocalDateTime now = LocalDateTime.now();
+
+        BidResult rejection = checkOpen(book, bidder, now);
+        if (rejection != null) {
+            return rejection;
+        }
+
+        // The leader only has to cover the current price; anyone else must be able to outbid it
+        boolean leading = bidder.getId().equals(book.winningBidderId);
+        double minimumMax = leading ? book.currentPrice : book.currentPrice + minBidIncrement;
+        if (maxAmount < minimumMax) {
+            return BidResult.rejected(Outcome.TOO_LOW, String.format(
+                "Maximum bid must be at least ₹%.2f", minimumMax));
+        }
+
+        book.proxies.put(bidder.getId(), new ProxyLadder.Proxy(bidder.getId(), maxAmount, book.nextProxyOrder++));
+
+        List<ProxyLadder.Step> steps = ProxyLadder.resolve(book.currentPrice, book.winningBidderId,
+            book.proxies.values(), minBidIncrement);
+
+        return apply(book, bidder, steps, now, maxAmount);
+    }
+
+    private BidResult checkOpen(AuctionBook book, User bidder, LocalDateTime now) {
+        if (book == null) {
+            return BidResult.rejected(Outcome.NOT_FOUND, "Auction not found");
+        }
+
+        if (!"ACTIVE".equals(book.status) || stopped.contains(book.auctionId)) {
+            return BidResult.rejected(Outcome.NOT_ACTIVE, "Auction is not active");
+        }
+
+        if (!book.endTime.isAfter(now)) {
+            return BidResult.rejected(Outcome.ENDED, "Auction has ended");
+        }
+
+        if (book.sellerId.equals(bidder.getId())) {
+            return BidResult.rejected(Outcome.OWN_AUCTION, "You cannot bid on your own auction!");
+        }
+
+        return null;
+    }
+
+    // Move the book to the end of the run of bids (an empty run leaves it as it is) and build its journal entry
+    private BidResult apply(AuctionBook book, User bidder, List<ProxyLadder.Step> steps, LocalDateTime now,
+                            Double proxyMaxAmount) {
+        Long previousBidderId = book.winningBidderId;
+
+        List<BidJournal.JournalBid> bids = new ArrayList<>(steps.size());
+        Bid ownBid = null;
+        for (ProxyLadder.Step step : steps) {
+            BidJournal.JournalBid bid = new BidJournal.JournalBid(bidJournal.nextBidId(), step.bidderId(), step.amount());
+            bids.add(bid);
+            if (step.bidderId().equals(bidder.getId())) {
+                ownBid = toBid(bid, bidder, now);
+            }
+        }
+
+        if (!bids.isEmpty()) {
+            BidJournal.JournalBid last = bids.get(bids.size() - 1);
+            book.currentPrice = last.amount();
+            book.bidCount += bids.size();
+            book.winningBidId = last.id();
+            book.winningBidderId = last.bidderId();
+            book.endTime = Auction.softCloseEndTime(book.endTime, book.softCloseWindowSeconds,
+                book.softCloseExtensionSeconds, now);
+            book.sequence++;
+        }
+
+        BidJournal.Entry entry = new BidJournal.Entry(book.auctionId, now, bids, book.currentPrice, book.bidCount,
+            book.endTime, proxyMaxAmount != null ? bidder.getId() : null, proxyMaxAmount, false);
+
+        return BidResult.accepted(ownBid, book.sequence, book.winningBidderId, previousBidderId, entry);
+    }
+
+    // What the caller gets back for their bid; it reaches the bids table with the next journal flush
+    private static Bid toBid(BidJournal.JournalBid journalBid, User bidder, LocalDateTime bidTime) {
+        Bid bid = new Bid();
+        bid.setId(journalBid.id());
+        bid.setBidder(bidder);
+        bid.setAmount(journalBid.amount());
+        bid.setBidTime(bidTime);
+        return bid;
+    }
+
+    // The auction's book, loaded on first use; sequencer thread only
+    private AuctionBook book(Long auctionId) {
+        // Still counts bids the journal rejected; the bids queued behind them must not see those
+        if (bidJournal.takeRejected(auctionId)) {
+            books.remove(auctionId);
+        }
+
+        AuctionBook book = books.get(auctionId);
+        if (book == null) {
+            book = loaded.record(() -> loadBook(auctionId));
+            if (book != null) {
+                books.put(auctionId, book);
+            }
+        }
+        return book;
+    }
+
+    private AuctionBook loadBook(Long auctionId) {
+        // Acknowledged bids may not have reached the auction row yet; only this auction's are waited for,
+        // so the other auctions on the stripe wait only when this one has bids in flight
+        bidJournal.awaitFlushed(auctionId);
+
+        return auctionRepository.findById(auctionId)
+            .map(auction -> loadBook(auction, proxyBidRepository.findByAuctionIdOrderByUpdatedAtAscIdAsc(auctionId)))
+            .orElse(null);
+    }
+
+    private AuctionBook loadBook(Auction auction, List<ProxyBid> proxyBids) {
+        AuctionBook book = new AuctionBook(auction.getId(), auction.getSeller().getId(),
+            auction.getSoftCloseWindowSeconds(), auction.getSoftCloseExtensionSeconds());
+        book.status = auction.getStatus();
+        book.endTime = auction.getEndTime();
+        book.bidCount = auction.getBidCount() != null ? auction.getBidCount() : 0L;
+        book.winningBidId = auction.getWinningBidId();
+        book.winningBidderId = auction.getWinningBidderId();
+        book.currentPrice = auction.getWinningBidId() != null && auction.getCurrentPrice() != null
+            ? auction.getCurrentPrice() : auction.getStartingPrice();
+
+        for (ProxyBid proxyBid : proxyBids) {
+            book.proxies.put(proxyBid.getBidderId(), new ProxyLadder.Proxy(proxyBid.getBidderId(),
+                proxyBid.getMaxAmount(), book.nextProxyOrder++));
+        }
+
+        return book;
+    }
+
+    private int stripeOf(Long auctionId) {
+        return Math.floorMod(auctionId, sequencers.length);
+    }
+
+    private static ThreadFactory named(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    // Live state of one auction; written only by its sequencer thread
+    public static class AuctionBook {
+        private final Long auctionId;
+        private final Long sellerId;
+        private final Integer softCloseWindowSeconds;
+        private final Integer softCloseExtensionSeconds;
+        private volatile String status;
+        private volatile LocalDateTime endTime;
+        private volatile double currentPrice;
+        private volatile long bidCount;
+        private volatile Long winningBidId;
+        private volatile Long winningBidderId;
+        private long sequence;
+
+        // Bidder id -> hidden maximum; never exposed outside the engine
+        private final Map<Long, ProxyLadder.Proxy> proxies = new LinkedHashMap<>();
+        private long nextProxyOrder;
+
+        AuctionBook(Long auctionId, Long sellerId, Integer softCloseWindowSeconds, Integer softCloseExtensionSeconds) {
+            this.auctionId = auctionId;
+            this.sellerId = sellerId;
+            this.softCloseWindowSeconds = softCloseWindowSeconds;
+            this.softCloseExtensionSeconds = softCloseExtensionSeconds;
+        }
+
+        public Long getAuctionId() { return auctionId; }
+        public Long getSellerId() { return sellerId; }
+        public String getStatus() { return status; }
+        public LocalDateTime getEndTime() { return endTime; }
+        public double getCurrentPrice() { return currentPrice; }
+        public long getBidCount() { return bidCount; }
+        public Long getWinningBidId() { return winningBidId; }
+        public Long getWinningBidderId() { return winningBidderId; }
+    }
+
+    public enum Outcome {
+        ACCEPTED,
+        NOT_FOUND,
+        NOT_ACTIVE,
+        ENDED,
+        OWN_AUCTION,
+        TOO_LOW
+    }
+
+    // Result DTO
+    public static class BidResult {
+        private final Outcome outcome;
+        private final String message;
+        private final Bid bid;
+        private final long sequence;
+        private final Long winningBidderId;
+        private final Long previousBidderId;
+        private final BidJournal.Entry entry;
+
+        private BidResult(Outcome outcome, String message, Bid bid, long sequence, Long winningBidderId,
+                          Long previousBidderId, BidJournal.Entry entry) {
+            this.outcome = outcome;
+            this.message = message;
+            this.bid = bid;
+            this.sequence = sequence;
+            this.winningBidderId = winningBidderId;
+            this.previousBidderId = previousBidderId;
+            this.entry = entry;
+        }
+
+        static BidResult rejected(Outcome outcome, String message) {
+            return new BidResult(outcome, message, null, 0, null, null, null);
+        }
+
+        static BidResult accepted(Bid bid, long sequence, Long winningBidderId, Long previousBidderId,
+                                  BidJournal.Entry entry) {
+            return new BidResult(Outcome.ACCEPTED, "Bid placed successfully! 🎉", bid, sequence,
+                winningBidderId, previousBidderId, entry);
+        }
+
+        public boolean isAccepted() { return outcome == Outcome.ACCEPTED; }
+        public Outcome getOutcome() { return outcome; }
+        public String getMessage() { return message; }
+        // The bidder's latest bid once proxies have answered; null if a new maximum placed no bid
+        public Bid getBid() { return bid; }
+        public long getBidCount() { return entry != null ? entry.bidCount() : 0; }
+        public LocalDateTime getEndTime() { return entry != null ? entry.endTime() : null; }
+        // Price and leader after the whole run of bids
+        public double getCurrentPrice() { return entry != null ? entry.currentPrice() : 0; }
+        public Long getWinningBidderId() { return winningBidderId; }
+        public Long getPreviousBidderId() { return previousBidderId; }
+        public LocalDateTime getAcceptedAt() { return entry != null ? entry.acceptedAt() : null; }
+        BidJournal.Entry getEntry() { return entry; }
+        // Position of the bid in its auction's acceptance order
+        public long getSequence() { return sequence; }
+    }
+}
@@ -0,0 +1,505 @@
+package com.kiit.campus_auction.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kiit.campus_auction.config.CacheConfig;
+import com.kiit.campus_auction.model.Bid;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind journal for bids accepted by the BidEngine.
+ *
+ * The engine appends one entry per accepted run of bids (or proxy change) and moves
+ * on. A single writer thread group-commits them: every few milliseconds, or as soon
+ * as a batch fills up, it appends the batch to a local write-ahead file and fsyncs it
+ * once, acknowledges the whole batch (completing the futures and publishing the BID
+ * events), then writes it to the database in one transaction with multi-row INSERTs.
+ *
+ * An acknowledged bid is on disk even if the database write has not happened yet:
+ * entries stay in the write-ahead file until their transaction commits, and whatever
+ * is left in it is replayed on startup. If the database write fails the batch is
+ * retried, with the pause between attempts doubling from one second up to retry-max-ms;
+ * anything that reads bid state from the database calls awaitFlushed() first,
+ * or awaitFlushed(auctionId) when it only reads one auction (loading a book).
+ *
+ * A batch that cannot be written to the write-ahead file after write-attempts tries is
+ * never acknowledged: its futures, and those of everything queued behind it, complete
+ * exceptionally so callers get an error instead of waiting forever. Their auctions take
+ * no further entries until the engine has reloaded their books from the database.
+ *
+ * While the database is down the backlog grows. Once max-unflushed entries are waiting
+ * for it the journal reports itself backed up: the engine turns new bids away with an
+ * error, and the bidJournal health indicator is DOWN, until the writes go through again.
+ *
+ * Bid ids come from the bid_seq sequence, handed out in blocks, so the engine knows
+ * the id of a bid before it is written and the inserts can be batched.
+ *
+ * Metrics: bid.stage{stage=persist} times each database write, bid.journal.batch is the
+ * number of entries per write, bid.journal.backlog the entries still waiting to be
+ * taken off the queue, and bid.journal.lag every acknowledged entry not yet in the database.
+ */
+@Service
+public class BidJournal implements HealthIndicator {
+
+    private static final Logger log = LoggerFactory.getLogger(BidJournal.class);
+
+    // One bid in an entry
+    public record JournalBid(long id, Long bidderId, double amount) {}
+
+    // One accepted run of bids on an auction, with the auction's state after it; and/or a proxy change
+    public record Entry(Long auctionId, LocalDateTime acceptedAt, List<JournalBid> bids, double currentPrice,
+                        long bidCount, LocalDateTime endTime, Long proxyBidderId, Double proxyMaxAmount,
+                        boolean proxyWithdrawn) {
+
+        public JournalBid lastBid() {
+            return bids.isEmpty() ? null : bids.get(bids.size() - 1);
+        }
+    }
+
+    private record Pending(long position, Entry entry, CompletableFuture<Void> acknowledged, Runnable onAcknowledged) {}
+
+    private static final String SEQUENCE = "bid_seq";
+    private static final String FILE_NAME = "bids.wal";
+
+    @Autowired
+    private BidService bidService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Directory for the write-ahead file, or "memory" to go without one
+    @Value("${auction.journal.dir:data/bid-journal}")
+    private String journalDir;
+
+    @Value("${auction.journal.batch-size:256}")
+    private int batchSize;
+
+    @Value("${auction.journal.flush-ms:5}")
+    private long flushMs;
+
+    @Value("${auction.journal.write-attempts:3}")
+    private int writeAttempts;
+
+    // Longest pause between two attempts at a failing database write
+    @Value("${auction.journal.retry-max-ms:30000}")
+    private long retryMaxMs;
+
+    // Entries allowed to wait for the database before new bids are turned away
+    @Value("${auction.journal.max-unflushed:10000}")
+    private long maxUnflushed;
+
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+
+    // Auction id -> position of its last entry not yet in the database (or rejected)
+    private final Map<Long, Long> pendingByAuction = new ConcurrentHashMap<>();
+
+    // Auctions with rejected entries: the engine's book still counts them, so later entries
+    // are refused until the engine has reloaded it (takeRejected)
+    private final Set<Long> rejectedAuctions = ConcurrentHashMap.newKeySet();
+    private final Object flushed = new Object();
+
+    private FileChannel wal;
+    private Thread writer;
+    private volatile boolean running;
+
+    // Position of the last appended entry, and of the last one committed to the database
+    private long appendedPosition;
+    private volatile long flushedPosition;
+
+    // Write attempts (write-ahead file or database) that failed in a row, and the last failure
+    private volatile int failedAttempts;
+    private volatile Exception lastFailure;
+
+    // Current block of bid ids
+    private long nextBidId;
+    private long bidIdLimit;
+
+    private Timer persisted;
+    private DistributionSummary batches;
+
+    @PostConstruct
+    void start() throws IOException {
+        persisted = meterRegistry.timer("bid.stage", "stage", "persist");
+        batches = meterRegistry.summary("bid.journal.batch");
+        Gauge.builder("bid.journal.backlog", queue, BlockingQueue::size).register(meterRegistry);
+        Gauge.builder("bid.journal.lag", this, BidJournal::unflushed).register(meterRegistry);
+
+        if (!"memory".equals(journalDir)) {
+            Path dir = Paths.get(journalDir);
+            Files.createDirectories(dir);
+            wal = FileChannel.open(dir.resolve(FILE_NAME),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            replay();
+        }
+
+        running = true;
+        writer = new Thread(this::run, "bid-journal");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    void stop() throws IOException, InterruptedException {
+        // The writer notices within one poll, drains the queue and exits
+        running = false;
+        writer.join(10_000);
+        if (wal != null) {
+            wal.close();
+        }
+    }
+
+    // Queue an entry; the future completes once it is durable, and onAcknowledged runs just before that
+    public synchronized CompletableFuture<Void> append(Entry entry, Runnable onAcknowledged) {
+        CompletableFuture<Void> acknowledged = new CompletableFuture<>();
+        if (rejectedAuctions.contains(entry.auctionId())) {
+            acknowledged.completeExceptionally(new IllegalStateException(
+                "Bid journal rejected earlier bids on auction " + entry.auctionId()));
+            return acknowledged;
+        }
+        queue.add(new Pending(++appendedPosition, entry, acknowledged, onAcknowledged));
+        pendingByAuction.put(entry.auctionId(), appendedPosition);
+        return acknowledged;
+    }
+
+    // Block until everything appended so far is in the database
+    public void awaitFlushed() {
+        long target;
+        synchronized (this) {
+            target = appendedPosition;
+        }
+        awaitPosition(target);
+    }
+
+    // Block until everything appended so far for this auction is in the database; returns at once if nothing is
+    public void awaitFlushed(Long auctionId) {
+        Long target = pendingByAuction.get(auctionId);
+        if (target != null) {
+            awaitPosition(target);
+        }
+    }
+
+    // Whether entries on the auction were rejected since the last call, clearing the mark.
+    // Called on the auction's sequencer before it uses the book: true means reload it.
+    public boolean takeRejected(Long auctionId) {
+        return rejectedAuctions.remove(auctionId);
+    }
+
+    // Whether the auction has entries that are not in the database yet
+    public boolean hasPending(Long auctionId) {
+        return pendingByAuction.containsKey(auctionId);
+    }
+
+    private void awaitPosition(long target) {
+        long deadline = System.currentTimeMillis() + 10_000;
+        synchronized (flushed) {
+            while (flushedPosition < target) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    throw new IllegalStateException("Bid journal is behind; the database is not accepting writes");
+                }
+                try {
+                    flushed.wait(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for the bid journal", e);
+                }
+            }
+        }
+    }
+
+    // Entries appended but not yet in the database (or rejected)
+    public synchronized long unflushed() {
+        return appendedPosition - flushedPosition;
+    }
+
+    // Too far behind the database to take more bids
+    public boolean isBackedUp() {
+        return unflushed() >= maxUnflushed;
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder health = isBackedUp() ? Health.down() : Health.up();
+        health.withDetail("unflushed", unflushed()).withDetail("failedAttempts", failedAttempts);
+        Exception failure = lastFailure;
+        if (failedAttempts > 0 && failure != null) {
+            health.withDetail("lastError", String.valueOf(failure.getMessage()));
+        }
+        return health.build();
+    }
+
+    // Next id from bid_seq; one sequence call per block (pooled-lo, same as Hibernate's generator for Bid)
+    public synchronized long nextBidId() {
+        if (nextBidId == bidIdLimit) {
+            String sql = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices()
+                .getDialect().getSequenceSupport().getSequenceNextValString(SEQUENCE);
+            nextBidId = jdbcTemplate.queryForObject(sql, Long.class);
+            bidIdLimit = nextBidId + Bid.ID_BLOCK_SIZE;
+        }
+        return nextBidId++;
+    }
+
+    private void run() {
+        // Taken off the queue but not yet in the write-ahead file / not yet in the database
+        List<Pending> unwritten = new ArrayList<>();
+        List<Pending> unflushed = new ArrayList<>();
+        int failedWrites = 0;
+        long rejectedPosition = 0;
+
+        while (running || !queue.isEmpty() || !unwritten.isEmpty() || !unflushed.isEmpty()) {
+            try {
+                if (unwritten.isEmpty()) {
+                    unwritten.addAll(nextBatch());
+                }
+
+                if (!unwritten.isEmpty()) {
+                    try {
+                        writeAhead(unwritten);
+                        acknowledge(unwritten);
+                        unflushed.addAll(unwritten);
+                    } catch (IOException e) {
+                        if (++failedWrites < writeAttempts) {
+                            throw e;
+                        }
+                        rejectedPosition = reject(unwritten, e);
+                    }
+                    failedWrites = 0;
+                    unwritten.clear();
+                }
+
+                if (!unflushed.isEmpty()) {
+                    flush(unflushed);
+                    unflushed.clear();
+                }
+                failedAttempts = 0;
+
+                // Rejected entries will never be stored; nobody should wait for them
+                advanceFlushed(rejectedPosition);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                // Nothing is dropped: the same entries are written again, in the same order
+                lastFailure = e;
+                long backoff = retryDelay(++failedAttempts);
+                log.error("Bid journal write failed {} times in a row, {} entries waiting; retrying in {} ms",
+                    failedAttempts, unflushed(), backoff, e);
+                if (!running) {
+                    return; // Shutting down; the write-ahead file is replayed on the next start
+                }
+                sleepQuietly(backoff);
+            }
+        }
+    }
+
+    // Wait for the first entry, then give the batch up to flushMs to fill
+    private List<Pending> nextBatch() throws InterruptedException {
+        List<Pending> batch = new ArrayList<>();
+        Pending first = running ? queue.poll(100, TimeUnit.MILLISECONDS) : queue.poll();
+        if (first == null) {
+            return batch;
+        }
+
+        batch.add(first);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushMs);
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0 || !running) {
+                break;
+            }
+            Pending next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+        return batch;
+    }
+
+    // Append the batch to the write-ahead file with a single fsync
+    private void writeAhead(List<Pending> batch) throws IOException {
+        if (wal == null) {
+            return;
+        }
+
+        StringBuilder lines = new StringBuilder();
+        for (Pending pending : batch) {
+            lines.append(objectMapper.writeValueAsString(pending.entry())).append('\n');
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+        long start = wal.size();
+        try {
+            wal.position(start);
+            while (buffer.hasRemaining()) {
+                wal.write(buffer);
+            }
+            wal.force(false);
+        } catch (IOException e) {
+            // Don't leave half a batch behind for the retry to append to
+            wal.truncate(start);
+            throw e;
+        }
+    }
+
+    // Fail the batch and everything queued behind it, which was decided on top of it. The
+    // auctions are marked in the same step, so nothing decided on top of them gets in later;
+    // the marks are set before any caller hears of the failure.
+    private long reject(List<Pending> batch, IOException cause) {
+        List<Pending> rejected = new ArrayList<>(batch);
+        synchronized (this) {
+            queue.drainTo(rejected);
+            for (Pending pending : rejected) {
+                rejectedAuctions.add(pending.entry().auctionId());
+            }
+        }
+        log.error("Bid journal write failed {} times, rejecting {} entries", writeAttempts, rejected.size(), cause);
+
+        IllegalStateException error = new IllegalStateException("Bid journal is not accepting writes", cause);
+        for (Pending pending : rejected) {
+            pending.acknowledged().completeExceptionally(error);
+        }
+        forget(rejected);
+        return rejected.get(rejected.size() - 1).position();
+    }
+
+    private void acknowledge(List<Pending> batch) {
+        for (Pending pending : batch) {
+            try {
+                if (pending.onAcknowledged() != null) {
+                    pending.onAcknowledged().run();
+                }
+            } catch (Exception e) {
+                log.error("Bid journal acknowledgement callback failed", e);
+            }
+            pending.acknowledged().complete(null);
+        }
+    }
+
+    // Write to the database in one transaction, then drop what is now stored from the write-ahead file
+    private void flush(List<Pending> unflushed) throws IOException {
+        List<Entry> entries = new ArrayList<>(unflushed.size());
+        for (Pending pending : unflushed) {
+            entries.add(pending.entry());
+        }
+
+        persisted.record(() -> bidService.writeJournal(entries));
+        batches.record(entries.size());
+
+        // Cached auctions may have been loaded between the acknowledgement and this commit
+        Cache auctions = cacheManager.getCache(CacheConfig.AUCTIONS);
+        for (Entry entry : entries) {
+            auctions.evict(entry.auctionId());
+        }
+
+        // Everything in the write-ahead file is in the database now
+        if (wal != null) {
+            wal.truncate(0);
+            wal.force(false);
+        }
+
+        advanceFlushed(unflushed.get(unflushed.size() - 1).position());
+        forget(unflushed);
+    }
+
+    // Stored or rejected: drop each auction's pending position unless a later entry replaced it
+    private void forget(List<Pending> done) {
+        for (Pending pending : done) {
+            pendingByAuction.remove(pending.entry().auctionId(), pending.position());
+        }
+    }
+
+    private void advanceFlushed(long position) {
+        synchronized (flushed) {
+            if (position > flushedPosition) {
+                flushedPosition = position;
+                flushed.notifyAll();
+            }
+        }
+    }
+
+    // Write whatever the previous run acknowledged but never stored; entries already stored are skipped
+    void replay() throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        for (String line : Files.readAllLines(Paths.get(journalDir, FILE_NAME), StandardCharsets.UTF_8)) {
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                entries.add(objectMapper.readValue(line, Entry.class));
+            } catch (IOException e) {
+                // Torn last line from a crash mid-write; it was never acknowledged
+                log.warn("Skipping unreadable bid journal line: {}", e.getMessage());
+            }
+        }
+
+        if (!entries.isEmpty()) {
+            int replayed = bidService.replayJournal(entries);
+            log.info("Replayed {} of {} bid journal entries", replayed, entries.size());
+        }
+
+        wal.truncate(0);
+        wal.force(false);
+    }
+
+    // 1 s, 2 s, 4 s, ... up to retryMaxMs
+    private long retryDelay(int failures) {
+        return Math.min(1000L << Math.min(failures - 1, 20), retryMaxMs);
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,22 +1,38 @@
 package com.kiit.campus_auction.service;
 
+import com.kiit.campus_auction.dto.BidResponse;
+import com.kiit.campus_auction.dto.UserBidSummary;
+import com.kiit.campus_auction.dto.WonAuctionSummary;
 import com.kiit.campus_auction.model.Auction;
 import com.kiit.campus_auction.model.Bid;
-import com.kiit.campus_auction.model.User;
+import com.kiit.campus_auction.model.ProxyBid;
+import com.kiit.campus_auction.model.UserAuctionParticipation;
 import com.kiit.campus_auction.repository.AuctionRepository;
 import com.kiit.campus_auction.repository.BidRepository;
-import com.kiit.campus_auction.repository.UserRepository;
+import com.kiit.campus_auction.repository.ProxyBidRepository;
+import com.kiit.campus_auction.repository.UserAuctionParticipationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @Transactional
 public class BidService {
+
+    private static final Logger log = LoggerFactory.getLogger(BidService.class);
     
     @Autowired
     private BidRepository bidRepository;
@@ -25,68 +41,158 @@ public class BidService {
     private AuctionRepository auctionRepository;
     
     @Autowired
-    private UserRepository userRepository;
+    private UserAuctionParticipationRepository participationRepository;
+    
+    @Autowired
+    private ProxyBidRepository proxyBidRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
     
-    @Value("${auction.min.increment:50}")
-    private Double minBidIncrement;
+    // Rows per multi-row INSERT when writing journaled bids
+    private static final int BIDS_PER_INSERT = 100;
     
-    // Place a new bid
-    public Bid placeBid(Long auctionId, Long bidderId, Double amount) {
-        // Validate auction exists
-        Auction auction = auctionRepository.findById(auctionId)
-            .orElseThrow(() -> new IllegalArgumentException("Auction not found"));
+    // Store a batch of BidJournal entries (bids the BidEngine already accepted and acknowledged)
+    // in this one transaction: one UPDATE per auction with its latest state, multi-row bid INSERTs,
+    // one upsert per bidder and auction, and the proxy changes in order.
+    public void writeJournal(List<BidJournal.Entry> entries) {
+        LocalDateTime now = LocalDateTime.now();
         
-        // ✅ Changed from enum to String
-        if (!"ACTIVE".equals(auction.getStatus())) {
-            throw new IllegalArgumentException("Auction is not active. Status: " + auction.getStatus());
+        Map<Long, BidJournal.Entry> latestByAuction = new LinkedHashMap<>();
+        for (BidJournal.Entry entry : entries) {
+            if (!entry.bids().isEmpty()) {
+                latestByAuction.put(entry.auctionId(), entry);
+            }
         }
         
-        // Check if auction expired
-        if (auction.getEndTime().isBefore(LocalDateTime.now())) {
-            throw new IllegalArgumentException("Auction has ended");
+        // The UPDATE only applies while the auction is ACTIVE. Closing and cancelling stop the
+        // engine's bidding and wait for the journal first, so this should never find a closed one;
+        // if it does, the auction keeps the winner it closed with and these bids are not stored.
+        // An ACTIVE row already past this state means another engine wrote to it: nothing in
+        // the batch is stored and the journal retries it, so the backlog shows up in its health.
+        Set<Long> closed = new HashSet<>();
+        for (BidJournal.Entry entry : latestByAuction.values()) {
+            BidJournal.JournalBid last = entry.lastBid();
+            int updated = auctionRepository.applyBidState(entry.auctionId(), entry.currentPrice(), entry.bidCount(),
+                last.id(), last.bidderId(), entry.endTime(), now);
+            if (updated == 0) {
+                String status = auctionRepository.findStatusById(entry.auctionId()).orElse(null);
+                if ("ACTIVE".equals(status)) {
+                    throw new OptimisticLockingFailureException(String.format(
+                        "Auction %d is already past %d bids at ₹%.2f; another instance is taking its bids",
+                        entry.auctionId(), entry.bidCount(), entry.currentPrice()));
+                }
+                closed.add(entry.auctionId());
+            }
         }
-        
-        // Seller cannot bid on own auction
-        if (auction.getSeller().getId().equals(bidderId)) {
-            throw new IllegalArgumentException("Sellers cannot bid on their own auctions");
+        if (!closed.isEmpty()) {
+            log.error("Dropping acknowledged bids on auctions closed before they were stored: {}", closed);
         }
         
-        // Validate bid amount
-        Double currentPrice = auction.getCurrentPrice() != null ? 
-                              auction.getCurrentPrice() : auction.getStartingPrice();
-        Double minimumBid = currentPrice + minBidIncrement;
+        List<BidJournal.Entry> open = entries.stream()
+            .filter(entry -> !closed.contains(entry.auctionId()))
+            .toList();
         
-        if (amount < minimumBid) {
-            throw new IllegalArgumentException(
-                String.format("Bid must be at least ₹%.2f (current price ₹%.2f + minimum increment ₹%.2f)", 
-                    minimumBid, currentPrice, minBidIncrement)
-            );
-        }
+        insertBids(open);
         
-        // Mark old winning bid as not winning
-        Optional<Bid> currentWinningBid = bidRepository.findByAuctionIdAndIsWinningTrue(auctionId);
-        if (currentWinningBid.isPresent()) {
-            Bid oldWinner = currentWinningBid.get();
-            oldWinner.setIsWinning(false);
-            bidRepository.save(oldWinner);
+        Map<ParticipationKey, ParticipationDelta> participations = new LinkedHashMap<>();
+        for (BidJournal.Entry entry : open) {
+            for (BidJournal.JournalBid bid : entry.bids()) {
+                participations.merge(new ParticipationKey(bid.bidderId(), entry.auctionId()),
+                    new ParticipationDelta(bid, entry.acceptedAt(), 1),
+                    (older, newer) -> new ParticipationDelta(newer.lastBid(), newer.bidTime(), older.bids() + 1));
+            }
+            if (entry.proxyBidderId() != null) {
+                if (entry.proxyWithdrawn()) {
+                    proxyBidRepository.deleteByAuctionIdAndBidderId(entry.auctionId(), entry.proxyBidderId());
+                } else {
+                    saveProxyBid(entry.auctionId(), entry.proxyBidderId(), entry.proxyMaxAmount(), entry.acceptedAt());
+                }
+            }
         }
         
-        // Create new bid
-        Bid newBid = new Bid();
-        newBid.setAuction(auction);
-        newBid.setBidder(findUserById(bidderId));
-        newBid.setAmount(amount);
-        newBid.setIsWinning(true);
+        participations.forEach((key, delta) -> recordParticipation(key.userId(), key.auctionId(),
+            delta.lastBid().id(), delta.lastBid().amount(), delta.bidTime(), delta.bids()));
+    }
+    
+    // Startup: store journal entries a previous run acknowledged but never committed.
+    // Batches commit in journal order, so everything up to the last entry whose bids
+    // are already in the table is stored; the rest is written again, in order.
+    public int replayJournal(List<BidJournal.Entry> entries) {
+        int from = 0;
+        for (int i = entries.size() - 1; i >= 0; i--) {
+            BidJournal.JournalBid last = entries.get(i).lastBid();
+            if (last != null && bidRepository.existsById(last.id())) {
+                from = i + 1;
+                break;
+            }
+        }
         
-        Bid savedBid = bidRepository.save(newBid);
+        List<BidJournal.Entry> missing = entries.subList(from, entries.size());
+        if (!missing.isEmpty()) {
+            writeJournal(missing);
+        }
+        return missing.size();
+    }
+    
+    private void insertBids(List<BidJournal.Entry> entries) {
+        List<Object> args = new ArrayList<>();
+        int rows = 0;
         
-        // Update auction's current highest
-        auction.setCurrentPrice(amount);
-        auctionRepository.save(auction);
+        for (BidJournal.Entry entry : entries) {
+            for (BidJournal.JournalBid bid : entry.bids()) {
+                args.addAll(List.of(bid.id(), entry.auctionId(), bid.bidderId(), bid.amount(), false, entry.acceptedAt()));
+                if (++rows == BIDS_PER_INSERT) {
+                    insertBidRows(rows, args);
+                    args.clear();
+                    rows = 0;
+                }
+            }
+        }
         
-        return savedBid;
+        if (rows > 0) {
+            insertBidRows(rows, args);
+        }
+    }
+    
+    private void insertBidRows(int rows, List<Object> args) {
+        String values = String.join(", ", Collections.nCopies(rows, "(?, ?, ?, ?, ?, ?)"));
+        jdbcTemplate.update("INSERT INTO bids (id, auction_id, bidder_id, amount, is_winning, bid_time) VALUES " + values,
+            args.toArray());
     }
     
+    private void saveProxyBid(Long auctionId, Long bidderId, Double maxAmount, LocalDateTime now) {
+        int updated = proxyBidRepository.updateMaxAmount(auctionId, bidderId, maxAmount, now);
+        if (updated == 0) {
+            ProxyBid proxyBid = new ProxyBid();
+            proxyBid.setAuctionId(auctionId);
+            proxyBid.setBidderId(bidderId);
+            proxyBid.setMaxAmount(maxAmount);
+            proxyBid.setUpdatedAt(now);
+            proxyBidRepository.save(proxyBid);
+        }
+    }
+    
+    // Keep the user's participation row pointing at their latest bid on this auction
+    private void recordParticipation(Long userId, Long auctionId, Long lastBidId, Double lastBidAmount,
+                                     LocalDateTime lastBidTime, long bids) {
+        int updated = participationRepository.recordBids(userId, auctionId, lastBidId, lastBidAmount, lastBidTime, bids);
+        if (updated == 0) {
+            UserAuctionParticipation participation = new UserAuctionParticipation();
+            participation.setUserId(userId);
+            participation.setAuctionId(auctionId);
+            participation.setLastBidId(lastBidId);
+            participation.setLastBidAmount(lastBidAmount);
+            participation.setLastBidTime(lastBidTime);
+            participation.setBidCount(bids);
+            participationRepository.save(participation);
+        }
+    }
+    
+    private record ParticipationKey(Long userId, Long auctionId) {}
+    
+    private record ParticipationDelta(BidJournal.JournalBid lastBid, LocalDateTime bidTime, long bids) {}
+    
     // Get all bids for auction
     public List<Bid> getBidsForAuction(Long auctionId) {
         return bidRepository.findByAuctionIdOrderByAmountDesc(auctionId);
@@ -97,30 +203,45 @@ public class BidService {
         return bidRepository.findByBidderId(bidderId);
     }
     
+    // Activity pages: read-only, so they can be served by the read replica
+    @Transactional(readOnly = true)
+    public List<BidResponse> getBidResponsesByUser(Long bidderId) {
+        return bidRepository.findResponsesByBidderId(bidderId);
+    }
+    
+    @Transactional(readOnly = true)
+    public List<UserBidSummary> getBidSummaries(String email) {
+        return participationRepository.findBidSummaries(email);
+    }
+    
+    @Transactional(readOnly = true)
+    public List<WonAuctionSummary> getWonAuctions(String email, LocalDateTime now) {
+        return participationRepository.findWonAuctions(email, now);
+    }
+    
     // Get winning bid
     public Optional<Bid> getWinningBid(Long auctionId) {
-        return bidRepository.findByAuctionIdAndIsWinningTrue(auctionId);
+        return auctionRepository.findById(auctionId)
+            .map(Auction::getWinningBidId)
+            .flatMap(bidRepository::findById);
     }
     
     // Get bid count
     public long getBidCount(Long auctionId) {
-        return bidRepository.countByAuctionId(auctionId);
+        return auctionRepository.findById(auctionId)
+            .map(Auction::getBidCount)
+            .orElse(0L);
     }
     
     // Check if user is winning
     public boolean isUserWinning(Long auctionId, Long bidderId) {
-        Optional<Bid> winningBid = bidRepository.findByAuctionIdAndIsWinningTrue(auctionId);
-        return winningBid.isPresent() && winningBid.get().getBidder().getId().equals(bidderId);
+        return auctionRepository.findById(auctionId)
+            .map(auction -> bidderId.equals(auction.getWinningBidderId()))
+            .orElse(false);
     }
     
     // Get highest bid amount
     public Double getHighestBidAmount(Long auctionId) {
         return bidRepository.findMaxBidAmount(auctionId);
     }
-    
-    // Helper method to find user
-    private User findUserById(Long id) {
-        return userRepository.findById(id)
-            .orElseThrow(() -> new IllegalArgumentException("User not found with ID: " + id));
-    }
 }
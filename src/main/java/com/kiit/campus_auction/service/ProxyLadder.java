@@ -0,0 +1,86 @@
+package com.kiit.campus_auction.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Resolves proxy (auto) bids on one auction.
+ *
+ * Given the price and leader after an incoming bid, works out the bids the registered
+ * proxies place on their owners' behalf. Instead of walking up one increment at a time,
+ * each exchange jumps straight to its outcome: the weaker side goes all in and the
+ * stronger one answers one increment above (never past its own maximum). Every proxy
+ * drops out after at most one exchange, so a war between n proxies is at most 2n steps.
+ *
+ * Ties: a challenger takes the lead only by clearing the leader's maximum by a full
+ * increment, so on equal maximums (or within one increment) the current leader keeps
+ * the lead. Among challengers with equal maximums, the one registered first goes first.
+ */
+final class ProxyLadder {
+
+    record Proxy(Long bidderId, double maxAmount, long order) {}
+
+    record Step(Long bidderId, double amount) {}
+
+    private ProxyLadder() {}
+
+    static List<Step> resolve(double price, Long leaderId, Collection<Proxy> proxies, double increment) {
+        List<Step> steps = new ArrayList<>();
+
+        while (true) {
+            Proxy challenger = strongestChallenger(proxies, leaderId, price + increment);
+            if (challenger == null) {
+                return steps;
+            }
+
+            Proxy leaderProxy = leaderId != null ? find(proxies, leaderId) : null;
+            double leaderCap = leaderProxy != null ? Math.max(leaderProxy.maxAmount(), price) : price;
+
+            if (leaderCap >= challenger.maxAmount() + increment) {
+                // Leader holds: challenger goes all in, leader answers one increment above
+                steps.add(new Step(challenger.bidderId(), challenger.maxAmount()));
+                price = challenger.maxAmount() + increment;
+                steps.add(new Step(leaderId, price));
+                continue;
+            }
+
+            if (leaderCap >= price + increment) {
+                // Leader's proxy goes all in first
+                price = leaderCap;
+                steps.add(new Step(leaderId, price));
+                if (challenger.maxAmount() < price + increment) {
+                    // Challenger can't clear it by an increment; the leader keeps the lead
+                    continue;
+                }
+            }
+
+            price = price + increment;
+            steps.add(new Step(challenger.bidderId(), price));
+            leaderId = challenger.bidderId();
+        }
+    }
+
+    private static Proxy strongestChallenger(Collection<Proxy> proxies, Long leaderId, double minimumBid) {
+        Proxy best = null;
+        for (Proxy proxy : proxies) {
+            if (proxy.bidderId().equals(leaderId) || proxy.maxAmount() < minimumBid) {
+                continue;
+            }
+            if (best == null || proxy.maxAmount() > best.maxAmount()
+                    || (proxy.maxAmount() == best.maxAmount() && proxy.order() < best.order())) {
+                best = proxy;
+            }
+        }
+        return best;
+    }
+
+    private static Proxy find(Collection<Proxy> proxies, Long bidderId) {
+        for (Proxy proxy : proxies) {
+            if (proxy.bidderId().equals(bidderId)) {
+                return proxy;
+            }
+        }
+        return null;
+    }
+}
@@ -1,11 +1,16 @@
 package com.kiit.campus_auction.service;
 
+import com.kiit.campus_auction.config.CacheConfig;
 import com.kiit.campus_auction.model.User;
 import com.kiit.campus_auction.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,6 +24,9 @@ public class UserService {
     @Autowired
     private PasswordEncoder passwordEncoder;
     
+    @Autowired
+    private CacheManager cacheManager;
+    
     public User registerUser(User user) {
         if (!user.getEmail().endsWith("@kiit.ac.in")) {
             throw new IllegalArgumentException("Only KIIT email addresses allowed");
@@ -51,14 +59,18 @@ public class UserService {
         return user;
     }
     
+    // ✅ Cached lookups; misses aren't cached, so a user is found right after registering
+    @Cacheable(cacheNames = CacheConfig.USERS, unless = "#result == null")
     public Optional<User> getUserById(Long id) {
         return userRepository.findById(id);
     }
     
+    @Cacheable(cacheNames = CacheConfig.USERS_BY_EMAIL, unless = "#result == null")
     public Optional<User> getUserByEmail(String email) {
         return userRepository.findByEmail(email);
     }
     
+    @Cacheable(cacheNames = CacheConfig.USERS_BY_PHONE, unless = "#result == null")
     public Optional<User> getUserByPhone(String phone) {
         return userRepository.findByPhone(phone);
     }
@@ -77,6 +89,7 @@ public class UserService {
         
         user.setTrustScore(newScore);
         userRepository.save(user);
+        evictAfterCommit(user);
     }
     
     public void incrementAuctionCount(Long userId) {
@@ -85,6 +98,7 @@ public class UserService {
         
         user.setTotalAuctions(user.getTotalAuctions() + 1);
         userRepository.save(user);
+        evictAfterCommit(user);
     }
     
     public void incrementCompletedSales(Long userId) {
@@ -99,5 +113,19 @@ public class UserService {
         }
         
         userRepository.save(user);
+        evictAfterCommit(user);
+    }
+    
+    // Drop the user from all three caches once the change is committed; evicting earlier
+    // would let a concurrent lookup cache the old row again before the commit
+    private void evictAfterCommit(User user) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cacheManager.getCache(CacheConfig.USERS).evict(user.getId());
+                cacheManager.getCache(CacheConfig.USERS_BY_EMAIL).evict(user.getEmail());
+                cacheManager.getCache(CacheConfig.USERS_BY_PHONE).evict(user.getPhone());
+            }
+        });
     }
 }
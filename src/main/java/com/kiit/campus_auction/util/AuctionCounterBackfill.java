@@ -0,0 +1,19 @@
+package com.kiit.campus_auction.util;
+
+import com.kiit.campus_auction.service.AuctionCounterService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+
+// Fills bid_count / winning_bid_id / winning_bidder_id on auctions created before those columns existed
+@Component
+public class AuctionCounterBackfill implements CommandLineRunner {
+    
+    @Autowired
+    private AuctionCounterService auctionCounterService;
+    
+    @Override
+    public void run(String... args) throws Exception {
+        auctionCounterService.backfill();
+    }
+}
@@ -0,0 +1,33 @@
+package com.kiit.campus_auction.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes a stream of rows to an output stream as one JSON array, each row serialized and
+ * handed to the stream as soon as it is read. Nothing holds the whole list, so a listing
+ * of any size needs the memory of one row plus Jackson's output buffer.
+ *
+ * The output stream is flushed but left open; it belongs to the caller.
+ */
+public final class JsonArrayWriter {
+
+    private JsonArrayWriter() {
+    }
+
+    public static void write(ObjectMapper objectMapper, Stream<?> rows, OutputStream out) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartArray();
+            for (Iterator<?> it = rows.iterator(); it.hasNext(); ) {
+                generator.writeObject(it.next());
+            }
+            generator.writeEndArray();
+        }
+    }
+}
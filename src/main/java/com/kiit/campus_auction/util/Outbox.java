@@ -0,0 +1,93 @@
+package com.kiit.campus_auction.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Ordered, bounded hand-off to one slow consumer (a WebSocket session, an SSE response).
+ *
+ * offer() never blocks: deliveries run one at a time, in the order offered, on the given
+ * executor. With fanOutExecutor() each draining outbox gets its own virtual thread, so a
+ * client that stops reading parks only that thread and holds up nothing but its own
+ * outbox, however many clients are stuck. Once more than limit deliveries are waiting the
+ * outbox overflows: onOverflow runs once and everything offered after that is dropped,
+ * as is anything after close().
+ */
+public class Outbox {
+
+    private static final Logger log = LoggerFactory.getLogger(Outbox.class);
+
+    private final Executor executor;
+    private final int limit;
+    private final Runnable onOverflow;
+
+    private final Queue<Runnable> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    public Outbox(Executor executor, int limit, Runnable onOverflow) {
+        this.executor = executor;
+        this.limit = limit;
+        this.onOverflow = onOverflow;
+    }
+
+    // Thread per task, on virtual threads: no shared pool for blocked writes to use up
+    public static ExecutorService fanOutExecutor(String name) {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(name + "-", 0).factory());
+    }
+
+    public void offer(Runnable delivery) {
+        if (closed.get()) {
+            return;
+        }
+        if (size.incrementAndGet() > limit) {
+            size.decrementAndGet();
+            if (closed.compareAndSet(false, true)) {
+                onOverflow.run();
+            }
+            return;
+        }
+
+        pending.add(delivery);
+        if (draining.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    // Drop whatever is still waiting, and anything offered from now on
+    public void close() {
+        closed.set(true);
+    }
+
+    public boolean isClosed() {
+        return closed.get();
+    }
+
+    private void drain() {
+        do {
+            Runnable delivery;
+            while ((delivery = pending.poll()) != null) {
+                size.decrementAndGet();
+                if (closed.get()) {
+                    continue;
+                }
+                try {
+                    delivery.run();
+                } catch (RuntimeException e) {
+                    log.warn("Outbox delivery failed: {}", e.getMessage());
+                }
+            }
+            draining.set(false);
+            // Something offered after the last poll but before the flag was cleared
+        } while (!pending.isEmpty() && draining.compareAndSet(false, true));
+    }
+}
@@ -0,0 +1,35 @@
+package com.kiit.campus_auction.util;
+
+import com.kiit.campus_auction.repository.BidRepository;
+import com.kiit.campus_auction.repository.UserAuctionParticipationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+// Fills user_auction_participation from existing bids the first time it starts empty
+@Component
+public class ParticipationBackfill implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ParticipationBackfill.class);
+    
+    @Autowired
+    private UserAuctionParticipationRepository participationRepository;
+    
+    @Autowired
+    private BidRepository bidRepository;
+    
+    @Override
+    @Transactional
+    public void run(String... args) throws Exception {
+        if (participationRepository.count() > 0 || bidRepository.count() == 0) {
+            return;
+        }
+        
+        log.info("Backfilling auction participation from existing bids");
+        int rows = participationRepository.backfillFromBids();
+        log.info("Backfilled {} participation rows", rows);
+    }
+}
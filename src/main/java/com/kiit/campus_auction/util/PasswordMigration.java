@@ -2,6 +2,8 @@ package com.kiit.campus_auction.util;
 
 import com.kiit.campus_auction.model.User;
 import com.kiit.campus_auction.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -11,6 +13,8 @@ import java.util.List;
 
 @Component
 public class PasswordMigration implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordMigration.class);
     
     @Autowired
     private UserRepository userRepository;
@@ -20,7 +24,7 @@ public class PasswordMigration implements CommandLineRunner {
     
     @Override
     public void run(String... args) throws Exception {
-        System.out.println("🔒 Checking for plain text passwords...");
+        log.info("Checking for plain text passwords");
         
         List<User> users = userRepository.findAll();
         int updated = 0;
@@ -30,22 +34,22 @@ public class PasswordMigration implements CommandLineRunner {
             
             // BCrypt hashes start with "$2a$" or "$2b$"
             if (!password.startsWith("$2a$") && !password.startsWith("$2b$")) {
-                System.out.println("⚠️  Found plain text password for: " + user.getEmail());
+                log.warn("Found plain text password for {}", user.getEmail());
                 
                 // Hash the plain text password
                 String hashedPassword = passwordEncoder.encode(password);
                 user.setPassword(hashedPassword);
                 userRepository.save(user);
                 
-                System.out.println("✅ Updated password for: " + user.getEmail());
+                log.info("Updated password for {}", user.getEmail());
                 updated++;
             }
         }
         
         if (updated == 0) {
-            System.out.println("✅ All passwords are already hashed!");
+            log.info("All passwords are already hashed");
         } else {
-            System.out.println("✅ Updated " + updated + " passwords!");
+            log.info("Updated {} passwords", updated);
         }
     }
 }
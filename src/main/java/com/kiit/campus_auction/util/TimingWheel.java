@@ -0,0 +1,146 @@
+package com.kiit.campus_auction.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hierarchical timing wheel keyed by id.
+ *
+ * Level 0 has one slot per tick; every slot of level n spans a full turn of level n-1.
+ * An entry sits in the finest level whose range covers its deadline and drops one
+ * level each time its coarse slot comes up, so scheduling, cancelling and advancing
+ * are O(1) per entry no matter how far away the deadline is. Deadlines past the top
+ * level wait in an overflow list that is re-checked once per top-level tick.
+ *
+ * Ids fire at the first tick boundary at or after their deadline, never before it.
+ * Rescheduling or cancelling leaves the old entry in its slot; it is skipped when it fires.
+ *
+ * Not thread-safe: drive it from a single thread.
+ */
+public class TimingWheel {
+
+    private record Entry(long id, long deadline) {}
+
+    private final long[] tickMs;
+    private final int slotsPerLevel;
+    private final List<Entry>[][] slots;
+    private final List<Entry> overflow = new ArrayList<>();
+    private final List<Entry> ready = new ArrayList<>();
+
+    // Id -> its current deadline; anything in a slot that disagrees is stale
+    private final Map<Long, Long> deadlines = new HashMap<>();
+
+    private long currentTime;
+
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickMs, int slotsPerLevel, int levels, long startMs) {
+        if (tickMs <= 0 || slotsPerLevel < 2 || levels < 1) {
+            throw new IllegalArgumentException("Invalid timing wheel shape");
+        }
+
+        this.tickMs = new long[levels];
+        this.slotsPerLevel = slotsPerLevel;
+        this.slots = new List[levels][slotsPerLevel];
+
+        for (int level = 0; level < levels; level++) {
+            this.tickMs[level] = level == 0 ? tickMs : this.tickMs[level - 1] * slotsPerLevel;
+            for (int slot = 0; slot < slotsPerLevel; slot++) {
+                slots[level][slot] = new ArrayList<>();
+            }
+        }
+
+        this.currentTime = startMs - Math.floorMod(startMs, tickMs);
+    }
+
+    // Schedule id at deadlineMs, replacing any earlier deadline for it
+    public void schedule(long id, long deadlineMs) {
+        Long previous = deadlines.put(id, deadlineMs);
+        if (previous == null || previous != deadlineMs) {
+            place(new Entry(id, deadlineMs));
+        }
+    }
+
+    public void cancel(long id) {
+        deadlines.remove(id);
+    }
+
+    public boolean isScheduled(long id) {
+        return deadlines.containsKey(id);
+    }
+
+    public int size() {
+        return deadlines.size();
+    }
+
+    // Move the wheel up to nowMs; returns the ids whose deadline has passed, in firing order
+    public List<Long> advance(long nowMs) {
+        long tick = tickMs[0];
+        int top = tickMs.length - 1;
+
+        while (currentTime + tick <= nowMs) {
+            currentTime += tick;
+
+            // Drain level 0 first: anything placed below lands in a later slot or straight in ready
+            List<Entry> due = slot(0, currentTime);
+            ready.addAll(due);
+            due.clear();
+
+            if (currentTime % tickMs[top] == 0 && !overflow.isEmpty()) {
+                List<Entry> waiting = new ArrayList<>(overflow);
+                overflow.clear();
+                waiting.forEach(this::place);
+            }
+
+            // Coarse slots starting now hand their entries down, top level first
+            for (int level = top; level >= 1; level--) {
+                if (currentTime % tickMs[level] == 0) {
+                    List<Entry> slot = slot(level, currentTime);
+                    List<Entry> moving = new ArrayList<>(slot);
+                    slot.clear();
+                    moving.forEach(this::place);
+                }
+            }
+        }
+
+        List<Long> fired = new ArrayList<>();
+        for (Entry entry : ready) {
+            if (deadlines.remove(entry.id(), entry.deadline())) {
+                fired.add(entry.id());
+            }
+        }
+        ready.clear();
+        return fired;
+    }
+
+    private void place(Entry entry) {
+        // Level 0 rounds up so an entry never fires before its deadline
+        long tick = tickMs[0];
+        long slotTime = Math.floorDiv(entry.deadline() + tick - 1, tick) * tick;
+        if (slotTime <= currentTime) {
+            ready.add(entry);
+            return;
+        }
+        if (slotTime <= currentTime + tick * slotsPerLevel) {
+            slot(0, slotTime).add(entry);
+            return;
+        }
+
+        // Coarser levels round down: the slot opens when the entry must move to a finer level
+        for (int level = 1; level < tickMs.length; level++) {
+            long levelTick = tickMs[level];
+            slotTime = Math.floorDiv(entry.deadline(), levelTick) * levelTick;
+            if (slotTime < currentTime + levelTick * slotsPerLevel) {
+                slot(level, slotTime).add(entry);
+                return;
+            }
+        }
+
+        overflow.add(entry);
+    }
+
+    private List<Entry> slot(int level, long time) {
+        return slots[level][(int) Math.floorMod(time / tickMs[level], (long) slotsPerLevel)];
+    }
+}
@@ -0,0 +1,22 @@
+-- Bid count, winning bid and optimistic-lock version on the auction row, filled in
+-- for auctions that already have bids. Ties go to the earliest bid, as everywhere else.
+-- IF NOT EXISTS: a database Hibernate once updated in place may have some of these already.
+
+ALTER TABLE auctions ADD COLUMN IF NOT EXISTS bid_count bigint;
+ALTER TABLE auctions ADD COLUMN IF NOT EXISTS winning_bid_id bigint;
+ALTER TABLE auctions ADD COLUMN IF NOT EXISTS winning_bidder_id bigint;
+ALTER TABLE auctions ADD COLUMN IF NOT EXISTS version bigint;
+
+UPDATE auctions SET version = 0 WHERE version IS NULL;
+
+UPDATE auctions a SET bid_count = (SELECT COUNT(*) FROM bids b WHERE b.auction_id = a.id)
+WHERE a.bid_count IS NULL;
+
+UPDATE auctions a SET winning_bid_id = (
+    SELECT MIN(w.id) FROM bids w
+    WHERE w.auction_id = a.id
+      AND w.amount = (SELECT MAX(w2.amount) FROM bids w2 WHERE w2.auction_id = a.id))
+WHERE a.winning_bid_id IS NULL;
+
+UPDATE auctions a SET winning_bidder_id = (SELECT w.bidder_id FROM bids w WHERE w.id = a.winning_bid_id)
+WHERE a.winning_bidder_id IS NULL AND a.winning_bid_id IS NOT NULL;
@@ -0,0 +1,4 @@
+-- Per-auction soft close (anti-sniping); null on existing auctions means a hard close.
+
+ALTER TABLE auctions ADD COLUMN IF NOT EXISTS soft_close_window_seconds integer;
+ALTER TABLE auctions ADD COLUMN IF NOT EXISTS soft_close_extension_seconds integer;
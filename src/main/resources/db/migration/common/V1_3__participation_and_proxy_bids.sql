@@ -0,0 +1,24 @@
+-- One row per (user, auction) a user has bid on, for My Bids and won auctions.
+-- Filled from the existing bids by ParticipationBackfill on the first start.
+create table if not exists user_auction_participation (
+    id bigint generated by default as identity,
+    user_id bigint not null,
+    auction_id bigint not null,
+    last_bid_id bigint not null,
+    last_bid_amount float(53) not null,
+    last_bid_time timestamp(6) not null,
+    bid_count bigint not null,
+    primary key (id),
+    unique (user_id, auction_id)
+);
+
+-- Proxy (auto) bids: one maximum per bidder per auction
+create table if not exists proxy_bids (
+    id bigint generated by default as identity,
+    auction_id bigint not null,
+    bidder_id bigint not null,
+    max_amount float(53) not null,
+    updated_at timestamp(6) not null,
+    primary key (id),
+    unique (auction_id, bidder_id)
+);
@@ -0,0 +1,52 @@
+-- Schema as Hibernate created it before Flyway took over: the entities as they were
+-- before bid counters, soft close, proxy bids and sequences. Existing databases are
+-- baselined at this version and get everything after it from V1_1 on.
+
+create table users (
+    id bigint generated by default as identity,
+    name varchar(255) not null,
+    email varchar(255) not null unique,
+    password varchar(255) not null,
+    phone varchar(255) not null unique,
+    hostel varchar(255) not null,
+    batch varchar(255) not null,
+    branch varchar(255) not null,
+    trust_score float(53),
+    total_auctions integer,
+    completed_sales integer,
+    created_at timestamp(6),
+    primary key (id)
+);
+
+create table auctions (
+    id bigint generated by default as identity,
+    title varchar(255) not null,
+    description varchar(1000),
+    category varchar(255) not null,
+    item_condition varchar(255),
+    hostel_preference varchar(255),
+    is_quick_auction boolean,
+    starting_price float(53) not null,
+    current_price float(53),
+    start_time timestamp(6),
+    end_time timestamp(6),
+    status varchar(255) not null,
+    seller_id bigint not null,
+    seller_email varchar(255),
+    created_at timestamp(6),
+    updated_at timestamp(6),
+    primary key (id),
+    constraint fk_auctions_seller foreign key (seller_id) references users (id)
+);
+
+create table bids (
+    id bigint generated by default as identity,
+    auction_id bigint not null,
+    bidder_id bigint not null,
+    amount float(53) not null,
+    is_winning boolean not null,
+    bid_time timestamp(6) not null,
+    primary key (id),
+    constraint fk_bids_auction foreign key (auction_id) references auctions (id),
+    constraint fk_bids_bidder foreign key (bidder_id) references users (id)
+);
@@ -0,0 +1,21 @@
+-- Indexes for the queries the application actually runs. Columns go equality first,
+-- then the range / ORDER BY column, so each query reads one contiguous slice of the index.
+
+-- Leaderboard and top bid (findByAuctionIdOrderByAmountDesc, findFirstByAuctionIdOrderByAmountDesc,
+-- findMaxBidAmount, countByAuctionId) and the winning-bid recompute (MIN(id) at MAX(amount))
+CREATE INDEX IF NOT EXISTS idx_bids_auction_amount ON bids (auction_id, amount DESC, id);
+
+-- A bidder's history (findByBidderId)
+CREATE INDEX IF NOT EXISTS idx_bids_bidder ON bids (bidder_id);
+
+-- Active listings, expiry and the endTime-sorted page (findByStatus, findByStatusAndEndTimeBefore, findPage)
+CREATE INDEX IF NOT EXISTS idx_auctions_status_end_time ON auctions (status, end_time, id);
+
+-- Category browsing (findByCategoryAndStatus, and findByCategory on the leading column)
+CREATE INDEX IF NOT EXISTS idx_auctions_category_status ON auctions (category, status, end_time);
+
+-- Seller's auctions (findBySellerId, countAuctionsBySeller, findSellerSummaries)
+CREATE INDEX IF NOT EXISTS idx_auctions_seller ON auctions (seller_id);
+
+-- user_auction_participation and proxy_bids are only read by (user_id, ...) / (auction_id, ...),
+-- which their unique keys already cover.
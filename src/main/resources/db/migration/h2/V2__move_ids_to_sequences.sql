@@ -0,0 +1,14 @@
+-- Same as the PostgreSQL version: user, auction and bid ids come from pooled sequences
+-- (blocks of 50, pooled-lo) starting above the ids already in use.
+
+CREATE SEQUENCE IF NOT EXISTS user_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE user_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM users);
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY;
+
+CREATE SEQUENCE IF NOT EXISTS auction_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE auction_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM auctions);
+ALTER TABLE auctions ALTER COLUMN id DROP IDENTITY;
+
+CREATE SEQUENCE IF NOT EXISTS bid_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE bid_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM bids) INCREMENT BY 50;
+ALTER TABLE bids ALTER COLUMN id DROP IDENTITY;
@@ -0,0 +1,10 @@
+-- H2 creates an index of its own for every foreign key, and it shadows the V3 index
+-- on the same column. Re-creating the constraints once the V3 indexes exist makes H2
+-- back them with those instead, so plans here match PostgreSQL (which does not index
+-- foreign keys by itself). H2 only reuses an index with exactly the key's columns, so
+-- fk_bids_auction keeps its own index next to idx_bids_auction_amount.
+ALTER TABLE bids DROP CONSTRAINT fk_bids_bidder;
+ALTER TABLE bids ADD CONSTRAINT fk_bids_bidder FOREIGN KEY (bidder_id) REFERENCES users (id);
+
+ALTER TABLE auctions DROP CONSTRAINT fk_auctions_seller;
+ALTER TABLE auctions ADD CONSTRAINT fk_auctions_seller FOREIGN KEY (seller_id) REFERENCES users (id);
@@ -0,0 +1,23 @@
+-- User, auction and bid ids come from pooled sequences (blocks of 50, pooled-lo) so that
+-- Hibernate can batch inserts. Each sequence starts above the ids already in use, and the
+-- old identity / serial defaults are dropped so nothing else hands out ids from them.
+-- Runs at startup, before the application takes any ids of its own.
+
+CREATE SEQUENCE IF NOT EXISTS user_seq INCREMENT BY 50;
+SELECT setval('user_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM users), false);
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE users ALTER COLUMN id DROP DEFAULT;
+DROP SEQUENCE IF EXISTS users_id_seq;
+
+CREATE SEQUENCE IF NOT EXISTS auction_seq INCREMENT BY 50;
+SELECT setval('auction_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM auctions), false);
+ALTER TABLE auctions ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE auctions ALTER COLUMN id DROP DEFAULT;
+DROP SEQUENCE IF EXISTS auctions_id_seq;
+
+CREATE SEQUENCE IF NOT EXISTS bid_seq INCREMENT BY 50;
+ALTER SEQUENCE bid_seq INCREMENT BY 50;
+SELECT setval('bid_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM bids), false);
+ALTER TABLE bids ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE bids ALTER COLUMN id DROP DEFAULT;
+DROP SEQUENCE IF EXISTS bids_id_seq;
@@ -0,0 +1,5 @@
+-- Only a small share of auctions is ACTIVE at any time, and that share is what the
+-- expiry scheduler, the bid engine and the live feed read. A partial index keeps the
+-- ended auctions out of it entirely. H2 has no partial indexes and uses
+-- idx_auctions_status_end_time instead.
+CREATE INDEX IF NOT EXISTS idx_auctions_active_end_time ON auctions (end_time, id) WHERE status = 'ACTIVE';
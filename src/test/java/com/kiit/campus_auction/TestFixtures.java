@@ -0,0 +1,82 @@
+package com.kiit.campus_auction;
+
+import com.kiit.campus_auction.model.Auction;
+import com.kiit.campus_auction.model.User;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Unsaved users and auctions for tests; tests set whatever else they care about and save
+ * them (or hand them to AuctionService) themselves.
+ */
+public final class TestFixtures {
+
+    // Authorization header for the actuator user set in the test application.properties
+    public static final String ACTUATOR_AUTHORIZATION = "Basic "
+        + Base64.getEncoder().encodeToString("test-ops:test-secret".getBytes(StandardCharsets.UTF_8));
+
+    // Every fixture user logs in with this password; it's stored hashed, as registration would
+    public static final String PASSWORD = "x";
+    private static final String PASSWORD_HASH = new BCryptPasswordEncoder().encode(PASSWORD);
+
+    private TestFixtures() {
+    }
+
+    // A student whose email and phone are derived from the name, so names must be unique per database
+    public static User user(String name) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(name + "@kiit.ac.in");
+        user.setPassword(PASSWORD_HASH);
+        user.setPhone(name);
+        user.setHostel("KP-1");
+        user.setBatch("2026");
+        user.setBranch("CSE");
+        return user;
+    }
+
+    // Logs a saved user in through POST /api/users/login and returns the session cookie
+    // (JSESSIONID=...) to send on later requests, such as the bid socket handshake
+    public static String sessionCookie(int port, User user) throws Exception {
+        String body = String.format("{\"email\":\"%s\",\"password\":\"%s\"}", user.getEmail(), PASSWORD);
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/users/login"))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body))
+            .build();
+
+        HttpResponse<String> response = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login failed for " + user.getEmail() + ": " + response.body());
+        }
+        return response.headers().allValues("Set-Cookie").stream()
+            .filter(cookie -> cookie.startsWith("JSESSIONID="))
+            .map(cookie -> cookie.split(";", 2)[0])
+            .findFirst()
+            .orElseThrow(() -> new IllegalStateException("Login set no session cookie"));
+    }
+
+    // An ACTIVE auction ending in an hour
+    public static Auction auction(User seller) {
+        return auction(seller, LocalDateTime.now().plusHours(1));
+    }
+
+    public static Auction auction(User seller, LocalDateTime endTime) {
+        Auction auction = new Auction();
+        auction.setSeller(seller);
+        auction.setSellerEmail(seller.getEmail());
+        auction.setTitle("Test item");
+        auction.setCategory("BOOKS");
+        auction.setStartingPrice(100.0);
+        auction.setCurrentPrice(100.0);
+        auction.setStartTime(LocalDateTime.now());
+        auction.setEndTime(endTime);
+        return auction;
+    }
+}
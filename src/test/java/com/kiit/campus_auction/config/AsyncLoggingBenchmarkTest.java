@@ -0,0 +1,159 @@
+package com.kiit.campus_auction.config;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import ch.qos.logback.core.util.Duration;
+import net.logstash.logback.appender.LoggingEventAsyncDisruptorAppender;
+import net.logstash.logback.encoder.LogstashEncoder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.MDC;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.IntConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * What request threads pay per log line: the old System.out.println, a synchronous JSON
+ * appender, and the async ring-buffer appender from logback-spring.xml, each writing to a
+ * file from THREADS threads at once. Prints lines/s as seen by the callers and how many lines
+ * reached the file. This floods the buffer, so the dropping appender loses most lines; the
+ * waiting one shows what a single writer thread sustains.
+ * Run with: mvn test -Dtest=AsyncLoggingBenchmarkTest -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class AsyncLoggingBenchmarkTest {
+
+    private static final int THREADS = 16;
+    private static final int LINES_PER_THREAD = 50_000;
+    private static final int RING_BUFFER_SIZE = 8192;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void compareLoggingModes() throws Exception {
+        for (int round = 0; round < 2; round++) {
+            // The first round only warms up the JIT
+            boolean report = round == 1;
+            printlnToFile(report);
+            logback("Sync JSON   ", null, report);
+            // As configured: drop when the buffer is full
+            logback("Async (drop)", Duration.buildByMilliseconds(0), report);
+            // Never drop: callers wait for space, so this is bounded by the writer thread
+            logback("Async (wait)", Duration.buildByMilliseconds(-1), report);
+        }
+    }
+
+    private void printlnToFile(boolean report) throws Exception {
+        Path file = dir.resolve("println.log");
+        try (PrintStream out = new PrintStream(new FileOutputStream(file.toFile()), true)) {
+            double seconds = run(i -> out.println("📥 Received bid request: BidRequest(auctionId=" + (i % 100) +
+                ", bidderEmail=bidder" + i + "@kiit.ac.in, amount=" + (150.0 + i) + ")"));
+            if (report) {
+                print("println     ", seconds, lines(file));
+            }
+        }
+    }
+
+    private void logback(String label, Duration appendTimeout, boolean report) throws Exception {
+        Path file = dir.resolve(label.replaceAll("\\W", "") + ".log");
+        Files.deleteIfExists(file);
+
+        LoggerContext context = new LoggerContext();
+        context.setMDCAdapter(MDC.getMDCAdapter());
+        LogstashEncoder encoder = new LogstashEncoder();
+        encoder.setContext(context);
+        encoder.start();
+
+        FileAppender<ILoggingEvent> fileAppender = new FileAppender<>();
+        fileAppender.setContext(context);
+        fileAppender.setFile(file.toString());
+        fileAppender.setEncoder(encoder);
+        fileAppender.start();
+
+        Appender<ILoggingEvent> appender = fileAppender;
+        if (appendTimeout != null) {
+            LoggingEventAsyncDisruptorAppender ring = new LoggingEventAsyncDisruptorAppender();
+            ring.setContext(context);
+            ring.setRingBufferSize(RING_BUFFER_SIZE);
+            ring.setAppendTimeout(appendTimeout);
+            ring.addAppender(fileAppender);
+            ring.start();
+            appender = ring;
+        }
+
+        Logger log = context.getLogger("com.kiit.campus_auction.controller.BidController");
+        log.setAdditive(false);
+        log.addAppender(appender);
+
+        double seconds = run(i -> {
+            MDC.put(CorrelationIdFilter.MDC_KEY, "req-" + i);
+            try {
+                log.info("Received bid request: {}", "BidRequest(auctionId=" + (i % 100) +
+                    ", bidderEmail=bidder" + i + "@kiit.ac.in, amount=" + (150.0 + i) + ")");
+            } finally {
+                MDC.remove(CorrelationIdFilter.MDC_KEY);
+            }
+        });
+        context.stop();
+
+        if (report) {
+            print(label, seconds, lines(file));
+        }
+    }
+
+    private double run(IntConsumer line) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int offset = t * LINES_PER_THREAD;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < LINES_PER_THREAD; i++) {
+                    line.accept(offset + i);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return (System.nanoTime() - begin) / 1e9;
+    }
+
+    private long lines(Path file) throws IOException {
+        try (var stream = Files.lines(file)) {
+            return stream.count();
+        }
+    }
+
+    private void print(String label, double seconds, long written) {
+        long total = (long) THREADS * LINES_PER_THREAD;
+        System.out.printf("%s %8d lines in %6.0f ms  %10.0f lines/s  %8d written%n",
+            label, total, seconds * 1000, total / seconds, written);
+        if (!label.contains("drop")) {
+            assertEquals(total, written);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.kiit.campus_auction.config;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.kiit.campus_auction.TestFixtures;
+import com.kiit.campus_auction.controller.AuctionController;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Every request gets a requestId that comes back in X-Request-Id and tags its log lines,
+ * and controller debug logging can be switched on at runtime through /actuator/loggers,
+ * by the actuator user only.
+ */
+@SpringBootTest(properties = "management.endpoints.web.exposure.include=health,loggers")
+@AutoConfigureMockMvc
+class CorrelationIdFilterTest {
+
+    private static final String CONTROLLER_LOGGER = "com.kiit.campus_auction.controller";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private final ListAppender<ILoggingEvent> captured = new ListAppender<>();
+
+    @BeforeEach
+    void capture() {
+        captured.start();
+        ((Logger) LoggerFactory.getLogger(AuctionController.class)).addAppender(captured);
+    }
+
+    @AfterEach
+    void release() throws Exception {
+        ((Logger) LoggerFactory.getLogger(AuctionController.class)).detachAppender(captured);
+        setLevel(null);
+    }
+
+    @Test
+    void requestIdIsEchoedOrGenerated() throws Exception {
+        mockMvc.perform(get("/api/auctions/-1/bid-count").header(CorrelationIdFilter.HEADER, "edge-1234"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(CorrelationIdFilter.HEADER, "edge-1234"));
+
+        String generated = mockMvc.perform(get("/api/auctions/-1/bid-count"))
+            .andReturn().getResponse().getHeader(CorrelationIdFilter.HEADER);
+        assertNotNull(generated);
+
+        // Anything that doesn't look like an id is not copied into logs and headers
+        String replaced = mockMvc.perform(get("/api/auctions/-1/bid-count")
+                .header(CorrelationIdFilter.HEADER, "bad id\n{\"level\":\"ERROR\"}"))
+            .andReturn().getResponse().getHeader(CorrelationIdFilter.HEADER);
+        assertNotEquals(generated, replaced);
+        assertFalse(replaced.contains(" "));
+    }
+
+    @Test
+    void debugLinesAppearAtRuntimeTaggedWithTheRequestId() throws Exception {
+        mockMvc.perform(get("/api/auctions/-1/bid-count").header(CorrelationIdFilter.HEADER, "before-switch"))
+            .andExpect(status().isOk());
+        assertTrue(captured.list.isEmpty());
+
+        setLevel("DEBUG");
+        mockMvc.perform(get("/api/auctions/-1/bid-count").header(CorrelationIdFilter.HEADER, "after-switch"))
+            .andExpect(status().isOk());
+
+        List<ILoggingEvent> events = captured.list;
+        assertEquals(1, events.size());
+        assertEquals("Bid count for auction {}: {}", events.get(0).getMessage());
+        assertEquals("after-switch", events.get(0).getMDCPropertyMap().get(CorrelationIdFilter.MDC_KEY));
+    }
+
+    @Test
+    void levelsCannotBeChangedWithoutTheActuatorUser() throws Exception {
+        mockMvc.perform(post("/actuator/loggers/" + CONTROLLER_LOGGER)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"configuredLevel\":\"DEBUG\"}"))
+            .andExpect(status().isUnauthorized());
+
+        mockMvc.perform(get("/actuator/health"))
+            .andExpect(status().isOk());
+    }
+
+    private void setLevel(String level) throws Exception {
+        mockMvc.perform(post("/actuator/loggers/" + CONTROLLER_LOGGER)
+                .header(HttpHeaders.AUTHORIZATION, TestFixtures.ACTUATOR_AUTHORIZATION)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(level == null ? "{}" : "{\"configuredLevel\":\"" + level + "\"}"))
+            .andExpect(status().isNoContent());
+    }
+}
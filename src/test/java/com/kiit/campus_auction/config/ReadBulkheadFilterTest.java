@@ -0,0 +1,102 @@
+package com.kiit.campus_auction.config;
+
+import com.kiit.campus_auction.model.Auction;
+import com.kiit.campus_auction.model.User;
+import com.kiit.campus_auction.repository.AuctionRepository;
+import com.kiit.campus_auction.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.concurrent.Semaphore;
+
+import static com.kiit.campus_auction.TestFixtures.auction;
+import static com.kiit.campus_auction.TestFixtures.user;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ReadBulkheadFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ReadBulkheadFilter readBulkhead;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AuctionRepository auctionRepository;
+
+    @Test
+    void fullBulkheadRejectsHeavyReadsButNotBids() throws Exception {
+        User seller = userRepository.save(user("bulkhead-seller"));
+        User bidder = userRepository.save(user("bulkhead-bidder"));
+        Auction auction = auctionRepository.save(auction(seller));
+        double rejected = meterRegistry.get("bulkhead.rejected").tag("name", "reads").counter().count();
+
+        Semaphore permits = readBulkhead.permits();
+        int held = permits.drainPermits();
+        try {
+            mockMvc.perform(get("/api/bids/user/email/" + bidder.getEmail() + "/won"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+
+            mockMvc.perform(post("/api/bids")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"auctionId\":" + auction.getId() + ",\"bidderEmail\":\"" + bidder.getEmail() + "\",\"amount\":200}"))
+                .andExpect(status().isOk());
+            mockMvc.perform(get("/api/auctions/" + auction.getId()))
+                .andExpect(status().isOk());
+        } finally {
+            permits.release(held);
+        }
+
+        assertEquals(rejected + 1, meterRegistry.get("bulkhead.rejected").tag("name", "reads").counter().count());
+        mockMvc.perform(get("/api/auctions/seller/email/" + seller.getEmail()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    void streamedListingHoldsItsPermitUntilDone() throws Exception {
+        Semaphore permits = readBulkhead.permits();
+        int available = permits.availablePermits();
+
+        MvcResult started = mockMvc.perform(get("/api/auctions/all-with-ended"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        assertEquals(available - 1, permits.availablePermits());
+
+        mockMvc.perform(asyncDispatch(started))
+            .andExpect(status().isOk());
+
+        assertEquals(available, permits.availablePermits());
+    }
+
+    @Test
+    void poolMetricsAreExported() {
+        assertNotNull(meterRegistry.find("hikaricp.connections.active").tag("pool", "campus-auction").gauge());
+        assertNotNull(meterRegistry.find("hikaricp.connections.idle").tag("pool", "campus-auction").gauge());
+        assertNotNull(meterRegistry.find("hikaricp.connections.pending").tag("pool", "campus-auction").gauge());
+        assertNotNull(meterRegistry.find("hikaricp.connections.acquire").tag("pool", "campus-auction").timer());
+    }
+}
@@ -0,0 +1,141 @@
+package com.kiit.campus_auction.config;
+
+import com.kiit.campus_auction.model.Auction;
+import com.kiit.campus_auction.model.User;
+import com.kiit.campus_auction.repository.AuctionRepository;
+import com.kiit.campus_auction.repository.UserRepository;
+import com.kiit.campus_auction.service.BidEngine;
+import com.kiit.campus_auction.service.BidJournal;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+
+import static com.kiit.campus_auction.TestFixtures.user;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs against two in-memory H2 databases: the usual primary and a "replica" that only has
+ * one auction, which the primary doesn't. Whichever database answered shows in the response.
+ */
+@SpringBootTest(properties = "auction.datasource.replica.url=jdbc:h2:mem:campus_auction_replica;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+class ReadReplicaRoutingTest {
+
+    private static final long REPLICA_ONLY_ID = -2001;
+
+    private static boolean replicaSeeded;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replica;
+
+    @Autowired
+    private BidEngine bidEngine;
+
+    @Autowired
+    private BidJournal bidJournal;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AuctionRepository auctionRepository;
+
+    // Same schema as the primary, but none of its rows: a replica that is behind on everything
+    @BeforeEach
+    void seedReplica() {
+        if (replicaSeeded) {
+            return;
+        }
+        Flyway.configure()
+            .dataSource(replica)
+            .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+            .load()
+            .migrate();
+
+        JdbcTemplate jdbc = new JdbcTemplate(replica);
+        jdbc.update("INSERT INTO users (id, name, email, password, phone, hostel, batch, branch) " +
+            "VALUES (?, 'replica', 'replica-seller@kiit.ac.in', 'x', 'replica-seller', 'KP-1', '2026', 'CSE')",
+            REPLICA_ONLY_ID);
+        jdbc.update("INSERT INTO auctions (id, title, category, starting_price, current_price, status, seller_id, " +
+            "seller_email, start_time, end_time) VALUES (?, 'Replica copy', 'REPLICA', 100, 100, 'ACTIVE', ?, " +
+            "'replica-seller@kiit.ac.in', ?, ?)",
+            REPLICA_ONLY_ID, REPLICA_ONLY_ID, LocalDateTime.now(), LocalDateTime.now().plusDays(1));
+        replicaSeeded = true;
+    }
+
+    @Test
+    void listingsAndDashboardsReadFromTheReplica() throws Exception {
+        mockMvc.perform(get("/api/auctions/category/REPLICA"))
+            .andExpect(status().isOk())
+            .andExpect(content().string(containsString("Replica copy")));
+
+        mockMvc.perform(get("/api/auctions/seller/email/replica-seller@kiit.ac.in"))
+            .andExpect(status().isOk())
+            .andExpect(content().string(containsString("Replica copy")));
+
+        // Streamed on the async executor, which carries the request's routing along
+        MvcResult started = mockMvc.perform(get("/api/auctions/all-with-ended"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        mockMvc.perform(asyncDispatch(started))
+            .andExpect(status().isOk())
+            .andExpect(content().string(containsString("Replica copy")));
+    }
+
+    @Test
+    void everythingElseReadsFromThePrimary() throws Exception {
+        mockMvc.perform(get("/api/auctions/" + REPLICA_ONLY_ID))
+            .andExpect(status().isNotFound());
+
+        // Outside a marked request even read-only transactions (the bid engine's, the feed's) use the primary
+        assertTrue(auctionRepository.findById(REPLICA_ONLY_ID).isEmpty());
+    }
+
+    @Test
+    void aBidderReadsTheirOwnBidsFromThePrimary() throws Exception {
+        User seller = userRepository.save(user("replica-lag-seller"));
+        User bidder = userRepository.save(user("replica-lag-bidder"));
+        Auction auction = new Auction();
+        auction.setSeller(seller);
+        auction.setSellerEmail(seller.getEmail());
+        auction.setTitle("Primary only");
+        auction.setCategory("BOOKS");
+        auction.setStartingPrice(100.0);
+        auction.setCurrentPrice(100.0);
+        auction.setStartTime(LocalDateTime.now());
+        auction.setEndTime(LocalDateTime.now().plusHours(1));
+        auction = auctionRepository.save(auction);
+
+        assertTrue(bidEngine.submit(auction.getId(), bidder, 200.0).get().isAccepted());
+        bidJournal.awaitFlushed();
+
+        mockMvc.perform(get("/api/bids/user/email/" + bidder.getEmail()))
+            .andExpect(status().isOk())
+            .andExpect(content().string(containsString("Primary only")));
+
+        // The seller wrote nothing through the app, so their dashboard still comes from the lagging replica
+        mockMvc.perform(get("/api/auctions/seller/email/" + seller.getEmail()))
+            .andExpect(status().isOk())
+            .andExpect(content().string("[]"));
+    }
+}
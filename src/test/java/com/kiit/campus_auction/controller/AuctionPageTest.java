@@ -0,0 +1,115 @@
+package com.kiit.campus_auction.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kiit.campus_auction.model.Auction;
+import com.kiit.campus_auction.model.User;
+import com.kiit.campus_auction.repository.AuctionRepository;
+import com.kiit.campus_auction.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static com.kiit.campus_auction.TestFixtures.auction;
+import static com.kiit.campus_auction.TestFixtures.user;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * /api/auctions/page: following nextCursor visits every listed auction once, in (sort key, id)
+ * order, and a cursor that was tampered with is a 400.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class AuctionPageTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AuctionRepository auctionRepository;
+
+    @Test
+    void cursorsWalkEveryAuctionOnceInSortOrder() throws Exception {
+        User seller = userRepository.save(user("page-seller"));
+        LocalDateTime end = LocalDateTime.now().plusDays(1);
+        Long cheap = listed(seller, "PAGING", 100.0, end.plusMinutes(4));
+        Long tiedFirst = listed(seller, "PAGING", 200.0, end.plusMinutes(3));
+        Long tiedSecond = listed(seller, "PAGING", 200.0, end.plusMinutes(2));
+        Long tiedThird = listed(seller, "PAGING", 200.0, end.plusMinutes(1));
+        Long dear = listed(seller, "PAGING", 300.0, end);
+        // No sort key, so nowhere to seek to: not listed
+        Long unpriced = listed(seller, "PAGING", null, end);
+
+        List<Long> byPrice = walk("category=PAGING&sort=currentPrice&direction=asc&size=2");
+        assertEquals(List.of(cheap, tiedFirst, tiedSecond, tiedThird, dear), byPrice);
+        assertFalse(byPrice.contains(unpriced));
+
+        List<Long> byEndTimeDescending = walk("category=PAGING&sort=endTime&direction=desc&size=2");
+        assertEquals(List.of(cheap, tiedFirst, tiedSecond, tiedThird, unpriced, dear), byEndTimeDescending);
+    }
+
+    @Test
+    void tamperedCursorsAreBadRequests() throws Exception {
+        badCursor("endTime", "asc", "endTime|asc|not-a-time|1");
+        badCursor("endTime", "asc", "endTime|asc|null|1");
+        badCursor("endTime", "asc", "endTime|asc|2026-01-01T00:00|x");
+        badCursor("currentPrice", "asc", "currentPrice|asc|null|1");
+        badCursor("currentPrice", "desc", "currentPrice|desc|100.0|1.5");
+        // Valid, but for another sort
+        badCursor("currentPrice", "asc", "currentPrice|desc|100.0|1");
+        badCursor("endTime", "asc", "endTime|asc|2026-01-01T00:00");
+
+        mockMvc.perform(get("/api/auctions/page?cursor=%25%25not-base64"))
+            .andExpect(status().isBadRequest());
+    }
+
+    private void badCursor(String sort, String direction, String raw) throws Exception {
+        mockMvc.perform(get("/api/auctions/page?sort=" + sort + "&direction=" + direction + "&cursor=" + encode(raw)))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.error").exists());
+    }
+
+    private Long listed(User seller, String category, Double currentPrice, LocalDateTime endTime) {
+        Auction auction = auction(seller, endTime);
+        auction.setCategory(category);
+        auction.setCurrentPrice(currentPrice);
+        return auctionRepository.save(auction).getId();
+    }
+
+    // Ids of every page, following nextCursor until hasMore is false
+    private List<Long> walk(String query) throws Exception {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            String url = "/api/auctions/page?" + query + (cursor != null ? "&cursor=" + cursor : "");
+            JsonNode page = objectMapper.readTree(mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+            page.path("items").forEach(item -> ids.add(item.path("id").asLong()));
+            cursor = page.path("hasMore").asBoolean() ? page.path("nextCursor").asText() : null;
+        } while (cursor != null);
+        return ids;
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
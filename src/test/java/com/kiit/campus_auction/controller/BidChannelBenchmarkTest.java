@@ -0,0 +1,153 @@
+package com.kiit.campus_auction.controller;
+
+import com.kiit.campus_auction.model.Auction;
+import com.kiit.campus_auction.model.User;
+import com.kiit.campus_auction.repository.AuctionRepository;
+import com.kiit.campus_auction.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.TimeUnit;
+
+import static com.kiit.campus_auction.TestFixtures.auction;
+import static com.kiit.campus_auction.TestFixtures.sessionCookie;
+import static com.kiit.campus_auction.TestFixtures.user;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * REST vs WebSocket bid path: throughput and p99 latency.
+ * Run with: mvn test -Dtest=BidChannelBenchmarkTest -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class BidChannelBenchmarkTest {
+
+    private static final int CLIENTS = 8;
+    private static final int BIDS_PER_CLIENT = 500;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AuctionRepository auctionRepository;
+
+    @Test
+    void restVersusWebSocket() throws Exception {
+        User seller = userRepository.save(user("bench-seller"));
+
+        long[] rest = run(seller, "rest", this::restClient);
+        long[] socket = run(seller, "ws", this::socketClient);
+
+        report("REST      ", rest);
+        report("WebSocket ", socket);
+        assertTrue(rest.length == socket.length);
+    }
+
+    interface Client {
+        long[] bid(User bidder, Long auctionId) throws Exception;
+    }
+
+    private long[] run(User seller, String prefix, Client client) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(CLIENTS);
+        List<Future<long[]>> futures = new ArrayList<>();
+
+        for (int i = 0; i < CLIENTS; i++) {
+            User bidder = userRepository.save(user(prefix + "-bidder-" + i));
+            Auction auction = auction(seller);
+            auction.setIsQuickAuction(true);
+            Long auctionId = auctionRepository.save(auction).getId();
+            futures.add(pool.submit(() -> client.bid(bidder, auctionId)));
+        }
+
+        long start = System.nanoTime();
+        long[] all = new long[0];
+        for (Future<long[]> future : futures) {
+            long[] samples = future.get();
+            long[] merged = Arrays.copyOf(all, all.length + samples.length);
+            System.arraycopy(samples, 0, merged, all.length, samples.length);
+            all = merged;
+        }
+        long elapsed = System.nanoTime() - start;
+        pool.shutdown();
+
+        System.out.printf("%s: %d bids in %d ms%n", prefix, all.length, TimeUnit.NANOSECONDS.toMillis(elapsed));
+        return all;
+    }
+
+    private long[] restClient(User bidder, Long auctionId) throws Exception {
+        HttpClient http = HttpClient.newHttpClient();
+        long[] samples = new long[BIDS_PER_CLIENT];
+
+        for (int i = 0; i < BIDS_PER_CLIENT; i++) {
+            String body = String.format("{\"auctionId\":%d,\"bidderEmail\":\"%s\",\"amount\":%d}",
+                auctionId, bidder.getEmail(), 200 + i * 50);
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/bids"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+
+            long start = System.nanoTime();
+            http.send(request, HttpResponse.BodyHandlers.ofString());
+            samples[i] = System.nanoTime() - start;
+        }
+
+        return samples;
+    }
+
+    private long[] socketClient(User bidder, Long auctionId) throws Exception {
+        SynchronousQueue<String> acks = new SynchronousQueue<>();
+        WebSocketHttpHeaders headers = new WebSocketHttpHeaders();
+        headers.add("Cookie", sessionCookie(port, bidder));
+        WebSocketSession session = new StandardWebSocketClient()
+            .execute(new TextWebSocketHandler() {
+                @Override
+                protected void handleTextMessage(WebSocketSession s, TextMessage message) throws Exception {
+                    if (message.getPayload().contains("\"t\":\"ack\"")) acks.put(message.getPayload());
+                }
+            }, headers, URI.create("ws://localhost:" + port + "/ws/bids"))
+            .get(5, TimeUnit.SECONDS);
+
+        long[] samples = new long[BIDS_PER_CLIENT];
+        for (int i = 0; i < BIDS_PER_CLIENT; i++) {
+            long start = System.nanoTime();
+            session.sendMessage(new TextMessage(
+                String.format("{\"t\":\"bid\",\"a\":%d,\"p\":%d,\"c\":%d}", auctionId, 200 + i * 50, i)));
+            acks.poll(5, TimeUnit.SECONDS);
+            samples[i] = System.nanoTime() - start;
+        }
+
+        session.close();
+        return samples;
+    }
+
+    private void report(String label, long[] samples) {
+        long[] sorted = samples.clone();
+        Arrays.sort(sorted);
+        double mean = Arrays.stream(sorted).average().orElse(0) / 1_000_000.0;
+        double p50 = sorted[sorted.length / 2] / 1_000_000.0;
+        double p99 = sorted[(int) (sorted.length * 0.99)] / 1_000_000.0;
+        System.out.printf("%s mean %.2f ms, p50 %.2f ms, p99 %.2f ms%n", label, mean, p50, p99);
+    }
+}
@@ -0,0 +1,240 @@
+package com.kiit.campus_auction.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kiit.campus_auction.model.Auction;
+import com.kiit.campus_auction.model.User;
+import com.kiit.campus_auction.repository.AuctionRepository;
+import com.kiit.campus_auction.repository.UserRepository;
+import com.kiit.campus_auction.service.AuctionChangeEvent;
+import com.kiit.campus_auction.service.BidEngine;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static com.kiit.campus_auction.TestFixtures.auction;
+import static com.kiit.campus_auction.TestFixtures.sessionCookie;
+import static com.kiit.campus_auction.TestFixtures.user;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The bidding socket only lets logged-in users connect, answers bad frames without
+ * dropping the connection, takes bids on quick auctions only and acks them with the
+ * engine's price, forgets auctions nobody is subscribed to, and never lets one slow
+ * session hold up the thread publishing bids.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class BidSocketHandlerTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private BidSocketHandler handler;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AuctionRepository auctionRepository;
+
+    @Autowired
+    private BidEngine bidEngine;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void handshakeNeedsALoginSession() throws Exception {
+        User bidder = userRepository.save(user("socket-anonymous"));
+        TextWebSocketHandler ignore = new TextWebSocketHandler();
+
+        // Naming a user in the URL is not enough
+        assertThrows(ExecutionException.class, () -> new StandardWebSocketClient()
+            .execute(ignore, "ws://localhost:" + port + "/ws/bids?email=" + bidder.getEmail())
+            .get(5, TimeUnit.SECONDS));
+
+        // Nor is a session that was logged out
+        String cookie = sessionCookie(port, bidder);
+        HttpRequest logout = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/users/logout"))
+            .header("Cookie", cookie)
+            .POST(HttpRequest.BodyPublishers.noBody())
+            .build();
+        assertEquals(200, HttpClient.newHttpClient().send(logout, HttpResponse.BodyHandlers.ofString()).statusCode());
+        WebSocketHttpHeaders headers = new WebSocketHttpHeaders();
+        headers.add("Cookie", cookie);
+        assertThrows(ExecutionException.class, () -> new StandardWebSocketClient()
+            .execute(ignore, headers, URI.create("ws://localhost:" + port + "/ws/bids"))
+            .get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void malformedFramesGetAnErrorAndTheSessionStaysOpen() throws Exception {
+        BlockingQueue<String> frames = new LinkedBlockingQueue<>();
+        WebSocketSession session = connect(userRepository.save(user("socket-malformed")), frames);
+
+        session.sendMessage(new TextMessage("{\"t\":\"sub\",\"a\":[1"));
+        String error = frames.poll(5, TimeUnit.SECONDS);
+        assertNotNull(error);
+        assertTrue(error.contains("\"t\":\"error\""));
+        assertTrue(session.isOpen());
+
+        // Still usable afterwards
+        session.sendMessage(new TextMessage("{\"t\":\"nope\"}"));
+        assertTrue(frames.poll(5, TimeUnit.SECONDS).contains("Unknown frame type"));
+        session.close();
+    }
+
+    @Test
+    void quickAuctionBidsAreAckedWithTheEnginesPriceAndOthersRefused() throws Exception {
+        User seller = userRepository.save(user("socket-seller"));
+        User proxy = userRepository.save(user("socket-proxy"));
+        Auction quick = auction(seller);
+        quick.setIsQuickAuction(true);
+        quick = auctionRepository.save(quick);
+        Auction regular = auctionRepository.save(auction(seller));
+        assertTrue(bidEngine.submitProxy(quick.getId(), proxy, 1000.0).get().isAccepted());
+
+        BlockingQueue<String> frames = new LinkedBlockingQueue<>();
+        WebSocketSession session = session("quick", userRepository.save(user("socket-quick")));
+        doAnswer(invocation -> frames.add(((TextMessage) invocation.getArgument(0)).getPayload()))
+            .when(session).sendMessage(any());
+        handler.afterConnectionEstablished(session);
+
+        try {
+            // The proxy answers 300 with 350, and that is the price the ack reports
+            handler.handleTextMessage(session,
+                new TextMessage("{\"t\":\"bid\",\"a\":" + quick.getId() + ",\"p\":300.0,\"c\":1}"));
+            JsonNode ack = objectMapper.readTree(frames.poll(5, TimeUnit.SECONDS));
+            assertEquals("ack", ack.path("t").asText());
+            assertTrue(ack.path("ok").asBoolean());
+            assertEquals(350.0, ack.path("p").asDouble());
+
+            handler.handleTextMessage(session,
+                new TextMessage("{\"t\":\"bid\",\"a\":" + regular.getId() + ",\"p\":300.0,\"c\":2}"));
+            JsonNode error = objectMapper.readTree(frames.poll(5, TimeUnit.SECONDS));
+            assertEquals("error", error.path("t").asText());
+            assertEquals(2, error.path("c").asInt());
+            assertEquals(0L, auctionRepository.findById(regular.getId()).orElseThrow().getBidCount());
+        } finally {
+            handler.afterConnectionClosed(session, CloseStatus.NORMAL);
+        }
+    }
+
+    @Test
+    void emptySubscriberSetsAreRemoved() throws Exception {
+        WebSocketSession session = connect(userRepository.save(user("socket-unsub")), new LinkedBlockingQueue<>());
+        Map<Long, ?> subscribers = subscribers();
+
+        session.sendMessage(new TextMessage("{\"t\":\"sub\",\"a\":[-41,-42]}"));
+        session.sendMessage(new TextMessage("{\"t\":\"unsub\",\"a\":[-41]}"));
+        awaitTrue(() -> subscribers.containsKey(-42L) && !subscribers.containsKey(-41L));
+
+        // Closing drops the rest
+        session.close();
+        awaitTrue(() -> !subscribers.containsKey(-42L));
+    }
+
+    @Test
+    void aStalledSessionDoesNotBlockPublishingOrOtherSessions() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        WebSocketSession stalled = session("stalled", userRepository.save(user("socket-stalled")));
+        doAnswer(invocation -> release.await(10, TimeUnit.SECONDS)).when(stalled).sendMessage(any());
+
+        BlockingQueue<String> frames = new LinkedBlockingQueue<>();
+        WebSocketSession healthy = session("healthy", userRepository.save(user("socket-healthy")));
+        doAnswer(invocation -> frames.add(((TextMessage) invocation.getArgument(0)).getPayload()))
+            .when(healthy).sendMessage(any());
+
+        try {
+            for (WebSocketSession session : new WebSocketSession[] {stalled, healthy}) {
+                handler.afterConnectionEstablished(session);
+                handler.handleTextMessage(session, new TextMessage("{\"t\":\"sub\",\"a\":[-7]}"));
+            }
+
+            // Far more events than the stalled outbox holds, published from this thread
+            long start = System.nanoTime();
+            for (int i = 1; i <= 300; i++) {
+                handler.onAuctionChange(AuctionChangeEvent.bid(-7L, 100.0 + i, i, LocalDateTime.now(), (long) i, 1L, null));
+            }
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 2000);
+
+            for (int i = 0; i < 300; i++) {
+                assertNotNull(frames.poll(5, TimeUnit.SECONDS));
+            }
+            verify(stalled, timeout(5000)).close(CloseStatus.SESSION_NOT_RELIABLE);
+        } finally {
+            release.countDown();
+            handler.afterConnectionClosed(stalled, CloseStatus.NORMAL);
+            handler.afterConnectionClosed(healthy, CloseStatus.NORMAL);
+        }
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+
+    private WebSocketSession connect(User bidder, BlockingQueue<String> frames) throws Exception {
+        WebSocketHttpHeaders headers = new WebSocketHttpHeaders();
+        headers.add("Cookie", sessionCookie(port, bidder));
+        return new StandardWebSocketClient()
+            .execute(new TextWebSocketHandler() {
+                @Override
+                protected void handleTextMessage(WebSocketSession session, TextMessage message) {
+                    frames.add(message.getPayload());
+                }
+            }, headers, URI.create("ws://localhost:" + port + "/ws/bids"))
+            .get(5, TimeUnit.SECONDS);
+    }
+
+    private static WebSocketSession session(String id, User bidder) {
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put(BidSocketHandler.USER_ATTRIBUTE, bidder);
+
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn(id);
+        when(session.getAttributes()).thenReturn(attributes);
+        when(session.isOpen()).thenReturn(true);
+        return session;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Long, ?> subscribers() {
+        return (Map<Long, ?>) ReflectionTestUtils.getField(handler, "subscribers");
+    }
+}
@@ -0,0 +1,139 @@
+package com.kiit.campus_auction.controller;
+
+import com.kiit.campus_auction.CampusAuctionPlatformApplication;
+import com.kiit.campus_auction.model.Auction;
+import com.kiit.campus_auction.model.User;
+import com.kiit.campus_auction.repository.AuctionRepository;
+import com.kiit.campus_auction.repository.UserRepository;
+import com.kiit.campus_auction.service.BidEngine;
+import com.kiit.campus_auction.service.BidJournal;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.kiit.campus_auction.TestFixtures.auction;
+import static com.kiit.campus_auction.TestFixtures.user;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Platform vs virtual request threads: throughput and tail latency of the read endpoints that
+ * used to fan out into per-row queries, under more concurrent clients than Tomcat has threads.
+ * Both runs use threads.max=50 and the same JDBC pool; only spring.threads.virtual.enabled differs.
+ *
+ * Run with: mvn test -Dtest=RequestModeLoadTest -Dbenchmark=true
+ * Against in-memory H2 the queries are CPU-bound; point spring.datasource.* at PostgreSQL
+ * (as -D system properties) to see the effect of real JDBC round trips.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class RequestModeLoadTest {
+
+    private static final int CLIENTS = 200;
+    private static final int REQUESTS_PER_CLIENT = 50;
+
+    @Test
+    void platformVersusVirtualThreads() throws Exception {
+        long[] platform = run("platform", false);
+        long[] virtual = run("virtual", true);
+
+        report("Platform ", platform);
+        report("Virtual  ", virtual);
+        assertEquals(platform.length, virtual.length);
+    }
+
+    private long[] run(String mode, boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(CampusAuctionPlatformApplication.class)
+                .properties("server.port=0", "server.tomcat.threads.max=50",
+                    "spring.threads.virtual.enabled=" + virtualThreads)
+                .run()) {
+            int port = Integer.parseInt(context.getEnvironment().getProperty("local.server.port"));
+            List<String> paths = seed(context, mode);
+
+            HttpClient http = HttpClient.newBuilder().executor(Executors.newFixedThreadPool(16)).build();
+            ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+            List<Future<long[]>> futures = new ArrayList<>();
+
+            long start = System.nanoTime();
+            for (int c = 0; c < CLIENTS; c++) {
+                int offset = c;
+                futures.add(clients.submit(() -> {
+                    long[] samples = new long[REQUESTS_PER_CLIENT];
+                    for (int i = 0; i < REQUESTS_PER_CLIENT; i++) {
+                        String path = paths.get((offset + i) % paths.size());
+                        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).build();
+                        long sent = System.nanoTime();
+                        HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                        samples[i] = System.nanoTime() - sent;
+                        if (response.statusCode() != 200) {
+                            throw new IllegalStateException(path + " returned " + response.statusCode());
+                        }
+                    }
+                    return samples;
+                }));
+            }
+
+            long[] all = new long[0];
+            for (Future<long[]> future : futures) {
+                long[] samples = future.get();
+                long[] merged = Arrays.copyOf(all, all.length + samples.length);
+                System.arraycopy(samples, 0, merged, all.length, samples.length);
+                all = merged;
+            }
+            long elapsed = System.nanoTime() - start;
+            clients.shutdown();
+
+            System.out.printf("%s: %d requests in %d ms (%.0f req/s)%n", mode, all.length,
+                TimeUnit.NANOSECONDS.toMillis(elapsed), all.length / (elapsed / 1e9));
+            return all;
+        }
+    }
+
+    // Ten auctions by ten sellers, each bid on by twenty bidders; returns the endpoints to hit
+    private List<String> seed(ConfigurableApplicationContext context, String mode) throws Exception {
+        UserRepository users = context.getBean(UserRepository.class);
+        AuctionRepository auctions = context.getBean(AuctionRepository.class);
+        BidEngine bidEngine = context.getBean(BidEngine.class);
+
+        List<User> bidders = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            bidders.add(users.save(user(mode + "-load-bidder-" + i)));
+        }
+
+        List<String> paths = new ArrayList<>();
+        for (int a = 0; a < 10; a++) {
+            User seller = users.save(user(mode + "-load-seller-" + a));
+            Auction auction = auctions.save(auction(seller));
+            for (int b = 0; b < bidders.size(); b++) {
+                bidEngine.submit(auction.getId(), bidders.get(b), 200.0 + b * 50).get();
+            }
+            paths.add("/api/bids/auction/" + auction.getId());
+            paths.add("/api/auctions/" + auction.getId() + "/winning");
+            paths.add("/api/auctions/seller/email/" + seller.getEmail());
+            paths.add("/api/bids/user/email/" + bidders.get(a).getEmail());
+        }
+        context.getBean(BidJournal.class).awaitFlushed();
+        return paths;
+    }
+
+    private void report(String label, long[] samples) {
+        long[] sorted = samples.clone();
+        Arrays.sort(sorted);
+        double mean = Arrays.stream(sorted).average().orElse(0) / 1_000_000.0;
+        double p50 = sorted[sorted.length / 2] / 1_000_000.0;
+        double p99 = sorted[(int) (sorted.length * 0.99)] / 1_000_000.0;
+        double p999 = sorted[(int) (sorted.length * 0.999)] / 1_000_000.0;
+        System.out.printf("%s mean %.2f ms, p50 %.2f ms, p99 %.2f ms, p99.9 %.2f ms%n", label, mean, p50, p99, p999);
+    }
+}
@@ -0,0 +1,113 @@
+package com.kiit.campus_auction.controller;
+
+import com.kiit.campus_auction.model.Auction;
+import com.kiit.campus_auction.model.User;
+import com.kiit.campus_auction.repository.AuctionRepository;
+import com.kiit.campus_auction.repository.UserRepository;
+import com.kiit.campus_auction.service.BidEngine;
+import com.kiit.campus_auction.service.BidJournal;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+
+import static com.kiit.campus_auction.TestFixtures.auction;
+import static com.kiit.campus_auction.TestFixtures.user;
+import static org.hamcrest.Matchers.contains;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Auctions and bids go out as DTOs (no seller User inside), and the whole-table
+ * listings are streamed rather than built in memory.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ResponseDtoTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BidEngine bidEngine;
+
+    @Autowired
+    private BidJournal bidJournal;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AuctionRepository auctionRepository;
+
+    @Test
+    void auctionsLeaveTheSellerOut() throws Exception {
+        Auction auction = auction(userRepository.save(user("dto-seller")));
+        auction.setCategory("DTO");
+        auctionRepository.save(auction);
+
+        mockMvc.perform(get("/api/auctions/" + auction.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.sellerEmail").value("dto-seller@kiit.ac.in"))
+            .andExpect(jsonPath("$.seller").doesNotExist())
+            .andExpect(jsonPath("$.version").doesNotExist());
+
+        mockMvc.perform(get("/api/auctions/category/DTO"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[*].id", contains(auction.getId().intValue())))
+            .andExpect(jsonPath("$[0].seller").doesNotExist());
+    }
+
+    @Test
+    void fullListingsAreStreamed() throws Exception {
+        User seller = userRepository.save(user("dto-streamed"));
+        Auction running = auctionRepository.save(auction(seller));
+        Auction ended = auctionRepository.save(auction(seller, LocalDateTime.now().minusMinutes(1)));
+
+        MvcResult started = mockMvc.perform(get("/api/auctions/all-with-ended"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        mockMvc.perform(asyncDispatch(started))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[?(@.id == " + running.getId() + ")].isExpired", contains(false)))
+            .andExpect(jsonPath("$[?(@.id == " + ended.getId() + ")].isExpired", contains(true)));
+
+        started = mockMvc.perform(get("/api/auctions"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        mockMvc.perform(asyncDispatch(started))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[?(@.id == " + running.getId() + ")].sellerEmail", contains("dto-streamed@kiit.ac.in")))
+            .andExpect(jsonPath("$[0].seller").doesNotExist());
+    }
+
+    @Test
+    void bidsComeBackAsRows() throws Exception {
+        User bidder = userRepository.save(user("dto-bidder"));
+        Auction auction = auctionRepository.save(auction(userRepository.save(user("dto-bid-seller"))));
+        assertTrue(bidEngine.submit(auction.getId(), bidder, 200.0).get().isAccepted());
+        assertTrue(bidEngine.submit(auction.getId(), bidder, 300.0).get().isAccepted());
+        bidJournal.awaitFlushed();
+
+        mockMvc.perform(get("/api/bids/auction/" + auction.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[*].amount", contains(300.0, 200.0)))
+            .andExpect(jsonPath("$[*].isWinning", contains(true, false)))
+            .andExpect(jsonPath("$[0].bidderEmail").value("dto-bidder@kiit.ac.in"))
+            .andExpect(jsonPath("$[0].auctionId").value(auction.getId()))
+            .andExpect(jsonPath("$[0].bidder").doesNotExist());
+
+        mockMvc.perform(get("/api/bids/user/" + bidder.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$[0].auction").doesNotExist());
+    }
+}
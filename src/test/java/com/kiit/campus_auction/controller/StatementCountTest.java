@@ -0,0 +1,167 @@
+package com.kiit.campus_auction.controller;
+
+import com.kiit.campus_auction.model.Auction;
+import com.kiit.campus_auction.model.Bid;
+import com.kiit.campus_auction.model.User;
+import com.kiit.campus_auction.repository.AuctionRepository;
+import com.kiit.campus_auction.repository.BidRepository;
+import com.kiit.campus_auction.repository.UserRepository;
+import com.kiit.campus_auction.service.BidEngine;
+import com.kiit.campus_auction.service.BidJournal;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.kiit.campus_auction.TestFixtures.auction;
+import static com.kiit.campus_auction.TestFixtures.user;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * How many SQL statements each read endpoint sends, with cold caches. Every fixture has
+ * several rows and several distinct users behind them, so an association loaded per row
+ * (N+1) shows up as a higher count rather than passing by luck.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+    + "com.kiit.campus_auction.controller.StatementCountTest$Counter")
+@AutoConfigureMockMvc
+class StatementCountTest {
+
+    // Keeps the statements prepared on the calling thread, so background flushes and ticks don't count
+    public static class Counter implements StatementInspector {
+
+        static final ThreadLocal<List<String>> statements = ThreadLocal.withInitial(ArrayList::new);
+
+        @Override
+        public String inspect(String sql) {
+            statements.get().add(sql);
+            return sql;
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BidEngine bidEngine;
+
+    @Autowired
+    private BidJournal bidJournal;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AuctionRepository auctionRepository;
+
+    @Autowired
+    private BidRepository bidRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User bidder;
+    private User seller;
+    private Auction auction;
+
+    // Three auctions by three sellers, bid on by the same bidder and a rival; the first has ended
+    @BeforeEach
+    void seed() throws Exception {
+        String run = Long.toString(System.nanoTime());
+        bidder = userRepository.save(user("count-bidder-" + run));
+        User rival = userRepository.save(user("count-rival-" + run));
+        for (int i = 0; i < 3; i++) {
+            User owner = userRepository.save(user("count-seller-" + i + "-" + run));
+            Auction created = auctionRepository.save(auction(owner));
+            assertTrue(bidEngine.submit(created.getId(), rival, 200.0).get().isAccepted());
+            assertTrue(bidEngine.submit(created.getId(), bidder, 300.0).get().isAccepted());
+            if (i == 0) {
+                seller = owner;
+                auction = created;
+            }
+        }
+        bidJournal.awaitFlushed();
+        jdbcTemplate.update("UPDATE auctions SET end_time = ? WHERE id = ?",
+            LocalDateTime.now().minusMinutes(1), auction.getId());
+    }
+
+    @Test
+    void bidLeaderboardIsOneStatement() throws Throwable {
+        assertStatements(1, () -> mockMvc.perform(get("/api/bids/auction/" + auction.getId()))
+            .andExpect(jsonPath("$.length()").value(2)));
+    }
+
+    @Test
+    void bidHistoryIsOneStatement() throws Throwable {
+        assertStatements(1, () -> mockMvc.perform(get("/api/bids/user/" + bidder.getId()))
+            .andExpect(jsonPath("$.length()").value(3)));
+        assertStatements(1, () -> mockMvc.perform(get("/api/bids/user/email/" + bidder.getEmail()))
+            .andExpect(jsonPath("$.length()").value(3)));
+    }
+
+    @Test
+    void wonAuctionsAreOneStatement() throws Throwable {
+        assertStatements(1, () -> mockMvc.perform(get("/api/bids/user/email/" + bidder.getEmail() + "/won"))
+            .andExpect(jsonPath("$.length()").value(1)));
+    }
+
+    @Test
+    void sellerDashboardIsOneStatement() throws Throwable {
+        assertStatements(1, () -> mockMvc.perform(get("/api/auctions/seller/email/" + seller.getEmail()))
+            .andExpect(jsonPath("$.length()").value(1)));
+    }
+
+    @Test
+    void auctionDetailLeavesTheSellerUnloaded() throws Throwable {
+        List<String> sql = assertStatements(1, () -> mockMvc.perform(get("/api/auctions/" + auction.getId()))
+            .andExpect(status().isOk()));
+        assertFalse(sql.get(0).contains("users"), sql.get(0));
+
+        assertStatements(2, () -> mockMvc.perform(get("/api/auctions/" + auction.getId() + "/winning"))
+            .andExpect(jsonPath("$.bidderEmail").value(bidder.getEmail())));
+    }
+
+    // Entity reads: associations are lazy unless the query's entity graph asks for them
+    @Test
+    void entityQueriesFetchOnlyTheirGraph() throws Throwable {
+        assertStatements(1, () -> auctionRepository.findByStatus("ACTIVE"));
+
+        assertStatements(1, () -> {
+            List<Bid> leaderboard = bidRepository.findByAuctionIdOrderByAmountDesc(auction.getId());
+            assertEquals(bidder.getEmail(), leaderboard.get(0).getBidder().getEmail());
+        });
+        assertStatements(1, () -> {
+            List<Bid> history = bidRepository.findByBidderId(bidder.getId());
+            assertEquals(3, history.stream().filter(Bid::getIsWinning).count());
+        });
+    }
+
+    private List<String> assertStatements(int expected, Executable call) throws Throwable {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        Counter.statements.get().clear();
+
+        call.execute();
+
+        List<String> sql = new ArrayList<>(Counter.statements.get());
+        assertEquals(expected, sql.size(), () -> "Statements sent:\n" + String.join("\n", sql));
+        return sql;
+    }
+}
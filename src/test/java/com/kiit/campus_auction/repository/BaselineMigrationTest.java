@@ -0,0 +1,66 @@
+package com.kiit.campus_auction.repository;
+
+import com.kiit.campus_auction.model.Auction;
+import com.kiit.campus_auction.model.Bid;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Starts the application on a database that predates Flyway: the V1 schema with rows in it
+ * and no flyway_schema_history. Flyway baselines it at V1, everything after runs on top, and
+ * Hibernate's validate has to accept the result.
+ */
+@SpringBootTest(properties = "spring.datasource.url=" + BaselineMigrationTest.URL)
+class BaselineMigrationTest {
+
+    static final String URL = "jdbc:h2:mem:campus_auction_pre_flyway;DB_CLOSE_DELAY=-1";
+
+    // Before the Spring context (and Flyway) touch the database
+    static {
+        try (Connection connection = new DriverManagerDataSource(URL, "sa", "").getConnection();
+             Statement statement = connection.createStatement()) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/migration/common/V1__baseline.sql"));
+            statement.execute("INSERT INTO users (name, email, password, phone, hostel, batch, branch) VALUES " +
+                "('seller', 'old-seller@kiit.ac.in', 'x', '1', 'KP-1', '2026', 'CSE'), " +
+                "('bidder', 'old-bidder@kiit.ac.in', 'x', '2', 'KP-1', '2026', 'CSE')");
+            statement.execute("INSERT INTO auctions (title, category, starting_price, current_price, status, " +
+                "seller_id, seller_email, end_time) VALUES ('Old lamp', 'OTHER', 100, 300, 'ACTIVE', 1, " +
+                "'old-seller@kiit.ac.in', DATEADD('DAY', 1, CURRENT_TIMESTAMP))");
+            statement.execute("INSERT INTO bids (auction_id, bidder_id, amount, is_winning, bid_time) VALUES " +
+                "(1, 2, 200, false, CURRENT_TIMESTAMP), (1, 2, 300, true, CURRENT_TIMESTAMP)");
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Autowired
+    private AuctionRepository auctionRepository;
+
+    @Autowired
+    private BidRepository bidRepository;
+
+    @Test
+    void existingRowsGetBidStateAndNewRowsTakeIdsAboveThem() {
+        Auction old = auctionRepository.findById(1L).orElseThrow();
+        assertEquals(0L, old.getVersion());
+        assertEquals(2L, old.getBidCount());
+        assertEquals(2L, old.getWinningBidId());
+        assertEquals(2L, old.getWinningBidderId());
+
+        Bid bid = new Bid();
+        bid.setAuction(old);
+        bid.setBidder(old.getSeller());
+        bid.setAmount(400.0);
+        assertEquals(3L, bidRepository.save(bid).getId());
+    }
+}
@@ -0,0 +1,126 @@
+package com.kiit.campus_auction.repository;
+
+import com.kiit.campus_auction.model.Auction;
+import com.kiit.campus_auction.model.Bid;
+import com.kiit.campus_auction.model.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Insert throughput for bulk imports through JPA: users, auctions and a burst of bids,
+ * each saved in one transaction. Prints rows/s and JDBC statements prepared.
+ * Run with: mvn test -Dtest=InsertBatchingBenchmarkTest -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class InsertBatchingBenchmarkTest {
+
+    private static final int USERS = 2000;
+    private static final int AUCTIONS = 5000;
+    private static final int BIDS = 10000;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AuctionRepository auctionRepository;
+
+    @Autowired
+    private BidRepository bidRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void bulkInserts() {
+        // Warm up the JIT and the connection pool on a throwaway run
+        List<User> warmUp = importUsers("warmup", 500);
+
+        List<User> users = measure("Users    ", USERS, () -> importUsers("bench-user", USERS));
+        List<Auction> auctions = measure("Auctions ", AUCTIONS, () -> importAuctions(users, AUCTIONS));
+        List<Bid> bids = measure("Bids     ", BIDS, () -> importBids(auctions, warmUp, BIDS));
+
+        assertEquals(BIDS, bids.size());
+    }
+
+    private <T> List<T> measure(String label, int rows, Supplier<List<T>> work) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        long start = System.nanoTime();
+        List<T> saved = work.get();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("%s %6d rows in %6.0f ms  %8.0f rows/s  %6d statements%n",
+            label, rows, seconds * 1000, rows / seconds, statistics.getPrepareStatementCount());
+        return saved;
+    }
+
+    private List<User> importUsers(String prefix, int count) {
+        return transactionTemplate.execute(status -> {
+            List<User> users = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                User user = new User();
+                user.setName(prefix + "-" + i);
+                user.setEmail(prefix + "-" + i + "@kiit.ac.in");
+                user.setPassword("x");
+                user.setPhone(prefix + "-" + i);
+                user.setHostel("KP-1");
+                user.setBatch("2026");
+                user.setBranch("CSE");
+                users.add(user);
+            }
+            return userRepository.saveAll(users);
+        });
+    }
+
+    private List<Auction> importAuctions(List<User> sellers, int count) {
+        return transactionTemplate.execute(status -> {
+            List<Auction> auctions = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                User seller = sellers.get(i % sellers.size());
+                Auction auction = new Auction();
+                auction.setSeller(seller);
+                auction.setSellerEmail(seller.getEmail());
+                auction.setTitle("Imported item " + i);
+                auction.setCategory("BOOKS");
+                auction.setStartingPrice(100.0);
+                auction.setCurrentPrice(100.0);
+                auction.setStartTime(LocalDateTime.now());
+                auction.setEndTime(LocalDateTime.now().plusDays(1));
+                auctions.add(auction);
+            }
+            return auctionRepository.saveAll(auctions);
+        });
+    }
+
+    private List<Bid> importBids(List<Auction> auctions, List<User> bidders, int count) {
+        return transactionTemplate.execute(status -> {
+            List<Bid> bids = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                Bid bid = new Bid();
+                bid.setAuction(auctions.get(i % auctions.size()));
+                bid.setBidder(bidders.get(i % bidders.size()));
+                bid.setAmount(150.0 + i);
+                bids.add(bid);
+            }
+            return bidRepository.saveAll(bids);
+        });
+    }
+}
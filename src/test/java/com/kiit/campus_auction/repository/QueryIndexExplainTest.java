@@ -0,0 +1,150 @@
+package com.kiit.campus_auction.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs each hot repository query, captures the SQL Hibernate sends, and checks with
+ * EXPLAIN that the database answers it from the index made for it (V3__query_indexes).
+ * The plans are printed so a changed query or index shows up in the test output.
+ */
+@Transactional
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+    + "com.kiit.campus_auction.repository.QueryIndexExplainTest$Recorder")
+class QueryIndexExplainTest {
+
+    // Keeps every statement Hibernate prepares, unchanged
+    public static class Recorder implements StatementInspector {
+
+        static final List<String> statements = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+    }
+
+    // H2 only credits an index with the ORDER BY when the sort column comes first, so it
+    // ties idx_bids_auction_amount with its own foreign key index on auction_id (see
+    // V3_1 for h2). PostgreSQL has no such index and reads the leaderboard off ours.
+    private static final String BIDS_BY_AUCTION = "idx_bids_auction_amount|fk_bids_auction_index";
+
+    @Autowired
+    private AuctionRepository auctionRepository;
+
+    @Autowired
+    private BidRepository bidRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Enough rows that the planner weighs a sort against an ordered index; rolled back after each test
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("INSERT INTO users (id, name, email, password, phone, hostel, batch, branch) " +
+            "VALUES (-1, 'explain', 'explain@kiit.ac.in', 'x', 'explain', 'KP-1', '2026', 'CSE')");
+        jdbcTemplate.batchUpdate("INSERT INTO auctions (id, title, category, starting_price, status, seller_id, end_time) " +
+            "VALUES (?, 'Explain item', 'BOOKS', 100, 'ENDED', -1, CURRENT_TIMESTAMP)",
+            LongStream.rangeClosed(1, 20).mapToObj(id -> new Object[] {-id}).toList());
+        jdbcTemplate.batchUpdate("INSERT INTO bids (id, auction_id, bidder_id, amount, is_winning, bid_time) " +
+            "VALUES (?, ?, -1, ?, false, CURRENT_TIMESTAMP)",
+            LongStream.rangeClosed(1, 2000).mapToObj(id -> new Object[] {-id, -(id % 20 + 1), 100.0 + id}).toList());
+
+        Recorder.statements.clear();
+    }
+
+    @Test
+    void bidLeaderboardUsesAuctionAmountIndex() {
+        bidRepository.findByAuctionIdOrderByAmountDesc(1L);
+        assertUsesIndex(BIDS_BY_AUCTION, 1L);
+    }
+
+    @Test
+    void maxBidAmountUsesAuctionAmountIndex() {
+        bidRepository.findMaxBidAmount(1L);
+        assertUsesIndex("idx_bids_auction_amount", 1L);
+    }
+
+    @Test
+    void bidderHistoryUsesBidderIndex() {
+        bidRepository.findByBidderId(1L);
+        assertUsesIndex("idx_bids_bidder", 1L);
+    }
+
+    @Test
+    void activeAuctionsUseStatusEndTimeIndex() {
+        auctionRepository.findByStatus("ACTIVE");
+        assertUsesIndex("idx_auctions_status_end_time", "ACTIVE");
+    }
+
+    @Test
+    void expiredAuctionsUseStatusEndTimeIndex() {
+        LocalDateTime now = LocalDateTime.now();
+        auctionRepository.findByStatusAndEndTimeBefore("ACTIVE", now);
+        assertUsesIndex("idx_auctions_status_end_time", "ACTIVE", now);
+    }
+
+    @Test
+    void categoryListingUsesCategoryStatusIndex() {
+        auctionRepository.findByCategoryAndStatus("BOOKS", "ACTIVE");
+        assertUsesIndex("idx_auctions_category_status", "BOOKS", "ACTIVE");
+    }
+
+    @Test
+    void categoryOnlyUsesLeadingColumnOfCategoryStatusIndex() {
+        auctionRepository.findByCategory("BOOKS");
+        assertUsesIndex("idx_auctions_category_status", "BOOKS");
+    }
+
+    @Test
+    void bidRowsUseAuctionAmountIndex() {
+        bidRepository.findResponsesByAuctionId(1L);
+        assertUsesIndex(BIDS_BY_AUCTION, 1L);
+    }
+
+    @Test
+    void categoryPageUsesCategoryStatusIndex() {
+        LocalDateTime now = LocalDateTime.now();
+        auctionRepository.findActiveResponsesByCategory("BOOKS", now);
+        assertUsesIndex("idx_auctions_category_status", "BOOKS", now);
+    }
+
+    @Test
+    void sellerAuctionsUseSellerIndex() {
+        auctionRepository.findBySellerId(1L);
+        assertUsesIndex("idx_auctions_seller", 1L);
+    }
+
+    @Test
+    void bidCountUsesAuctionAmountIndex() {
+        bidRepository.countByAuctionId(1L);
+        assertUsesIndex(BIDS_BY_AUCTION, 1L);
+    }
+
+    // EXPLAIN the first statement the query sent, with the same arguments; index may list alternatives (a|b)
+    private void assertUsesIndex(String index, Object... args) {
+        assertFalse(Recorder.statements.isEmpty(), "No SQL was recorded");
+        String sql = Recorder.statements.get(0);
+        assertEquals(args.length, sql.chars().filter(c -> c == '?').count(), "Unexpected parameters in " + sql);
+
+        String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, args));
+        assertTrue(Pattern.compile(index).matcher(plan.toLowerCase()).find(), "Expected " + index + " in plan:\n" + plan);
+    }
+}
@@ -0,0 +1,133 @@
+package com.kiit.campus_auction.service;
+
+import com.kiit.campus_auction.model.Auction;
+import com.kiit.campus_auction.model.User;
+import com.kiit.campus_auction.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static com.kiit.campus_auction.TestFixtures.auction;
+import static com.kiit.campus_auction.TestFixtures.user;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ActiveAuctionFeedTest {
+
+    @Autowired
+    private ActiveAuctionFeed activeAuctionFeed;
+
+    @Autowired
+    private AuctionService auctionService;
+
+    @Autowired
+    private BidEngine bidEngine;
+
+    @Autowired
+    private BidJournal bidJournal;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void unchangedFeedIsServedAsNotModified() throws Exception {
+        ActiveAuctionFeed.Snapshot feed = activeAuctionFeed.current();
+        assertSame(feed, activeAuctionFeed.current());
+
+        mockMvc.perform(get("/api/auctions/active").header("If-None-Match", feed.etag()))
+            .andExpect(status().isNotModified());
+
+        mockMvc.perform(get("/api/auctions/active").header("If-None-Match", "\"1\""))
+            .andExpect(status().isOk())
+            .andExpect(header().string("ETag", feed.etag()));
+    }
+
+    @Test
+    void changesAreFoldedIntoANewVersion() throws Exception {
+        User seller = userRepository.save(user("feed-seller"));
+        User bidder = userRepository.save(user("feed-bidder"));
+        long before = activeAuctionFeed.current().version();
+
+        Auction auction = auctionService.createAuction(auction(seller, LocalDateTime.now().plusHours(1)));
+        ActiveAuctionFeed.Snapshot created = activeAuctionFeed.current();
+        assertTrue(created.version() > before);
+        assertTrue(body(created).contains("\"id\":" + auction.getId() + ","));
+
+        // Patched from the BID event, without waiting for the journal to write it
+        assertTrue(bidEngine.submit(auction.getId(), bidder, 450.0).get().isAccepted());
+        ActiveAuctionFeed.Snapshot bid = activeAuctionFeed.current();
+        assertTrue(bid.version() > created.version());
+        assertTrue(body(bid).contains("\"currentPrice\":450.0"));
+
+        bidJournal.awaitFlushed();
+        auctionService.cancelAuction(auction.getId(), seller.getId());
+        assertFalse(body(activeAuctionFeed.current()).contains("\"id\":" + auction.getId() + ","));
+    }
+
+    @Test
+    void auctionsDropOutAtTheirEndTime() throws Exception {
+        User seller = userRepository.save(user("feed-ending"));
+        Auction auction = auctionService.createAuction(auction(seller, LocalDateTime.now().plusNanos(300_000_000)));
+        assertTrue(body(activeAuctionFeed.current()).contains("\"id\":" + auction.getId() + ","));
+
+        Thread.sleep(400);
+
+        assertFalse(body(activeAuctionFeed.current()).contains("\"id\":" + auction.getId() + ","));
+    }
+
+    @Test
+    void changesSinceAVersionAreOnlyTheDelta() throws Exception {
+        User seller = userRepository.save(user("feed-delta"));
+        Auction kept = auctionService.createAuction(auction(seller, LocalDateTime.now().plusHours(1)));
+        long since = activeAuctionFeed.current().version();
+
+        Auction added = auctionService.createAuction(auction(seller, LocalDateTime.now().plusHours(1)));
+        auctionService.cancelAuction(kept.getId(), seller.getId());
+        Auction shortLived = auctionService.createAuction(auction(seller, LocalDateTime.now().plusHours(1)));
+        auctionService.cancelAuction(shortLived.getId(), seller.getId());
+
+        ActiveAuctionFeed.Changes changes = activeAuctionFeed.changesSince(since);
+        String delta = new String(changes.body(), StandardCharsets.UTF_8);
+        assertFalse(changes.full());
+        assertTrue(delta.contains("\"inserted\":[{\"id\":" + added.getId() + ","), delta);
+        assertTrue(delta.contains("\"updated\":[]"), delta);
+        assertTrue(delta.endsWith("\"removed\":[" + kept.getId() + "]}"), delta);
+
+        ActiveAuctionFeed.Changes none = activeAuctionFeed.changesSince(changes.version());
+        assertEquals(changes.version(), none.version());
+        assertEquals("{\"version\":" + none.version() + ",\"full\":false,\"inserted\":[],\"updated\":[],\"removed\":[]}",
+            new String(none.body(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void versionsOutsideTheLogGetTheFullFeed() throws Exception {
+        ActiveAuctionFeed.Snapshot feed = activeAuctionFeed.current();
+        String full = "{\"version\":" + feed.version() + ",\"full\":true,\"auctions\":" + body(feed) + "}";
+
+        assertEquals(full, new String(activeAuctionFeed.changesSince(1L).body(), StandardCharsets.UTF_8));
+        assertEquals(full, new String(activeAuctionFeed.changesSince(feed.version() + 1).body(), StandardCharsets.UTF_8));
+        mockMvc.perform(get("/api/auctions/changes"))
+            .andExpect(status().isOk())
+            .andExpect(content().string(full));
+    }
+
+    private static String body(ActiveAuctionFeed.Snapshot snapshot) {
+        return new String(snapshot.body(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,155 @@
+package com.kiit.campus_auction.service;
+
+import com.kiit.campus_auction.model.Auction;
+import com.kiit.campus_auction.model.User;
+import com.kiit.campus_auction.repository.AuctionRepository;
+import com.kiit.campus_auction.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static com.kiit.campus_auction.TestFixtures.auction;
+import static com.kiit.campus_auction.TestFixtures.user;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Search index behaviour: the index is rebuilt from the database on startup, queries are
+ * ranked and typo tolerant, and only ACTIVE, unexpired auctions are ever returned.
+ */
+@SpringBootTest
+class AuctionSearchIndexTest {
+
+    @Autowired
+    private AuctionSearchIndex searchIndex;
+
+    @Autowired
+    private AuctionService auctionService;
+
+    @Autowired
+    private AuctionRepository auctionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void startupRebuildsTheIndexFromActiveAuctions() throws Exception {
+        User seller = userRepository.save(user("index-build-seller"));
+        // Saved behind the index's back: no change events
+        Long active = saved(seller, "Marzipan teapot", "ACTIVE", LocalDateTime.now().plusHours(1));
+        Long ended = saved(seller, "Marzipan kettle", "ENDED", LocalDateTime.now().plusHours(1));
+
+        AuctionSearchIndex fresh = freshIndex();
+        try {
+            assertEquals(List.of(), fresh.search("marzipan", 10));
+            fresh.rebuildOnStartup();
+            awaitTrue(() -> fresh.search("marzipan", 10).contains(active));
+            assertFalse(fresh.search("marzipan", 10).contains(ended));
+
+            // Ends while the index isn't listening, as if the app were down: the next
+            // start drops it even though the index isn't empty
+            Auction stale = auctionRepository.findById(active).orElseThrow();
+            stale.setStatus("ENDED");
+            auctionRepository.save(stale);
+            fresh.rebuildOnStartup();
+            awaitTrue(() -> !fresh.search("marzipan", 10).contains(active));
+        } finally {
+            fresh.close();
+        }
+    }
+
+    @Test
+    void searchSkipsHitsWhoseRowIsNoLongerActive() throws Exception {
+        User seller = userRepository.save(user("index-lag-seller"));
+        Auction auction = auction(seller);
+        auction.setTitle("Theodolite tripod");
+        auctionService.createAuction(auction);
+        awaitTrue(() -> searchIndex.search("theodolite", 10).contains(auction.getId()));
+
+        // Closed without an event, so the index still has it
+        Auction stored = auctionRepository.findById(auction.getId()).orElseThrow();
+        stored.setStatus("ENDED");
+        auctionRepository.save(stored);
+
+        assertTrue(searchIndex.search("theodolite", 10).contains(auction.getId()));
+        assertEquals(List.of(), auctionService.searchAuctions("theodolite", 10));
+    }
+
+    @Test
+    void matchesRankTitleAboveDescriptionAndTolerateTypos() throws Exception {
+        User seller = userRepository.save(user("index-query-seller"));
+        Auction inDescription = auction(seller);
+        inDescription.setDescription("Comes with a quokka sticker");
+        auctionService.createAuction(inDescription);
+        Auction inTitle = auction(seller);
+        inTitle.setTitle("Quokka plush");
+        auctionService.createAuction(inTitle);
+
+        awaitTrue(() -> searchIndex.search("quokka", 10).size() == 2);
+        assertEquals(List.of(inTitle.getId(), inDescription.getId()), searchIndex.search("quokka", 10));
+        // Every word has to match
+        assertEquals(List.of(inTitle.getId()), searchIndex.search("quokka plush", 10));
+        assertEquals(List.of(inTitle.getId()), searchIndex.search("quoka plush", 10));
+        assertEquals(List.of(), searchIndex.search("quokka teapot", 10));
+    }
+
+    @Test
+    void cancelledAuctionsDropOut() throws Exception {
+        User seller = userRepository.save(user("index-cancel-seller"));
+        Auction auction = auction(seller);
+        auction.setTitle("Gramophone needle");
+        auctionService.createAuction(auction);
+        awaitTrue(() -> searchIndex.search("gramophone", 10).contains(auction.getId()));
+
+        auctionService.cancelAuction(auction.getId(), seller.getId());
+
+        awaitTrue(() -> searchIndex.search("gramophone", 10).isEmpty());
+    }
+
+    @Test
+    void expiredAuctionsAreFilteredOutBeforeTheyAreClosed() throws Exception {
+        User seller = userRepository.save(user("index-expiry-seller"));
+        // Still ACTIVE in the database, but past its end time
+        Long expired = saved(seller, "Sextant replica", "ACTIVE", LocalDateTime.now().minusMinutes(1));
+        Long open = saved(seller, "Sextant manual", "ACTIVE", LocalDateTime.now().plusHours(1));
+
+        AuctionSearchIndex fresh = freshIndex();
+        try {
+            fresh.rebuild();
+            assertEquals(List.of(open), fresh.search("sextant", 10));
+            assertFalse(fresh.search("sextant", 10).contains(expired));
+        } finally {
+            fresh.close();
+        }
+    }
+
+    // Its own in-memory index over the shared database, so it starts out empty
+    private AuctionSearchIndex freshIndex() throws Exception {
+        AuctionSearchIndex index = new AuctionSearchIndex();
+        ReflectionTestUtils.setField(index, "auctionRepository", auctionRepository);
+        ReflectionTestUtils.setField(index, "indexDir", "memory");
+        index.open();
+        return index;
+    }
+
+    private Long saved(User seller, String title, String status, LocalDateTime endTime) {
+        Auction auction = auction(seller, endTime);
+        auction.setTitle(title);
+        auction.setStatus(status);
+        return auctionRepository.save(auction).getId();
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+}
@@ -0,0 +1,108 @@
+package com.kiit.campus_auction.service;
+
+import com.kiit.campus_auction.model.Auction;
+import com.kiit.campus_auction.model.User;
+import com.kiit.campus_auction.repository.AuctionRepository;
+import com.kiit.campus_auction.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+import static com.kiit.campus_auction.TestFixtures.auction;
+import static com.kiit.campus_auction.TestFixtures.user;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Live SSE streams over a real connection: a subscriber that never reads doesn't keep the
+ * others from getting their events, and an auction's subscriber list goes away with its
+ * last subscriber.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = "auction.stream.timeout-ms=3000")
+class AuctionStreamServiceTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private AuctionStreamService streamService;
+
+    @Autowired
+    private BidEngine bidEngine;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AuctionRepository auctionRepository;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+
+    @Test
+    void bidsReachReadingSubscribersAndEndedStreamsArePruned() throws Exception {
+        User seller = userRepository.save(user("stream-seller"));
+        User bidder = userRepository.save(user("stream-bidder"));
+        Auction auction = auctionRepository.save(auction(seller));
+        Long auctionId = auction.getId();
+
+        // Connected, never read
+        CompletableFuture<HttpResponse<InputStream>> stalled =
+            http.sendAsync(stream(auctionId), HttpResponse.BodyHandlers.ofInputStream());
+        // Headers go out with the first event
+        CompletableFuture<HttpResponse<Stream<String>>> reading =
+            http.sendAsync(stream(auctionId), HttpResponse.BodyHandlers.ofLines());
+        awaitTrue(() -> subscribers().containsKey(auctionId) && subscribers().get(auctionId).size() == 2);
+
+        assertTrue(bidEngine.submit(auctionId, bidder, 250.0).get(5, TimeUnit.SECONDS).isAccepted());
+
+        CompletableFuture<Boolean> received = reading.thenApplyAsync(response -> {
+            Iterator<String> lines = response.body().iterator();
+            while (lines.hasNext()) {
+                String line = lines.next();
+                if (line.startsWith("data:") && line.contains("250.0")) {
+                    return true;
+                }
+            }
+            return false;
+        });
+        assertTrue(received.get(5, TimeUnit.SECONDS));
+
+        // Both streams time out; the auction's entry goes with them
+        awaitTrue(() -> !subscribers().containsKey(auctionId));
+        stalled.cancel(true);
+    }
+
+    private HttpRequest stream(Long auctionId) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/auctions/" + auctionId + "/stream"))
+            .header("Accept", "text/event-stream")
+            .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Long, List<?>> subscribers() {
+        return (Map<Long, List<?>>) ReflectionTestUtils.getField(streamService, "auctionSubscribers");
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+}
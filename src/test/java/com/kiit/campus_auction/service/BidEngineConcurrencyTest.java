@@ -0,0 +1,139 @@
+package com.kiit.campus_auction.service;
+
+import com.kiit.campus_auction.model.Auction;
+import com.kiit.campus_auction.model.Bid;
+import com.kiit.campus_auction.model.User;
+import com.kiit.campus_auction.repository.AuctionRepository;
+import com.kiit.campus_auction.repository.BidRepository;
+import com.kiit.campus_auction.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static com.kiit.campus_auction.TestFixtures.auction;
+import static com.kiit.campus_auction.TestFixtures.user;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Fires thousands of parallel bids at one auction through BidEngine.submit and checks
+ * that, once the journal has flushed, the auction row and the bids table agree on a
+ * single winner and every acknowledged bid is stored.
+ */
+@SpringBootTest
+class BidEngineConcurrencyTest {
+
+    private static final int THREADS = 32;
+    private static final int BIDS = 4000;
+    private static final int BIDDERS = 40;
+
+    @Autowired
+    private BidEngine bidEngine;
+
+    @Autowired
+    private BidJournal bidJournal;
+
+    @Autowired
+    private AuctionRepository auctionRepository;
+
+    @Autowired
+    private BidRepository bidRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${auction.min.increment:50}")
+    private Double minBidIncrement;
+
+    @Test
+    void parallelBidsLeaveOneConsistentWinner() throws Exception {
+        User seller = userRepository.save(user("stress-seller"));
+        Auction auction = auctionRepository.save(auction(seller));
+
+        List<User> bidders = new ArrayList<>();
+        for (int i = 0; i < BIDDERS; i++) {
+            bidders.add(userRepository.save(user("stress-bidder-" + i)));
+        }
+
+        // Every amount is distinct; many land below the running price and must be rejected
+        List<Double> amounts = new ArrayList<>();
+        for (int i = 1; i <= BIDS; i++) {
+            amounts.add(100.0 + i * 10.0);
+        }
+        Collections.shuffle(amounts);
+
+        ConcurrentLinkedQueue<Bid> accepted = new ConcurrentLinkedQueue<>();
+        ConcurrentLinkedQueue<Throwable> unexpected = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+
+        for (int i = 0; i < BIDS; i++) {
+            User bidder = bidders.get(i % BIDDERS);
+            Double amount = amounts.get(i);
+            pool.execute(() -> {
+                try {
+                    start.await();
+                    BidEngine.BidResult result = bidEngine.submit(auction.getId(), bidder, amount).get();
+                    if (result.isAccepted()) {
+                        accepted.add(result.getBid());
+                    } else if (result.getOutcome() != BidEngine.Outcome.TOO_LOW) {
+                        unexpected.add(new AssertionError("Rejected as " + result.getOutcome()));
+                    }
+                } catch (Throwable e) {
+                    unexpected.add(e);
+                }
+            });
+        }
+
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(2, TimeUnit.MINUTES));
+
+        assertTrue(unexpected.isEmpty(), () -> "Unexpected failures: " + unexpected);
+        assertFalse(accepted.isEmpty());
+
+        bidJournal.awaitFlushed();
+
+        Auction stored = auctionRepository.findById(auction.getId()).orElseThrow();
+        List<Bid> storedBids = bidRepository.findByAuctionId(auction.getId());
+        Bid highest = Collections.max(storedBids, Comparator.comparing(Bid::getAmount));
+
+        // One winner, and the auction row points at the highest stored bid
+        assertEquals(1, storedBids.stream().filter(Bid::getIsWinning).count());
+        assertEquals(highest.getAmount(), stored.getCurrentPrice());
+        assertEquals(highest.getId(), stored.getWinningBidId());
+        assertEquals(highest.getBidder().getId(), stored.getWinningBidderId());
+
+        // No lost updates: the counter matches the table, and every acknowledged bid is in it
+        assertEquals(storedBids.size(), stored.getBidCount());
+        Set<Long> storedIds = storedBids.stream().map(Bid::getId).collect(Collectors.toSet());
+        for (Bid bid : accepted) {
+            assertTrue(storedIds.contains(bid.getId()), () -> "Acknowledged bid " + bid.getId() + " was not stored");
+        }
+        assertEquals(accepted.size(), storedBids.size());
+
+        // The price only moves up, so amount order is acceptance order: each bid cleared
+        // the previous one by the minimum increment
+        storedBids.sort(Comparator.comparing(Bid::getAmount));
+        double previous = auction.getStartingPrice();
+        for (Bid bid : storedBids) {
+            assertTrue(bid.getAmount() >= previous + minBidIncrement,
+                () -> "Bid " + bid.getId() + " did not clear the minimum increment");
+            previous = bid.getAmount();
+        }
+    }
+}
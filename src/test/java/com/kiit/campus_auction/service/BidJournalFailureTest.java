@@ -0,0 +1,160 @@
+package com.kiit.campus_auction.service;
+
+import com.kiit.campus_auction.model.Auction;
+import com.kiit.campus_auction.model.User;
+import com.kiit.campus_auction.repository.AuctionRepository;
+import com.kiit.campus_auction.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static com.kiit.campus_auction.TestFixtures.auction;
+import static com.kiit.campus_auction.TestFixtures.user;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A write-ahead file that stops accepting writes: bids waiting on it fail after a bounded
+ * number of attempts instead of hanging, and nothing of them is kept, not even in the book
+ * that bids queued behind them are decided against. A journal too far behind the database
+ * turns new bids away and reports itself DOWN.
+ */
+@SpringBootTest(properties = "auction.journal.write-attempts=2")
+class BidJournalFailureTest {
+
+    private static final Path JOURNAL_DIR = createTempDir();
+
+    @DynamicPropertySource
+    static void journalDir(DynamicPropertyRegistry registry) {
+        registry.add("auction.journal.dir", JOURNAL_DIR::toString);
+    }
+
+    @Autowired
+    private BidEngine bidEngine;
+
+    @Autowired
+    private BidJournal bidJournal;
+
+    @Autowired
+    private AuctionRepository auctionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void bidsFailWhenTheWriteAheadFileCannotBeWritten() throws Exception {
+        User seller = userRepository.save(user("wal-seller"));
+        User bidder = userRepository.save(user("wal-bidder"));
+        Auction auction = auctionRepository.save(auction(seller));
+
+        // Every write from here on throws ClosedChannelException
+        ((FileChannel) ReflectionTestUtils.getField(bidJournal, "wal")).close();
+
+        ExecutionException failed = assertThrows(ExecutionException.class,
+            () -> bidEngine.submit(auction.getId(), bidder, 150.0).get(10, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, failed.getCause());
+
+        // The rejected bid is not left in the book: the same bid is decided again, and fails the same way
+        assertThrows(ExecutionException.class,
+            () -> bidEngine.submit(auction.getId(), bidder, 150.0).get(10, TimeUnit.SECONDS));
+
+        // Nothing waits on entries that will never be stored
+        bidJournal.awaitFlushed();
+        Auction stored = auctionRepository.findById(auction.getId()).orElseThrow();
+        assertEquals(0L, stored.getBidCount());
+        assertEquals(100.0, stored.getCurrentPrice());
+    }
+
+    @Test
+    void bidsQueuedBehindARejectedWriteSeeTheDatabaseBook() throws Exception {
+        User seller = userRepository.save(user("wal-queued-seller"));
+        User bidder = userRepository.save(user("wal-queued-bidder"));
+        Auction auction = auctionRepository.save(auction(seller));
+
+        FileChannel original = (FileChannel) ReflectionTestUtils.getField(bidJournal, "wal");
+        FileChannel broken = FileChannel.open(JOURNAL_DIR.resolve("broken.wal"),
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        broken.close();
+        ReflectionTestUtils.setField(bidJournal, "wal", broken);
+
+        CompletableFuture<BidEngine.BidResult> rejected = bidEngine.submit(auction.getId(), bidder, 150.0);
+
+        // Two more bids wait on the auction's sequencer while the write fails
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService[] sequencers = (ExecutorService[]) ReflectionTestUtils.getField(bidEngine, "sequencers");
+        sequencers[Math.floorMod(auction.getId(), sequencers.length)].execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        CompletableFuture<BidEngine.BidResult> same = bidEngine.submit(auction.getId(), bidder, 150.0);
+        CompletableFuture<BidEngine.BidResult> higher = bidEngine.submit(auction.getId(), bidder, 200.0);
+
+        assertThrows(ExecutionException.class, () -> rejected.get(10, TimeUnit.SECONDS));
+
+        // The file works again before the queued bids are decided
+        ReflectionTestUtils.setField(bidJournal, "wal", original.isOpen() ? original
+            : FileChannel.open(JOURNAL_DIR.resolve("bids.wal"), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE));
+        release.countDown();
+
+        // Decided against the stored price (100), not the rejected 150
+        BidEngine.BidResult first = same.get(10, TimeUnit.SECONDS);
+        BidEngine.BidResult second = higher.get(10, TimeUnit.SECONDS);
+        assertTrue(first.isAccepted(), first::getMessage);
+        assertTrue(second.isAccepted(), second::getMessage);
+        assertEquals(2L, second.getBidCount());
+
+        bidJournal.awaitFlushed();
+        Auction stored = auctionRepository.findById(auction.getId()).orElseThrow();
+        assertEquals(2L, stored.getBidCount());
+        assertEquals(200.0, stored.getCurrentPrice());
+        assertEquals(second.getBid().getId(), stored.getWinningBidId());
+    }
+
+    @Test
+    void bidsAreTurnedAwayWhileTheJournalIsBackedUp() throws Exception {
+        User seller = userRepository.save(user("backlog-seller"));
+        User bidder = userRepository.save(user("backlog-bidder"));
+        Auction auction = auctionRepository.save(auction(seller));
+
+        // As if max-unflushed entries were already waiting for the database
+        ReflectionTestUtils.setField(bidJournal, "maxUnflushed", 0L);
+        try {
+            assertEquals(Status.DOWN, bidJournal.health().getStatus());
+
+            ExecutionException failed = assertThrows(ExecutionException.class,
+                () -> bidEngine.submit(auction.getId(), bidder, 150.0).get(10, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, failed.getCause());
+        } finally {
+            ReflectionTestUtils.setField(bidJournal, "maxUnflushed", 10_000L);
+        }
+    }
+
+    private static Path createTempDir() {
+        try {
+            return Files.createTempDirectory("bid-journal-failure");
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
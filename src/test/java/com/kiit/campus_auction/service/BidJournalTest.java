@@ -0,0 +1,255 @@
+package com.kiit.campus_auction.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kiit.campus_auction.model.Auction;
+import com.kiit.campus_auction.model.User;
+import com.kiit.campus_auction.repository.AuctionRepository;
+import com.kiit.campus_auction.repository.BidRepository;
+import com.kiit.campus_auction.repository.UserAuctionParticipationRepository;
+import com.kiit.campus_auction.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.kiit.campus_auction.TestFixtures.auction;
+import static com.kiit.campus_auction.TestFixtures.user;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the journal with a real write-ahead file: acknowledged bids reach the database,
+ * and entries left in the file are replayed exactly once.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class BidJournalTest {
+
+    private static final Path JOURNAL_DIR = createTempDir();
+
+    @DynamicPropertySource
+    static void journalDir(DynamicPropertyRegistry registry) {
+        registry.add("auction.journal.dir", JOURNAL_DIR::toString);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BidEngine bidEngine;
+
+    @Autowired
+    private BidJournal bidJournal;
+
+    @Autowired
+    private BidService bidService;
+
+    @Autowired
+    private AuctionService auctionService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AuctionRepository auctionRepository;
+
+    @Autowired
+    private BidRepository bidRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserAuctionParticipationRepository participationRepository;
+
+    @Test
+    void acknowledgedBidsAreFlushedAndTheFileEmptied() throws Exception {
+        User seller = userRepository.save(user("journal-seller"));
+        User bidder = userRepository.save(user("journal-bidder"));
+        Auction auction = auctionRepository.save(auction(seller));
+
+        BidEngine.BidResult first = bidEngine.submit(auction.getId(), bidder, 150.0).get();
+        BidEngine.BidResult second = bidEngine.submit(auction.getId(), bidder, 300.0).get();
+        assertTrue(first.isAccepted());
+        assertTrue(second.isAccepted());
+
+        bidJournal.awaitFlushed();
+
+        Auction stored = auctionRepository.findById(auction.getId()).orElseThrow();
+        assertEquals(2L, stored.getBidCount());
+        assertEquals(300.0, stored.getCurrentPrice());
+        assertEquals(second.getBid().getId(), stored.getWinningBidId());
+        assertEquals(2, bidRepository.findByAuctionIdOrderByAmountDesc(auction.getId()).size());
+        assertEquals(0, Files.size(JOURNAL_DIR.resolve("bids.wal")));
+    }
+
+    @Test
+    void leftoverEntriesAreReplayedOnce() throws Exception {
+        User seller = userRepository.save(user("replay-seller"));
+        User bidder = userRepository.save(user("replay-bidder"));
+        Auction auction = auctionRepository.save(auction(seller));
+        LocalDateTime acceptedAt = LocalDateTime.now();
+
+        List<BidJournal.JournalBid> bids = List.of(
+            new BidJournal.JournalBid(bidJournal.nextBidId(), bidder.getId(), 200.0),
+            new BidJournal.JournalBid(bidJournal.nextBidId(), bidder.getId(), 250.0));
+        BidJournal.Entry entry = new BidJournal.Entry(auction.getId(), acceptedAt, bids, 250.0, 2,
+            auction.getEndTime(), bidder.getId(), 900.0, false);
+        String line = objectMapper.writeValueAsString(entry) + "\n";
+
+        // As if the previous run crashed after the fsync but before the database write, twice over
+        for (int run = 0; run < 2; run++) {
+            Files.writeString(JOURNAL_DIR.resolve("bids.wal"), line, StandardCharsets.UTF_8);
+            bidJournal.replay();
+        }
+
+        Auction stored = auctionRepository.findById(auction.getId()).orElseThrow();
+        assertEquals(2L, stored.getBidCount());
+        assertEquals(250.0, stored.getCurrentPrice());
+        assertEquals(bids.get(1).id(), stored.getWinningBidId());
+        assertEquals(2, bidRepository.findByAuctionIdOrderByAmountDesc(auction.getId()).size());
+        assertEquals(2L, participationRepository.findAll().stream()
+            .filter(p -> p.getAuctionId().equals(auction.getId()))
+            .mapToLong(p -> p.getBidCount())
+            .sum());
+    }
+
+    @Test
+    void bidsReachingAClosedAuctionAreNotStored() {
+        User seller = userRepository.save(user("closed-seller"));
+        User winner = userRepository.save(user("closed-winner"));
+        User late = userRepository.save(user("closed-late"));
+        Auction auction = auctionRepository.save(auction(seller));
+
+        // Closed with its winner already decided, while a later bid was still on its way from the journal
+        long winningBidId = bidJournal.nextBidId();
+        bidService.writeJournal(List.of(new BidJournal.Entry(auction.getId(), LocalDateTime.now(),
+            List.of(new BidJournal.JournalBid(winningBidId, winner.getId(), 200.0)), 200.0, 1,
+            auction.getEndTime(), null, null, false)));
+        Auction closed = auctionRepository.findById(auction.getId()).orElseThrow();
+        closed.setStatus("COMPLETED");
+        auctionRepository.save(closed);
+
+        bidService.writeJournal(List.of(new BidJournal.Entry(auction.getId(), LocalDateTime.now(),
+            List.of(new BidJournal.JournalBid(bidJournal.nextBidId(), late.getId(), 500.0)), 500.0, 2,
+            auction.getEndTime(), null, null, false)));
+
+        Auction stored = auctionRepository.findById(auction.getId()).orElseThrow();
+        assertEquals("COMPLETED", stored.getStatus());
+        assertEquals(winningBidId, stored.getWinningBidId());
+        assertEquals(200.0, stored.getCurrentPrice());
+        assertEquals(1, bidRepository.findByAuctionIdOrderByAmountDesc(auction.getId()).size());
+        assertTrue(participationRepository.findAll().stream().noneMatch(p -> p.getUserId().equals(late.getId())));
+    }
+
+    @Test
+    void aStaleWriteToAnActiveAuctionIsAConflict() {
+        User seller = userRepository.save(user("stale-seller"));
+        User ahead = userRepository.save(user("stale-ahead"));
+        User behind = userRepository.save(user("stale-behind"));
+        Auction auction = auctionRepository.save(auction(seller));
+
+        long aheadBidId = bidJournal.nextBidId();
+        bidService.writeJournal(List.of(new BidJournal.Entry(auction.getId(), LocalDateTime.now(),
+            List.of(new BidJournal.JournalBid(aheadBidId, ahead.getId(), 400.0)), 400.0, 2,
+            auction.getEndTime(), null, null, false)));
+
+        // As if a second instance's engine, with an older book, flushed after the first
+        long staleBidId = bidJournal.nextBidId();
+        assertThrows(OptimisticLockingFailureException.class, () -> bidService.writeJournal(List.of(
+            new BidJournal.Entry(auction.getId(), LocalDateTime.now(),
+                List.of(new BidJournal.JournalBid(staleBidId, behind.getId(), 250.0)), 250.0, 1,
+                auction.getEndTime(), null, null, false))));
+
+        Auction stored = auctionRepository.findById(auction.getId()).orElseThrow();
+        assertEquals(2L, stored.getBidCount());
+        assertEquals(400.0, stored.getCurrentPrice());
+        assertEquals(aheadBidId, stored.getWinningBidId());
+        assertFalse(bidRepository.existsById(staleBidId));
+    }
+
+    @Test
+    void bidsAfterACancellationAreRejectedBeforeTheAcknowledgement() throws Exception {
+        User seller = userRepository.save(user("cancel-seller"));
+        User bidder = userRepository.save(user("cancel-bidder"));
+        Auction auction = auctionRepository.save(auction(seller));
+        BidEngine.BidResult accepted = bidEngine.submit(auction.getId(), bidder, 150.0).get();
+        assertTrue(accepted.isAccepted());
+
+        auctionService.cancelAuction(auction.getId(), seller.getId());
+
+        BidEngine.BidResult late = bidEngine.submit(auction.getId(), bidder, 300.0).get();
+        assertEquals(BidEngine.Outcome.NOT_ACTIVE, late.getOutcome());
+
+        // The bid accepted before the cancellation was stored, nothing after it
+        bidJournal.awaitFlushed();
+        Auction stored = auctionRepository.findById(auction.getId()).orElseThrow();
+        assertEquals("CANCELLED", stored.getStatus());
+        assertEquals(1L, stored.getBidCount());
+        assertEquals(accepted.getBid().getId(), stored.getWinningBidId());
+        assertEquals(1, bidRepository.findByAuctionIdOrderByAmountDesc(auction.getId()).size());
+    }
+
+    @Test
+    void acknowledgedBidsSurviveAStatusChangeByHand() throws Exception {
+        User seller = userRepository.save(user("patch-seller"));
+        User bidder = userRepository.save(user("patch-bidder"));
+        Auction auction = auctionRepository.save(auction(seller));
+
+        // Acknowledged (in the write-ahead file), but quite possibly not in the database yet
+        BidEngine.BidResult accepted = bidEngine.submit(auction.getId(), bidder, 150.0).get();
+        assertTrue(accepted.isAccepted());
+
+        mockMvc.perform(patch("/api/auctions/" + auction.getId() + "/status").param("status", "COMPLETED"))
+            .andExpect(status().isOk());
+
+        assertEquals(BidEngine.Outcome.NOT_ACTIVE, bidEngine.submit(auction.getId(), bidder, 300.0).get().getOutcome());
+
+        bidJournal.awaitFlushed();
+        Auction stored = auctionRepository.findById(auction.getId()).orElseThrow();
+        assertEquals("COMPLETED", stored.getStatus());
+        assertEquals(1L, stored.getBidCount());
+        assertEquals(accepted.getBid().getId(), stored.getWinningBidId());
+        assertTrue(bidRepository.existsById(accepted.getBid().getId()));
+    }
+
+    @Test
+    void warmedUpBooksKeepTheirProxies() throws Exception {
+        User seller = userRepository.save(user("warm-seller"));
+        User proxy = userRepository.save(user("warm-proxy"));
+        User rival = userRepository.save(user("warm-rival"));
+        Auction auction = auctionRepository.save(auction(seller));
+        assertTrue(bidEngine.submitProxy(auction.getId(), proxy, 500.0).get().isAccepted());
+
+        // As after a restart: no book in memory until the startup warm-up builds it
+        bidEngine.evict(auction.getId());
+        bidEngine.warmUp();
+
+        BidEngine.BidResult result = bidEngine.submit(auction.getId(), rival, 200.0).get();
+        assertTrue(result.isAccepted());
+        assertEquals(proxy.getId(), result.getWinningBidderId());
+    }
+
+    private static Path createTempDir() {
+        try {
+            return Files.createTempDirectory("bid-journal");
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
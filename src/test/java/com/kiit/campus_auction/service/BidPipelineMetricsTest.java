@@ -0,0 +1,142 @@
+package com.kiit.campus_auction.service;
+
+import com.kiit.campus_auction.model.Auction;
+import com.kiit.campus_auction.model.User;
+import com.kiit.campus_auction.repository.AuctionRepository;
+import com.kiit.campus_auction.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.search.Search;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+
+import static com.kiit.campus_auction.TestFixtures.ACTUATOR_AUTHORIZATION;
+import static com.kiit.campus_auction.TestFixtures.auction;
+import static com.kiit.campus_auction.TestFixtures.user;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Every bid leaves a trace in the bid.* meters (per stage, per outcome, end to end), closes
+ * record their lag, and all of it is scrapeable from /actuator/prometheus by the actuator user.
+ */
+@SpringBootTest(properties = {
+    "management.endpoints.web.exposure.include=prometheus",
+    "management.metrics.distribution.percentiles-histogram.bid.ack=true"
+})
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+class BidPipelineMetricsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private AuctionService auctionService;
+
+    @Autowired
+    private BidEngine bidEngine;
+
+    @Autowired
+    private BidJournal bidJournal;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AuctionRepository auctionRepository;
+
+    @Test
+    void bidsAreTimedByStageAndCountedByOutcome() throws Exception {
+        User seller = userRepository.save(user("metrics-seller"));
+        User bidder = userRepository.save(user("metrics-bidder"));
+        Auction auction = auctionRepository.save(auction(seller, LocalDateTime.now().plusHours(1)));
+
+        double accepted = count("bid.outcome", "outcome", "accepted");
+        double tooLow = count("bid.outcome", "outcome", "too_low");
+        long acks = timerCount("bid.ack", "outcome", "accepted");
+        long rejections = timerCount("bid.ack", "outcome", "rejected");
+        long lookups = timerCount("bid.stage", "stage", "lookup");
+        long loads = timerCount("bid.stage", "stage", "load");
+        long decisions = timerCount("bid.stage", "stage", "decide");
+        long journaled = timerCount("bid.stage", "stage", "journal");
+        long persisted = timerCount("bid.stage", "stage", "persist");
+
+        MvcResult started = mockMvc.perform(post("/api/bids")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"auctionId\":" + auction.getId() + ",\"bidderEmail\":\"" + bidder.getEmail() + "\",\"amount\":200}"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk());
+        assertFalse(bidEngine.submit(auction.getId(), bidder, 210.0).get().isAccepted());
+        bidJournal.awaitFlushed();
+
+        assertEquals(accepted + 1, count("bid.outcome", "outcome", "accepted"));
+        assertEquals(tooLow + 1, count("bid.outcome", "outcome", "too_low"));
+        assertEquals(acks + 1, timerCount("bid.ack", "outcome", "accepted"));
+        assertEquals(rejections + 1, timerCount("bid.ack", "outcome", "rejected"));
+        assertEquals(lookups + 1, timerCount("bid.stage", "stage", "lookup"));
+        assertEquals(loads + 1, timerCount("bid.stage", "stage", "load"));
+        assertEquals(decisions + 2, timerCount("bid.stage", "stage", "decide"));
+        assertEquals(journaled + 1, timerCount("bid.stage", "stage", "journal"));
+        assertTrue(timerCount("bid.stage", "stage", "persist") > persisted);
+
+        mockMvc.perform(get("/actuator/prometheus"))
+            .andExpect(status().isUnauthorized());
+
+        mockMvc.perform(get("/actuator/prometheus").header(HttpHeaders.AUTHORIZATION, ACTUATOR_AUTHORIZATION))
+            .andExpect(status().isOk())
+            .andExpect(content().string(containsString("bid_ack_seconds_bucket{outcome=\"accepted\",type=\"bid\"")))
+            .andExpect(content().string(containsString("bid_outcome_total{outcome=\"too_low\",type=\"bid\"")))
+            .andExpect(content().string(containsString("bid_stage_seconds_count{stage=\"persist\"")))
+            .andExpect(content().string(containsString("auction_active ")));
+    }
+
+    @Test
+    void closesRecordHowLongAfterTheEndTimeTheyRan() throws Exception {
+        long closes = meterRegistry.get("auction.close.lag").timer().count();
+        Auction auction = auctionService.createAuction(
+            auction(userRepository.save(user("metrics-closing")), LocalDateTime.now().plusNanos(200_000_000)));
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while ("ACTIVE".equals(auctionRepository.findById(auction.getId()).orElseThrow().getStatus())
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+        }
+
+        assertEquals("ENDED", auctionRepository.findById(auction.getId()).orElseThrow().getStatus());
+        assertTrue(meterRegistry.get("auction.close.lag").timer().count() > closes);
+        assertTrue(meterRegistry.get("auction.expiry.lag").gauge().value() >= 0);
+    }
+
+    private double count(String name, String tag, String value) {
+        return Search.in(meterRegistry).name(name).tag(tag, value).counters().stream()
+            .mapToDouble(counter -> counter.count())
+            .sum();
+    }
+
+    private long timerCount(String name, String tag, String value) {
+        return Search.in(meterRegistry).name(name).tag(tag, value).timers().stream()
+            .mapToLong(timer -> timer.count())
+            .sum();
+    }
+}
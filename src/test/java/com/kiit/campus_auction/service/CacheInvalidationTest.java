@@ -0,0 +1,96 @@
+package com.kiit.campus_auction.service;
+
+import com.kiit.campus_auction.config.CacheConfig;
+import com.kiit.campus_auction.model.Auction;
+import com.kiit.campus_auction.model.User;
+import com.kiit.campus_auction.repository.AuctionRepository;
+import com.kiit.campus_auction.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import static com.kiit.campus_auction.TestFixtures.auction;
+import static com.kiit.campus_auction.TestFixtures.user;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Cached users and auctions are served from the cache until a write makes them stale,
+ * and are gone from it once that write is committed.
+ */
+@SpringBootTest
+class CacheInvalidationTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AuctionService auctionService;
+
+    @Autowired
+    private BidEngine bidEngine;
+
+    @Autowired
+    private BidJournal bidJournal;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AuctionRepository auctionRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Test
+    void userChangesEvictEveryKey() {
+        User user = userRepository.save(user("cache-user"));
+        long hits = hits(CacheConfig.USERS_BY_EMAIL);
+
+        userService.getUserByEmail(user.getEmail());
+        userService.getUserByEmail(user.getEmail());
+        userService.getUserByPhone(user.getPhone());
+        userService.getUserById(user.getId());
+        assertEquals(hits + 1, hits(CacheConfig.USERS_BY_EMAIL));
+
+        userService.updateTrustScore(user.getId(), 42.0);
+
+        assertNull(cacheManager.getCache(CacheConfig.USERS_BY_EMAIL).get(user.getEmail()));
+        assertNull(cacheManager.getCache(CacheConfig.USERS_BY_PHONE).get(user.getPhone()));
+        assertNull(cacheManager.getCache(CacheConfig.USERS).get(user.getId()));
+        assertEquals(42.0, userService.getUserByEmail(user.getEmail()).orElseThrow().getTrustScore());
+    }
+
+    @Test
+    void missesAreNotCached() {
+        assertTrue(userService.getUserByEmail("cache-late@kiit.ac.in").isEmpty());
+
+        userRepository.save(user("cache-late"));
+
+        assertTrue(userService.getUserByEmail("cache-late@kiit.ac.in").isPresent());
+    }
+
+    @Test
+    void acceptedBidEvictsAuctionOnceStored() throws Exception {
+        User seller = userRepository.save(user("cache-seller"));
+        User bidder = userRepository.save(user("cache-bidder"));
+        Auction auction = auctionRepository.save(auction(seller));
+
+        assertEquals(100.0, auctionService.getAuctionById(auction.getId()).orElseThrow().getCurrentPrice());
+        assertNotNull(cacheManager.getCache(CacheConfig.AUCTIONS).get(auction.getId()));
+
+        assertTrue(bidEngine.submit(auction.getId(), bidder, 200.0).get().isAccepted());
+        bidJournal.awaitFlushed();
+
+        assertNull(cacheManager.getCache(CacheConfig.AUCTIONS).get(auction.getId()));
+        assertEquals(200.0, auctionService.getAuctionById(auction.getId()).orElseThrow().getCurrentPrice());
+    }
+
+    private long hits(String cacheName) {
+        return ((CaffeineCache) cacheManager.getCache(cacheName)).getNativeCache().stats().hitCount();
+    }
+}
@@ -0,0 +1,97 @@
+package com.kiit.campus_auction.service;
+
+import com.kiit.campus_auction.service.ProxyLadder.Proxy;
+import com.kiit.campus_auction.service.ProxyLadder.Step;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProxyLadderTest {
+
+    private static final double INCREMENT = 50;
+
+    @Test
+    void noProxiesNoSteps() {
+        assertTrue(ProxyLadder.resolve(500, 1L, List.of(), INCREMENT).isEmpty());
+    }
+
+    @Test
+    void proxyAnswersManualBidByOneIncrement() {
+        List<Step> steps = ProxyLadder.resolve(500, 1L, List.of(new Proxy(2L, 2000, 0)), INCREMENT);
+
+        assertEquals(List.of(new Step(2L, 550)), steps);
+    }
+
+    @Test
+    void leadingProxyDefendsAgainstWeakerProxy() {
+        List<Proxy> proxies = List.of(new Proxy(1L, 5000, 0), new Proxy(2L, 1000, 1));
+
+        List<Step> steps = ProxyLadder.resolve(300, 1L, proxies, INCREMENT);
+
+        assertEquals(List.of(new Step(2L, 1000), new Step(1L, 1050)), steps);
+    }
+
+    @Test
+    void strongerProxyTakesLeadJustAboveLeadersMaximum() {
+        List<Proxy> proxies = List.of(new Proxy(1L, 1000, 0), new Proxy(2L, 5000, 1));
+
+        List<Step> steps = ProxyLadder.resolve(300, 1L, proxies, INCREMENT);
+
+        assertEquals(List.of(new Step(1L, 1000), new Step(2L, 1050)), steps);
+    }
+
+    @Test
+    void withinOneIncrementEarlierLeaderKeepsLead() {
+        List<Proxy> proxies = List.of(new Proxy(1L, 1000, 0), new Proxy(2L, 1020, 1));
+
+        List<Step> steps = ProxyLadder.resolve(300, 1L, proxies, INCREMENT);
+
+        assertEquals(List.of(new Step(1L, 1000)), steps);
+    }
+
+    @Test
+    void equalMaximumsLeaderKeepsLead() {
+        // The leader's proxy was registered after the challenger's; leading still decides
+        List<Proxy> proxies = List.of(new Proxy(1L, 1000, 1), new Proxy(2L, 1000, 0));
+
+        List<Step> steps = ProxyLadder.resolve(300, 1L, proxies, INCREMENT);
+
+        assertEquals(List.of(new Step(1L, 1000)), steps);
+    }
+
+    @Test
+    void equalMaximumChallengersEarlierRegisteredTakesLead() {
+        List<Proxy> proxies = List.of(new Proxy(3L, 1000, 1), new Proxy(2L, 1000, 0));
+
+        List<Step> steps = ProxyLadder.resolve(300, 1L, proxies, INCREMENT);
+
+        assertEquals(List.of(new Step(2L, 350), new Step(2L, 1000)), steps);
+    }
+
+    @Test
+    void threeWayWarEndsWithHighestMaximumAndValidIncrements() {
+        List<Proxy> proxies = List.of(new Proxy(2L, 800, 0), new Proxy(3L, 3000, 1), new Proxy(4L, 1500, 2));
+
+        List<Step> steps = ProxyLadder.resolve(200, 1L, proxies, INCREMENT);
+
+        Step last = steps.get(steps.size() - 1);
+        assertEquals(3L, last.bidderId());
+        assertEquals(1550, last.amount());
+
+        double price = 200;
+        for (Step step : steps) {
+            assertTrue(step.amount() >= price + INCREMENT, "Step " + step + " skipped the increment");
+            price = step.amount();
+        }
+    }
+
+    @Test
+    void firstBidOnEmptyAuctionOpensOneIncrementAboveStart() {
+        List<Step> steps = ProxyLadder.resolve(100, null, List.of(new Proxy(2L, 900, 0)), INCREMENT);
+
+        assertEquals(List.of(new Step(2L, 150)), steps);
+    }
+}
@@ -0,0 +1,90 @@
+package com.kiit.campus_auction.service;
+
+import com.kiit.campus_auction.model.Auction;
+import com.kiit.campus_auction.model.User;
+import com.kiit.campus_auction.repository.AuctionRepository;
+import com.kiit.campus_auction.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.function.BooleanSupplier;
+
+import static com.kiit.campus_auction.TestFixtures.auction;
+import static com.kiit.campus_auction.TestFixtures.user;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A bid inside the soft-close window moves the end time, and everything that keeps its own
+ * copy of it (search index, active feed, expiry wheel) follows the BID event, so the auction
+ * is still found, listed and open after its original end time.
+ */
+@SpringBootTest
+class SoftCloseExtensionTest {
+
+    @Autowired
+    private AuctionService auctionService;
+
+    @Autowired
+    private BidEngine bidEngine;
+
+    @Autowired
+    private BidJournal bidJournal;
+
+    @Autowired
+    private AuctionSearchIndex searchIndex;
+
+    @Autowired
+    private ActiveAuctionFeed activeAuctionFeed;
+
+    @Autowired
+    private AuctionRepository auctionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void aLateBidKeepsTheAuctionFoundListedAndOpen() throws Exception {
+        User seller = userRepository.save(user("soft-close-seller"));
+        User bidder = userRepository.save(user("soft-close-bidder"));
+        LocalDateTime originalEnd = LocalDateTime.now().plusSeconds(2);
+        Auction auction = auction(seller, originalEnd);
+        auction.setTitle("Zephyr lantern");
+        auction.setSoftCloseWindowSeconds(60);
+        auction.setSoftCloseExtensionSeconds(120);
+        auctionService.createAuction(auction);
+        Long auctionId = auction.getId();
+        awaitTrue(() -> searchIndex.search("zephyr lantern", 10).contains(auctionId));
+
+        // The book extends the end time as stored, at the column's precision
+        LocalDateTime storedEnd = auctionRepository.findById(auctionId).orElseThrow().getEndTime();
+        BidEngine.BidResult result = bidEngine.submit(auctionId, bidder, 150.0).get();
+        assertTrue(result.isAccepted());
+        LocalDateTime extendedEnd = result.getEndTime();
+        assertEquals(storedEnd.plusSeconds(120), extendedEnd);
+
+        // Past the original end time plus more than one expiry tick
+        Thread.sleep(Duration.between(LocalDateTime.now(), originalEnd).toMillis() + 1500);
+
+        assertTrue(searchIndex.search("zephyr lantern", 10).contains(auctionId));
+        String feed = new String(activeAuctionFeed.current().body(), StandardCharsets.UTF_8);
+        assertTrue(feed.contains("\"id\":" + auctionId + ","));
+
+        bidJournal.awaitFlushed();
+        Auction stored = auctionRepository.findById(auctionId).orElseThrow();
+        assertEquals("ACTIVE", stored.getStatus());
+        assertEquals(extendedEnd, stored.getEndTime());
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+}
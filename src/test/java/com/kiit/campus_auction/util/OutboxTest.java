@@ -0,0 +1,126 @@
+package com.kiit.campus_auction.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OutboxTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void shutDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void deliversInOrderOneAtATime() throws Exception {
+        Outbox outbox = new Outbox(executor, 10_000, () -> {});
+        List<Integer> delivered = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger running = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(1000);
+
+        for (int i = 0; i < 1000; i++) {
+            int n = i;
+            outbox.offer(() -> {
+                assertEquals(1, running.incrementAndGet());
+                delivered.add(n);
+                running.decrementAndGet();
+                done.countDown();
+            });
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, delivered.get(i));
+        }
+    }
+
+    @Test
+    void aStuckConsumerOverflowsWithoutBlockingTheCallerOrOthers() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger overflows = new AtomicInteger();
+        Outbox stuck = new Outbox(executor, 3, overflows::incrementAndGet);
+
+        CountDownLatch otherDelivered = new CountDownLatch(1);
+        Outbox other = new Outbox(executor, 3, () -> {});
+
+        // The first delivery blocks; three more wait behind it, the fifth overflows
+        for (int i = 0; i < 10; i++) {
+            stuck.offer(() -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        other.offer(otherDelivered::countDown);
+
+        assertTrue(otherDelivered.await(5, TimeUnit.SECONDS));
+        assertEquals(1, overflows.get());
+        assertTrue(stuck.isClosed());
+        assertFalse(other.isClosed());
+        release.countDown();
+    }
+
+    @Test
+    void moreStuckConsumersThanCoresDoNotHoldUpTheOthers() throws Exception {
+        ExecutorService fanOut = Outbox.fanOutExecutor("outbox-test");
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            int stuck = Runtime.getRuntime().availableProcessors() * 4;
+            for (int i = 0; i < stuck; i++) {
+                new Outbox(fanOut, 3, () -> {}).offer(() -> {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+
+            CountDownLatch otherDelivered = new CountDownLatch(1);
+            new Outbox(fanOut, 3, () -> {}).offer(otherDelivered::countDown);
+            assertTrue(otherDelivered.await(5, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            fanOut.shutdownNow();
+        }
+    }
+
+    @Test
+    void nothingIsDeliveredAfterClose() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger delivered = new AtomicInteger();
+        Outbox outbox = new Outbox(executor, 10, () -> {});
+
+        outbox.offer(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        outbox.offer(delivered::incrementAndGet);
+        outbox.close();
+        outbox.offer(delivered::incrementAndGet);
+        release.countDown();
+
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(0, delivered.get());
+    }
+}
@@ -0,0 +1,97 @@
+package com.kiit.campus_auction.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimingWheelTest {
+
+    private static final long TICK = 10;
+
+    @Test
+    void firesAtFirstTickAtOrAfterDeadline() {
+        TimingWheel wheel = new TimingWheel(TICK, 4, 2, 0);
+        wheel.schedule(1, 25);
+
+        assertTrue(wheel.advance(20).isEmpty());
+        assertTrue(wheel.advance(29).isEmpty());
+        assertEquals(List.of(1L), wheel.advance(30));
+        assertFalse(wheel.isScheduled(1));
+    }
+
+    @Test
+    void pastDeadlineFiresOnNextAdvance() {
+        TimingWheel wheel = new TimingWheel(TICK, 4, 2, 1000);
+        wheel.schedule(1, 500);
+
+        assertEquals(List.of(1L), wheel.advance(1000));
+    }
+
+    @Test
+    void rescheduleAndCancelSkipStaleEntries() {
+        TimingWheel wheel = new TimingWheel(TICK, 4, 3, 0);
+        wheel.schedule(1, 50);
+        wheel.schedule(1, 300);
+        wheel.schedule(2, 50);
+        wheel.cancel(2);
+
+        assertTrue(wheel.advance(290).isEmpty());
+        assertEquals(List.of(1L), wheel.advance(300));
+        assertEquals(0, wheel.size());
+    }
+
+    // Deadlines well past the top level (4 * 4 * 4 ticks) go through the overflow list
+    @Test
+    void randomScheduleMatchesBruteForce() {
+        Random random = new Random(42);
+        TimingWheel wheel = new TimingWheel(TICK, 4, 3, 0);
+        Map<Long, Long> expected = new HashMap<>();
+
+        long now = 0;
+        for (long id = 0; id < 2000; id++) {
+            long deadline = now + random.nextInt(5000);
+            wheel.schedule(id, deadline);
+            expected.put(id, deadline);
+
+            if (random.nextInt(10) == 0) {
+                long moved = now + random.nextInt(5000);
+                wheel.schedule(id, moved);
+                expected.put(id, moved);
+            }
+            if (random.nextInt(20) == 0) {
+                wheel.cancel(id);
+                expected.remove(id);
+            }
+
+            if (random.nextInt(5) == 0) {
+                now += random.nextInt(40);
+                check(wheel.advance(now), expected, now);
+            }
+        }
+
+        while (!expected.isEmpty()) {
+            now += random.nextInt(200);
+            check(wheel.advance(now), expected, now);
+        }
+        assertEquals(0, wheel.size());
+    }
+
+    private static void check(List<Long> fired, Map<Long, Long> expected, long now) {
+        for (Long id : fired) {
+            Long deadline = expected.remove(id);
+            assertTrue(deadline != null, "Fired unknown or cancelled id " + id);
+            assertTrue(deadline <= now, "Fired " + id + " before its deadline");
+        }
+        // Everything due by the last whole tick must have fired
+        long lastTick = now - Math.floorMod(now, TICK);
+        expected.forEach((id, deadline) ->
+            assertTrue(deadline > lastTick, "Missed " + id + " due at " + deadline + ", now " + now));
+    }
+}